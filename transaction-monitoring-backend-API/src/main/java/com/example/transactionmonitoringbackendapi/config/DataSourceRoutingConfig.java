@@ -0,0 +1,68 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single auto-configured pool with a write pool on {@code spring.datasource.url} and one
+ * read-only pool per {@code transaction.datasource.read.urls} entry, when that property is set.
+ * Each pool reports its own {@code hikaricp_*} metrics, tagged with the pool name ("write", "read-1", ...).
+ */
+@Configuration
+@ConditionalOnProperty("transaction.datasource.read.urls")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties properties, MeterRegistry meterRegistry,
+            @Value("${transaction.datasource.read.urls}") String[] readUrls,
+            @Value("${transaction.datasource.read.username:${spring.datasource.username:}}") String readUsername,
+            @Value("${transaction.datasource.read.password:${spring.datasource.password:}}") String readPassword,
+            @Value("${transaction.datasource.read.pool-size:10}") int readPoolSize,
+            @Value("${transaction.datasource.read.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${transaction.datasource.write.pool-size:10}") int writePoolSize) {
+        HikariDataSource primary = pool(ReadWriteRoutingDataSource.WRITE, properties.determineDriverClassName(),
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                writePoolSize, meterRegistry);
+        List<DataSource> replicas = new ArrayList<>(readUrls.length);
+        for (String url : readUrls) {
+            HikariDataSource replica = pool("read-" + (replicas.size() + 1), properties.determineDriverClassName(),
+                    url.trim(), readUsername, readPassword, readPoolSize, meterRegistry);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, maxLagSeconds, meterRegistry);
+    }
+
+    // The route is only known once the transaction has started, so connections are fetched on first use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(String name, String driverClassName, String url, String username,
+                                         String password, int size, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setDriverClassName(driverClassName);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(size);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Wires the per-request statement counter into Hibernate and Spring MVC. Request, repository,
+ * connection pool and Hibernate timers come from Spring Boot's metrics auto-configuration and are
+ * tuned in application.properties.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestStatementMetrics requestStatementMetrics;
+
+    public MetricsConfig(RequestStatementMetrics requestStatementMetrics) {
+        this.requestStatementMetrics = requestStatementMetrics;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementMetrics);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestStatementMetrics);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends the connections of read-only transactions to a replica and everything else to the primary.
+ *
+ * The route is taken from {@link TransactionSynchronizationManager} when a connection is requested, so
+ * this must sit behind a {@code LazyConnectionDataSourceProxy}: JPA asks for its connection as the
+ * transaction begins, before the read-only flag is bound. Replicas take turns; one lagging more than
+ * {@code maxLagSeconds} behind the primary, or failing its lag check, is skipped until a later check
+ * finds it caught up, and reads go to the primary while no replica qualifies.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    static final String WRITE = "write";
+
+    // Replay lag of a standby, or 0 on a primary (a stand-in replica) and on a standby that has replayed
+    // everything it received, since the last replayed commit is then simply old
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<DataSource> replicas;
+    private final double maxLagSeconds;
+    // Written by the lag checks and read by the gauges; lags are stored as double bits
+    private final AtomicLongArray lagSeconds;
+    private final AtomicBoolean[] unreachable;
+    private final AtomicInteger next = new AtomicInteger();
+    // Replicas currently within the lag tolerance; starts empty so reads stay on the primary until checked
+    private volatile List<String> eligible = List.of();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, double maxLagSeconds,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagSeconds = new AtomicLongArray(replicas.size());
+        this.unreachable = new AtomicBoolean[replicas.size()];
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(WRITE, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "read-" + (i + 1);
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+            lagSeconds.set(i, Double.doubleToRawLongBits(Double.NaN));
+            unreachable[i] = new AtomicBoolean();
+            int replica = i;
+            Gauge.builder("transactions.datasource.replica.lag", () -> Double.longBitsToDouble(lagSeconds.get(replica)))
+                    .description("Replay lag of the replica at its last check (NaN when unreachable)")
+                    .baseUnit("seconds")
+                    .tag("route", key)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("transactions.datasource.replicas.eligible", () -> eligible.size())
+                .description("Replicas within the lag tolerance that read-only transactions are sent to")
+                .register(meterRegistry);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return WRITE;
+        }
+        List<String> candidates = eligible;
+        if (candidates.isEmpty()) {
+            return WRITE;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Measure every replica's lag and update the set that reads are routed to
+     */
+    @Scheduled(fixedDelayString = "${transaction.datasource.read.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        List<String> caughtUp = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            double lag;
+            try {
+                lag = measureLag(replicas.get(i));
+                unreachable[i].set(false);
+            } catch (SQLException | RuntimeException e) {
+                if (!unreachable[i].getAndSet(true)) {
+                    log.warn("Lag check of replica {} failed; reads skip it until it answers", replicaKeys.get(i), e);
+                }
+                lag = Double.NaN;
+            }
+            double previous = Double.longBitsToDouble(lagSeconds.getAndSet(i, Double.doubleToRawLongBits(lag)));
+            if (lag <= maxLagSeconds) {
+                caughtUp.add(replicaKeys.get(i));
+            } else if (!Double.isNaN(lag) && !(previous > maxLagSeconds)) {
+                log.warn("Replica {} is {} seconds behind; reads skip it until it catches up", replicaKeys.get(i), lag);
+            }
+        }
+        eligible = List.copyOf(caughtUp);
+    }
+
+    private static double measureLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(5);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                // Nothing replayed yet
+                return rs.wasNull() ? Double.POSITIVE_INFINITY : lag;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request is being handled and records them
+ * per endpoint as {@code http_server_requests_statements}, so N+1 selects and extra count queries
+ * show up next to the endpoint's latency in {@code http_server_requests_seconds}.
+ *
+ * Statements are attributed to the request thread only; work handed to the ingest queue, the
+ * stream dispatcher or scheduled flushes is not counted against the request.
+ */
+@Component
+public class RequestStatementMetrics implements StatementInspector, AsyncHandlerInterceptor {
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final Meter.MeterProvider<DistributionSummary> statementsPerRequest;
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry) {
+        this.statementsPerRequest = DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared per HTTP request")
+                .baseUnit("statements")
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 25, 50, 100)
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = STATEMENTS.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.set(new int[1]);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The response completes on another thread (SSE); nothing meaningful to record here
+        STATEMENTS.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] count = STATEMENTS.get();
+        STATEMENTS.remove();
+        if (count == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        statementsPerRequest
+                .withTags("uri", pattern != null ? pattern.toString() : "UNKNOWN", "method", request.getMethod())
+                .record(count[0]);
+    }
+}
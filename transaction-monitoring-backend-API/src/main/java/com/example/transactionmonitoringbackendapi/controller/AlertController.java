@@ -0,0 +1,42 @@
+package com.example.transactionmonitoringbackendapi.controller;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert;
+import com.example.transactionmonitoringbackendapi.service.TransactionAnomalyDetector;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+@CrossOrigin(origins = "*") // Allow cross-origin requests from the frontend
+public class AlertController {
+
+    private final TransactionAnomalyDetector anomalyDetector;
+
+    public AlertController(TransactionAnomalyDetector anomalyDetector) {
+        this.anomalyDetector = anomalyDetector;
+    }
+
+    /**
+     * Active alerts and the most recently resolved ones
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getAlerts() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("active", anomalyDetector.getActiveAlerts());
+        response.put("resolved", anomalyDetector.getResolvedAlerts());
+        response.put("evaluatedAt", anomalyDetector.getEvaluatedAt());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Active alerts only
+     */
+    @GetMapping("/active")
+    public ResponseEntity<List<TransactionAlert>> getActiveAlerts() {
+        return ResponseEntity.ok(anomalyDetector.getActiveAlerts());
+    }
+}
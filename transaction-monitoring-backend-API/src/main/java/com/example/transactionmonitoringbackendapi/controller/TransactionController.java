@@ -1,20 +1,46 @@
 package com.example.transactionmonitoringbackendapi.controller;
 
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.dto.HeavyHittersResponse;
+import com.example.transactionmonitoringbackendapi.dto.TransactionCursorResponse;
+import com.example.transactionmonitoringbackendapi.dto.TransactionPageResponse;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.importer.ImportReport;
+import com.example.transactionmonitoringbackendapi.importer.TransactionImporter;
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
 import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.example.transactionmonitoringbackendapi.service.TransactionExporter;
+import com.example.transactionmonitoringbackendapi.service.TransactionHeavyHitters;
+import com.example.transactionmonitoringbackendapi.service.TransactionIngestQueue;
 import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import com.example.transactionmonitoringbackendapi.service.TransactionStreamBroadcaster;
+import com.example.transactionmonitoringbackendapi.simulation.LoadGenerator;
+import com.example.transactionmonitoringbackendapi.simulation.LoadProfile;
+import com.example.transactionmonitoringbackendapi.simulation.LoadReport;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,150 +49,320 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionStreamBroadcaster streamBroadcaster;
+    private final TransactionIngestQueue ingestQueue;
+    private final TransactionExporter exporter;
+    private final TransactionImporter importer;
+    private final TransactionHeavyHitters heavyHitters;
+    private final LoadGenerator loadGenerator;
+    private final boolean asyncIngestByDefault;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionStreamBroadcaster streamBroadcaster,
+                                 TransactionIngestQueue ingestQueue, TransactionExporter exporter,
+                                 TransactionImporter importer, TransactionHeavyHitters heavyHitters,
+                                 LoadGenerator loadGenerator,
+                                 @Value("${transaction.ingest.async:false}") boolean asyncIngestByDefault) {
         this.transactionService = transactionService;
+        this.streamBroadcaster = streamBroadcaster;
+        this.ingestQueue = ingestQueue;
+        this.exporter = exporter;
+        this.importer = importer;
+        this.heavyHitters = heavyHitters;
+        this.loadGenerator = loadGenerator;
+        this.asyncIngestByDefault = asyncIngestByDefault;
     }
 
     /**
      * Get all transactions with pagination and sorting
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllTransactions(
+    public ResponseEntity<?> getAllTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getAllTransactions(pageable);
-
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(new TransactionFilter(), page, size, sortBy, direction, after);
     }
 
     /**
-     * Get transaction by ID
+     * Get transaction by ID. With the transaction's timestamp, which listings return, only the partition
+     * holding it is read; without it every partition's primary key index is probed.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getTransactionById(@PathVariable Long id) {
+    public ResponseEntity<Transaction> getTransactionById(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp) {
         try {
-            Transaction transaction = transactionService.getTransactionById(id);
+            Transaction transaction = timestamp != null
+                    ? transactionService.getTransactionById(id, timestamp)
+                    : transactionService.getTransactionById(id);
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Bulk-ingest transactions in batched database transactions, or enqueue them for the
+     * background writer when ingesting asynchronously
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> saveTransactionsBatch(
+            @RequestBody List<Transaction> transactions,
+            @RequestParam(required = false) Boolean async) {
+        if (transactions == null || transactions.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Request body must contain at least one transaction");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        if (async != null ? async : asyncIngestByDefault) {
+            return enqueueTransactions(transactions);
+        }
+
+        Map<String, Object> result = transactionService.saveAll(transactions);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * Search transactions with any combination of filters
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) String merchantName,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) Boolean fraudulent,
+            @RequestParam(required = false) Boolean error,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "timestamp") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
+
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCountry(country);
+        filter.setRegion(region);
+        filter.setCity(city);
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
+        filter.setTransactionType(transactionType);
+        filter.setMerchantName(merchantName);
+        filter.setCurrency(currency);
+        filter.setFraudulent(fraudulent);
+        filter.setError(error);
+        filter.setStartTime(startTime);
+        filter.setEndTime(endTime);
+
+        return listTransactions(filter, page, size, sortBy, direction, after);
+    }
+
+    /**
+     * Export every transaction matching the filters, newest first, as CSV or NDJSON. Rows are streamed
+     * to the response as they are read, so there is no size limit and no paging.
+     */
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) String merchantName,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) Boolean fraudulent,
+            @RequestParam(required = false) Boolean error,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+
+        TransactionExporter.Format exportFormat = TransactionExporter.Format.valueOf(format.toUpperCase());
+
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCountry(country);
+        filter.setRegion(region);
+        filter.setCity(city);
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
+        filter.setTransactionType(transactionType);
+        filter.setMerchantName(merchantName);
+        filter.setCurrency(currency);
+        filter.setFraudulent(fraudulent);
+        filter.setError(error);
+        filter.setStartTime(startTime);
+        filter.setEndTime(endTime);
+
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + exportFormat.extension() + "\"");
+        exporter.export(filter, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Start a bulk import of a CSV or NDJSON file from the server's import directory, or resume an earlier
+     * import of the same file; 202 while it runs in the background, 409 when an import is already running.
+     * The format defaults to NDJSON for .ndjson and .jsonl files and to CSV otherwise.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> startImport(
+            @RequestParam String path,
+            @RequestParam(required = false) String format) throws IOException {
+
+        TransactionExporter.Format importFormat = format != null
+                ? TransactionExporter.Format.valueOf(format.toUpperCase())
+                : path.endsWith(".ndjson") || path.endsWith(".jsonl")
+                ? TransactionExporter.Format.NDJSON : TransactionExporter.Format.CSV;
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            ImportReport report = importer.start(path, importFormat);
+            response.put("message", (report.resumed() ? "Resumed" : "Started") + " import of " + path);
+            response.put("report", report);
+            return ResponseEntity.accepted().body(response);
+        } catch (IllegalStateException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+    /**
+     * Get the progress and throughput of the current or last import
+     */
+    @GetMapping("/import/report")
+    public ResponseEntity<ImportReport> getImportReport() {
+        ImportReport report = importer.report();
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Stop the current import; starting the same file again resumes it
+     */
+    @PostMapping("/import/stop")
+    public ResponseEntity<Map<String, Object>> stopImport() {
+        ImportReport report = importer.stop();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Stopped import");
+        response.put("report", report);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Filter transactions by region (country, region, city)
      */
     @GetMapping("/filter/region")
-    public ResponseEntity<Map<String, Object>> getTransactionsByRegion(
+    public ResponseEntity<?> getTransactionsByRegion(
             @RequestParam(required = false) String country,
             @RequestParam(required = false) String region,
             @RequestParam(required = false) String city,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getTransactionsByRegion(
-                country, region, city, pageable);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCountry(country);
+        filter.setRegion(region);
+        filter.setCity(city);
 
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(filter, page, size, sortBy, direction, after);
     }
 
     /**
      * Filter transactions by amount range
      */
     @GetMapping("/filter/amount")
-    public ResponseEntity<Map<String, Object>> getTransactionsByAmountRange(
-            @RequestParam(defaultValue = "0") BigDecimal minAmount,
-            @RequestParam(defaultValue = "999999999") BigDecimal maxAmount,
+    public ResponseEntity<?> getTransactionsByAmountRange(
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getTransactionsByAmountRange(
-                minAmount, maxAmount, pageable);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
 
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(filter, page, size, sortBy, direction, after);
     }
 
     /**
      * Filter transactions by both region and amount range
      */
     @GetMapping("/filter/combined")
-    public ResponseEntity<Map<String, Object>> getTransactionsByRegionAndAmountRange(
+    public ResponseEntity<?> getTransactionsByRegionAndAmountRange(
             @RequestParam(required = false) String country,
             @RequestParam(required = false) String region,
             @RequestParam(required = false) String city,
-            @RequestParam(defaultValue = "0") BigDecimal minAmount,
-            @RequestParam(defaultValue = "999999999") BigDecimal maxAmount,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getTransactionsByRegionAndAmountRange(
-                country, region, city, minAmount, maxAmount, pageable);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCountry(country);
+        filter.setRegion(region);
+        filter.setCity(city);
+        filter.setMinAmount(minAmount);
+        filter.setMaxAmount(maxAmount);
 
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(filter, page, size, sortBy, direction, after);
     }
 
     /**
      * Get fraudulent transactions
      */
     @GetMapping("/fraudulent")
-    public ResponseEntity<Map<String, Object>> getFraudulentTransactions(
+    public ResponseEntity<?> getFraudulentTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getFraudulentTransactions(pageable);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setFraudulent(true);
 
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(filter, page, size, sortBy, direction, after);
     }
 
     /**
      * Get error transactions
      */
     @GetMapping("/errors")
-    public ResponseEntity<Map<String, Object>> getErrorTransactions(
+    public ResponseEntity<?> getErrorTransactions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "timestamp") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String after) {
 
-        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Transaction> transactionsPage = transactionService.getErrorTransactions(pageable);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setError(true);
 
-        return createPaginatedResponse(transactionsPage);
+        return listTransactions(filter, page, size, sortBy, direction, after);
     }
 
     /**
@@ -189,6 +385,68 @@ public class TransactionController {
         return ResponseEntity.ok(metrics);
     }
 
+    /**
+     * Get transaction volume over time for the dashboard chart
+     */
+    @GetMapping("/volume")
+    public ResponseEntity<List<VolumeDataPoint>> getTransactionVolume(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @RequestParam(required = false) String granularity) {
+
+        // Default to last 24 hours if not specified
+        if (endTime == null) {
+            endTime = LocalDateTime.now();
+        }
+        if (startTime == null) {
+            startTime = endTime.minusHours(24);
+        }
+        RollupGranularity rollupGranularity = granularity == null ? null : RollupGranularity.valueOf(granularity.toUpperCase());
+
+        return ResponseEntity.ok(transactionService.getTransactionVolume(startTime, endTime, rollupGranularity));
+    }
+
+    /**
+     * Get transaction counts by country, region or city
+     */
+    @GetMapping("/geo-distribution")
+    public ResponseEntity<List<GeoDistributionDataPoint>> getGeoDistribution(
+            @RequestParam(defaultValue = "country") String viewBy) {
+
+        return ResponseEntity.ok(transactionService.getGeoDistribution(viewBy));
+    }
+
+    /**
+     * Get the most frequent merchants, cards, cities or error messages over a recent window
+     */
+    @GetMapping("/top")
+    public ResponseEntity<HeavyHittersResponse> getTopValues(
+            @RequestParam(defaultValue = "merchant") String dimension,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "15") int windowMinutes,
+            @RequestParam(defaultValue = "sliding") String mode) {
+
+        boolean tumbling = switch (mode.toLowerCase()) {
+            case "sliding" -> false;
+            case "tumbling" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode + " (expected sliding or tumbling)");
+        };
+        return ResponseEntity.ok(heavyHitters.top(TransactionHeavyHitters.Dimension.from(dimension), k, windowMinutes,
+                tumbling));
+    }
+
+    /**
+     * Stream newly saved transactions and metric deltas as Server-Sent Events
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTransactions() {
+        SseEmitter emitter = streamBroadcaster.subscribe();
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
     /**
      * Simulate transactions (for testing and demo purposes)
      */
@@ -204,41 +462,129 @@ public class TransactionController {
     }
 
     /**
-     * Start continuous transaction simulation
+     * Start continuous transaction simulation at a constant rate
      */
     @PostMapping("/simulate/start")
-    public ResponseEntity<Map<String, String>> startTransactionSimulation(
+    public ResponseEntity<Map<String, Object>> startTransactionSimulation(
             @RequestParam(defaultValue = "60") int transactionsPerMinute) {
-        
-        transactionService.startTransactionSimulation(transactionsPerMinute);
-        
-        Map<String, String> response = new HashMap<>();
-        response.put("message", "Started transaction simulation at " + transactionsPerMinute + " transactions per minute");
-        return ResponseEntity.ok(response);
+
+        return startLoad(LoadProfile.atRate(transactionsPerMinute / 60.0));
+    }
+
+    /**
+     * Start a load generator run with a full profile (rate, duration, workers, distributions)
+     */
+    @PostMapping("/simulate/load")
+    public ResponseEntity<Map<String, Object>> startLoadGenerator(@RequestBody LoadProfile profile) {
+        return startLoad(profile);
+    }
+
+    /**
+     * Get the report of the current or last simulation run
+     */
+    @GetMapping("/simulate/report")
+    public ResponseEntity<LoadReport> getSimulationReport() {
+        LoadReport report = loadGenerator.report();
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
     }
 
     /**
      * Stop continuous transaction simulation
      */
     @PostMapping("/simulate/stop")
-    public ResponseEntity<Map<String, String>> stopTransactionSimulation() {
-        transactionService.stopTransactionSimulation();
+    public ResponseEntity<Map<String, Object>> stopTransactionSimulation() {
+        LoadReport report = loadGenerator.stop();
         
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("message", "Stopped transaction simulation");
+        response.put("report", report);
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Helper method to create a paginated response
+     * Reject malformed cursors and other invalid arguments with 400
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    /**
+     * Helper method to start the load generator; 409 when a run is already in progress
+     */
+    private ResponseEntity<Map<String, Object>> startLoad(LoadProfile profile) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            LoadReport report = loadGenerator.start(profile);
+            response.put("message", "Started transaction simulation at " + profile.getRatePerSecond() + " transactions per second");
+            response.put("report", report);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+    /**
+     * Helper method to enqueue transactions: 202 with an acknowledgement id, 429 when the queue is full,
+     * 413 when the batch is larger than the whole queue, 503 when the writer is not running
      */
-    private ResponseEntity<Map<String, Object>> createPaginatedResponse(Page<Transaction> page) {
+    private ResponseEntity<Map<String, Object>> enqueueTransactions(List<Transaction> transactions) {
         Map<String, Object> response = new HashMap<>();
-        response.put("transactions", page.getContent());
-        response.put("currentPage", page.getNumber());
-        response.put("totalItems", page.getTotalElements());
-        response.put("totalPages", page.getTotalPages());
+        if (!ingestQueue.isRunning()) {
+            response.put("message", "Asynchronous ingestion is not available");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(response);
+        }
+
+        // Retrying cannot help a batch that would not fit into an empty queue
+        if (transactions.size() > ingestQueue.getCapacity()) {
+            response.put("message", "Batch of " + transactions.size()
+                    + " transactions exceeds the ingest queue capacity of " + ingestQueue.getCapacity());
+            response.put("queueCapacity", ingestQueue.getCapacity());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+        }
+
+        long ackId = ingestQueue.offer(transactions);
+        response.put("queueDepth", ingestQueue.getDepth());
+        response.put("queueCapacity", ingestQueue.getCapacity());
+        if (ackId < 0) {
+            response.put("message", "Ingest queue is full, retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(response);
+        }
+
+        response.put("ackId", ackId);
+        response.put("accepted", transactions.size());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Helper method to run a listing in cursor mode when a cursor was given, else in page mode;
+     * both modes reject a size below one, as {@link PageRequest} does, with 400
+     */
+    private ResponseEntity<?> listTransactions(
+            TransactionFilter filter, int page, int size, String sortBy, String direction, String after) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        if (after != null) {
+            Slice<TransactionView> transactionsSlice = transactionService.searchTransactions(
+                    filter, TransactionCursor.decode(after), size);
+            return ResponseEntity.ok(TransactionCursorResponse.of(
+                    transactionsSlice, transactionService.estimateTransactionCount(filter)));
+        }
+
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
+                Sort.Direction.ASC : Sort.Direction.DESC;
         
-        return ResponseEntity.ok(response);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
+        Page<TransactionView> transactionsPage = transactionService.searchTransactions(filter, pageable);
+
+        return ResponseEntity.ok(TransactionPageResponse.of(transactionsPage));
     }
-}
\ No newline at end of file
+}
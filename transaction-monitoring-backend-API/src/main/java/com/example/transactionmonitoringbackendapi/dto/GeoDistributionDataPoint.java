@@ -0,0 +1,14 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction counts for one country, region or city
+ */
+public record GeoDistributionDataPoint(
+        String name,
+        long transactions,
+        long fraudulent,
+        long error,
+        BigDecimal totalAmount) {
+}
@@ -0,0 +1,20 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The most frequent values of one field over a time window. {@code total} counts the transactions with
+ * a value for the field in the window; counts are upper bounds, exact while few distinct values are seen.
+ */
+public record HeavyHittersResponse(
+        String dimension,
+        String mode,
+        LocalDateTime from,
+        LocalDateTime to,
+        long total,
+        List<HeavyHitter> items) {
+
+    public record HeavyHitter(String key, long count) {
+    }
+}
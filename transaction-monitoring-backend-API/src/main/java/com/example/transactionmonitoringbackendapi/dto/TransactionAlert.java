@@ -0,0 +1,40 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An anomaly raised by the alert detector on one series: all transactions, one country, one merchant
+ * or one error message. {@code observed} and {@code baseline} are rates (0-1) for the rate signals and
+ * events per second for {@code ERROR_VOLUME}; {@code resolvedAt} is null while the alert is active.
+ */
+public record TransactionAlert(
+        Scope scope,
+        String key,
+        Signal signal,
+        Trigger trigger,
+        double observed,
+        double baseline,
+        double zScore,
+        LocalDateTime raisedAt,
+        LocalDateTime resolvedAt) {
+
+    public enum Scope {
+        ALL,
+        COUNTRY,
+        MERCHANT,
+        ERROR_MESSAGE
+    }
+
+    public enum Signal {
+        ERROR_RATE,
+        FRAUD_RATE,
+        ERROR_VOLUME
+    }
+
+    public enum Trigger {
+        // The short-window value crossed its configured threshold
+        THRESHOLD,
+        // The short-window value is zScore standard deviations above the long-window baseline
+        DEVIATION
+    }
+}
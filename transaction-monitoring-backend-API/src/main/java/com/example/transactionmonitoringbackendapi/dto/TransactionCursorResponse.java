@@ -0,0 +1,23 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Cursor-mode listing response. approximateTotal is a planner estimate, or null when none is cheaply available.
+ */
+public record TransactionCursorResponse(
+        List<TransactionView> transactions,
+        boolean hasNext,
+        String nextCursor,
+        Long approximateTotal) {
+
+    public static TransactionCursorResponse of(Slice<TransactionView> slice, Long approximateTotal) {
+        String nextCursor = slice.hasNext()
+                ? TransactionCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1)).encode()
+                : null;
+        return new TransactionCursorResponse(slice.getContent(), slice.hasNext(), nextCursor, approximateTotal);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page-mode listing response
+ */
+public record TransactionPageResponse(
+        List<TransactionView> transactions,
+        int currentPage,
+        long totalItems,
+        int totalPages) {
+
+    public static TransactionPageResponse of(Page<TransactionView> page) {
+        return new TransactionPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+    }
+}
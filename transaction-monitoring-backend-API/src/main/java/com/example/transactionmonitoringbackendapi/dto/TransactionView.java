@@ -0,0 +1,34 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a transaction listing. Selected directly with a constructor expression,
+ * so listing rows are never hydrated as managed entities.
+ */
+public record TransactionView(
+        Long id,
+        String cardNumber,
+        BigDecimal amount,
+        String currency,
+        LocalDateTime timestamp,
+        String merchantName,
+        String country,
+        String region,
+        String city,
+        String transactionType,
+        boolean isFraudulent,
+        boolean isError,
+        String errorMessage) {
+
+    public static TransactionView of(Transaction transaction) {
+        return new TransactionView(transaction.getId(), transaction.getCardNumber(), transaction.getAmount(),
+                transaction.getCurrency(), transaction.getTimestamp(), transaction.getMerchantName(),
+                transaction.getCountry(), transaction.getRegion(), transaction.getCity(),
+                transaction.getTransactionType(), transaction.isFraudulent(), transaction.isError(),
+                transaction.getErrorMessage());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.transactionmonitoringbackendapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One bucket of the transaction volume chart
+ */
+public record VolumeDataPoint(
+        LocalDateTime time,
+        long total,
+        long fraudulent,
+        long error,
+        BigDecimal totalAmount,
+        BigDecimal fraudulentAmount,
+        BigDecimal errorAmount) {
+
+    public static VolumeDataPoint empty(LocalDateTime time) {
+        return new VolumeDataPoint(time, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
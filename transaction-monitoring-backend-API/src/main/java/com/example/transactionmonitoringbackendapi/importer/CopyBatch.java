@@ -0,0 +1,595 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import com.example.transactionmonitoringbackendapi.importer.RecordParser.Field;
+import com.example.transactionmonitoringbackendapi.service.ImportedBatch;
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions.Dimension;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Validates parsed lines against the transactions schema and appends them, in PostgreSQL's COPY text
+ * format, to a reusable byte buffer, together with per-minute and per-city totals for the listeners.
+ *
+ * Timestamps, amounts and flags are validated straight from the mapped bytes and copied through
+ * unchanged; the descriptive columns are resolved to dimension keys through a per-worker cache keyed
+ * by the raw bytes, so a line only allocates when it carries a name the worker has not seen yet.
+ * One instance per worker thread.
+ */
+final class CopyBatch {
+
+    /**
+     * Target columns, in the order each line is written
+     */
+    static final String COLUMNS = "timestamp, country_id, region_id, city_id, merchant_id, transaction_type_id, " +
+            "currency_id, error_message_id, is_fraudulent, is_error, amount, card_number, id";
+
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_AMOUNT_DIGITS = 16;
+    private static final long MICROS_PER_MINUTE = 60_000_000L;
+    private static final Field[] DIMENSION_FIELDS = {
+            Field.COUNTRY, Field.REGION, Field.CITY, Field.MERCHANT, Field.TRANSACTION_TYPE, Field.CURRENCY
+    };
+    private static final Dimension[] DIMENSIONS = {
+            Dimension.COUNTRY, Dimension.REGION, Dimension.CITY, Dimension.MERCHANT, Dimension.TRANSACTION_TYPE,
+            Dimension.CURRENCY
+    };
+    private static final String[] MISSING = new String[Field.VALUES.length];
+    private static final String[] MALFORMED = new String[Field.VALUES.length];
+
+    static {
+        for (Field field : Field.VALUES) {
+            MISSING[field.ordinal()] = "Missing " + field.key;
+            MALFORMED[field.ordinal()] = "Invalid " + field.key;
+        }
+    }
+
+    private final BiFunction<Dimension, String, Integer> keys;
+    private final SliceKeys[] dimensionKeys = new SliceKeys[DIMENSIONS.length];
+    private final SliceKeys errorMessageKeys = new SliceKeys();
+    private final int[] dimensionValues = new int[DIMENSIONS.length];
+    private final Totals minutes = new Totals();
+    private final Totals cities = new Totals();
+
+    private byte[] bytes = new byte[1 << 20];
+    private int length;
+    private int rows;
+    private long earliestMicros = Long.MAX_VALUE;
+    private long latestMicros = Long.MIN_VALUE;
+
+    /**
+     * @param keys dimension key of a name, interning it when new
+     */
+    CopyBatch(BiFunction<Dimension, String, Integer> keys) {
+        this.keys = keys;
+        for (int i = 0; i < dimensionKeys.length; i++) {
+            dimensionKeys[i] = new SliceKeys();
+        }
+    }
+
+    /**
+     * Validate the parsed line and append it with the next id. Returns null when added, otherwise why
+     * the line was rejected; a rejected line leaves the batch unchanged.
+     */
+    String add(RecordParser line, LongSupplier ids) {
+        ByteBuffer buffer = line.buffer;
+        for (Field field : Field.VALUES) {
+            if (field != Field.ERROR_MESSAGE && !line.present(field)) {
+                return MISSING[field.ordinal()];
+            }
+        }
+
+        long micros = line.escaped(Field.TIMESTAMP) ? INVALID
+                : parseTimestamp(buffer, line.start(Field.TIMESTAMP), line.end(Field.TIMESTAMP));
+        if (micros == INVALID) {
+            return MALFORMED[Field.TIMESTAMP.ordinal()];
+        }
+        long cents = line.escaped(Field.AMOUNT) ? INVALID
+                : parseCents(buffer, line.start(Field.AMOUNT), line.end(Field.AMOUNT));
+        if (cents == INVALID) {
+            return MALFORMED[Field.AMOUNT.ordinal()];
+        }
+        int fraudulent = parseBoolean(buffer, line.start(Field.FRAUDULENT), line.end(Field.FRAUDULENT));
+        if (fraudulent < 0) {
+            return MALFORMED[Field.FRAUDULENT.ordinal()];
+        }
+        int error = parseBoolean(buffer, line.start(Field.ERROR), line.end(Field.ERROR));
+        if (error < 0) {
+            return MALFORMED[Field.ERROR.ordinal()];
+        }
+        for (int i = 0; i < DIMENSIONS.length; i++) {
+            dimensionValues[i] = key(DIMENSIONS[i], dimensionKeys[i], line, DIMENSION_FIELDS[i]);
+            if (dimensionValues[i] < 0) {
+                return MALFORMED[DIMENSION_FIELDS[i].ordinal()];
+            }
+        }
+        int errorMessage = line.present(Field.ERROR_MESSAGE)
+                ? key(Dimension.ERROR_MESSAGE, errorMessageKeys, line, Field.ERROR_MESSAGE)
+                : 0;
+        if (errorMessage < 0) {
+            return MALFORMED[Field.ERROR_MESSAGE.ordinal()];
+        }
+
+        int mark = length;
+        copy(buffer, line.start(Field.TIMESTAMP), line.end(Field.TIMESTAMP));
+        for (int value : dimensionValues) {
+            writeByte('\t');
+            writeLong(value);
+        }
+        writeByte('\t');
+        if (line.present(Field.ERROR_MESSAGE)) {
+            writeLong(errorMessage);
+        } else {
+            writeByte('\\');
+            writeByte('N');
+        }
+        writeByte('\t');
+        writeByte(fraudulent == 1 ? 't' : 'f');
+        writeByte('\t');
+        writeByte(error == 1 ? 't' : 'f');
+        writeByte('\t');
+        copy(buffer, line.start(Field.AMOUNT), line.end(Field.AMOUNT));
+        writeByte('\t');
+        if (!writeCardNumber(line)) {
+            length = mark;
+            return MALFORMED[Field.CARD_NUMBER.ordinal()];
+        }
+        writeByte('\t');
+        writeLong(ids.getAsLong());
+        writeByte('\n');
+
+        rows++;
+        earliestMicros = Math.min(earliestMicros, micros);
+        latestMicros = Math.max(latestMicros, micros);
+        int minute = minutes.slot(Math.floorDiv(micros, MICROS_PER_MINUTE), 0, 0);
+        minutes.add(minute, cents, fraudulent == 1, error == 1);
+        // Country, region and city keys
+        int city = cities.slot(dimensionValues[0], dimensionValues[1], dimensionValues[2]);
+        cities.add(city, cents, fraudulent == 1, error == 1);
+        return null;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Totals of the rows added since the last clear, with keys resolved to names
+     */
+    ImportedBatch summary(BiFunction<Dimension, Integer, String> names) {
+        List<ImportedBatch.MinuteTotals> minuteTotals = new ArrayList<>();
+        minutes.forEach((key, values) -> minuteTotals.add(new ImportedBatch.MinuteTotals(
+                LocalDateTime.ofEpochSecond(key[0] * 60, 0, ZoneOffset.UTC),
+                values[0], values[1], values[2], values[3], values[4], values[5])));
+        List<ImportedBatch.CityTotals> cityTotals = new ArrayList<>();
+        cities.forEach((key, values) -> cityTotals.add(new ImportedBatch.CityTotals(
+                names.apply(Dimension.COUNTRY, (int) key[0]), names.apply(Dimension.REGION, (int) key[1]),
+                names.apply(Dimension.CITY, (int) key[2]), values[0], values[1], values[2], values[3])));
+        return new ImportedBatch(rows, rows == 0 ? null : toLocalDateTime(earliestMicros),
+                rows == 0 ? null : toLocalDateTime(latestMicros), minuteTotals, cityTotals);
+    }
+
+    void clear() {
+        length = 0;
+        rows = 0;
+        earliestMicros = Long.MAX_VALUE;
+        latestMicros = Long.MIN_VALUE;
+        minutes.clear();
+        cities.clear();
+    }
+
+    /**
+     * ISO local date-time ({@code 2025-07-01T10:00}, seconds and up to six fraction digits optional, a space
+     * allowed instead of the T) as epoch microseconds, or {@link #INVALID}
+     */
+    static long parseTimestamp(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length < 16 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-'
+                || (buffer.get(start + 10) != 'T' && buffer.get(start + 10) != ' ') || buffer.get(start + 13) != ':') {
+            return INVALID;
+        }
+        int year = digits(buffer, start, 4);
+        int month = digits(buffer, start + 5, 2);
+        int day = digits(buffer, start + 8, 2);
+        int hour = digits(buffer, start + 11, 2);
+        int minute = digits(buffer, start + 14, 2);
+        int second = 0;
+        long fraction = 0;
+        int pos = start + 16;
+        if (pos < end) {
+            if (end - pos < 3 || buffer.get(pos) != ':') {
+                return INVALID;
+            }
+            second = digits(buffer, pos + 1, 2);
+            pos += 3;
+            if (pos < end) {
+                int fractionDigits = end - pos - 1;
+                if (buffer.get(pos) != '.' || fractionDigits < 1 || fractionDigits > 6) {
+                    return INVALID;
+                }
+                int value = digits(buffer, pos + 1, fractionDigits);
+                if (value < 0) {
+                    return INVALID;
+                }
+                fraction = value;
+                for (int i = fractionDigits; i < 6; i++) {
+                    fraction *= 10;
+                }
+            }
+        }
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return INVALID;
+        }
+        long seconds = epochDay(year, month, day) * 86_400 + hour * 3_600L + minute * 60L + second;
+        return seconds * 1_000_000 + fraction;
+    }
+
+    /**
+     * Plain decimal amount ({@code -12.5}, at most two decimals and sixteen integer digits) in cents,
+     * or {@link #INVALID}
+     */
+    static long parseCents(ByteBuffer buffer, int start, int end) {
+        int pos = start;
+        boolean negative = pos < end && buffer.get(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long units = 0;
+        int integerDigits = 0;
+        while (pos < end && buffer.get(pos) != '.') {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9 || ++integerDigits > MAX_AMOUNT_DIGITS) {
+                return INVALID;
+            }
+            units = units * 10 + digit;
+            pos++;
+        }
+        if (integerDigits == 0) {
+            return INVALID;
+        }
+        long cents = units * 100;
+        if (pos < end) {
+            int decimals = end - pos - 1;
+            if (decimals < 1 || decimals > 2) {
+                return INVALID;
+            }
+            int value = digits(buffer, pos + 1, decimals);
+            if (value < 0) {
+                return INVALID;
+            }
+            cents += decimals == 1 ? value * 10 : value;
+        }
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * 1 for true, 0 for false (either case), -1 for anything else
+     */
+    static int parseBoolean(ByteBuffer buffer, int start, int end) {
+        if (equalsIgnoreCase(buffer, start, end, "true")) {
+            return 1;
+        }
+        return equalsIgnoreCase(buffer, start, end, "false") ? 0 : -1;
+    }
+
+    // Dimension key of the field's value, or -1 when it is not valid text of at most 255 characters
+    private int key(Dimension dimension, SliceKeys cache, RecordParser line, Field field) {
+        ByteBuffer buffer = line.buffer;
+        int start = line.start(field);
+        int end = line.end(field);
+        int hash = hash(buffer, start, end);
+        int key = cache.get(buffer, start, end, hash);
+        if (key >= 0) {
+            return key;
+        }
+        String name = line.text(field);
+        if (name == null || name.length() > MAX_TEXT_LENGTH) {
+            return -1;
+        }
+        key = keys.apply(dimension, name);
+        byte[] raw = new byte[end - start];
+        buffer.get(start, raw);
+        cache.put(raw, hash, key);
+        return key;
+    }
+
+    // Printable ASCII without backslashes is copied as is; anything else is decoded, checked and escaped
+    private boolean writeCardNumber(RecordParser line) {
+        ByteBuffer buffer = line.buffer;
+        int start = line.start(Field.CARD_NUMBER);
+        int end = line.end(Field.CARD_NUMBER);
+        boolean plain = !line.escaped(Field.CARD_NUMBER) && end - start <= MAX_TEXT_LENGTH;
+        for (int i = start; i < end && plain; i++) {
+            byte b = buffer.get(i);
+            plain = b >= 0x20 && b < 0x7f && b != '\\';
+        }
+        if (plain) {
+            copy(buffer, start, end);
+            return true;
+        }
+        String cardNumber = line.text(Field.CARD_NUMBER);
+        if (cardNumber == null || cardNumber.length() > MAX_TEXT_LENGTH) {
+            return false;
+        }
+        for (byte b : cardNumber.getBytes(StandardCharsets.UTF_8)) {
+            switch (b) {
+                case '\\' -> writeEscape('\\');
+                case '\t' -> writeEscape('t');
+                case '\n' -> writeEscape('n');
+                case '\r' -> writeEscape('r');
+                default -> writeByte(b);
+            }
+        }
+        return true;
+    }
+
+    private void writeEscape(char c) {
+        writeByte('\\');
+        writeByte(c);
+    }
+
+    private void copy(ByteBuffer buffer, int start, int end) {
+        ensureCapacity(end - start);
+        buffer.get(start, bytes, length, end - start);
+        length += end - start;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(20);
+        if (value == 0) {
+            bytes[length++] = '0';
+            return;
+        }
+        int digits = 0;
+        for (long v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; value > 0; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    // Value of count ASCII digits, or -1
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean equalsIgnoreCase(ByteBuffer buffer, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if ((buffer.get(start + i) | 0x20) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // Days since 1970-01-01 of a proleptic Gregorian date (years from 1 on)
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = y / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static LocalDateTime toLocalDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1000,
+                ZoneOffset.UTC);
+    }
+
+    private static int hash(ByteBuffer buffer, int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Open-addressing map from raw value bytes to dimension keys. Stops growing past MAX_ENTRIES
+     * distinct values, after which misses go through TransactionDimensions' own cache.
+     */
+    private static final class SliceKeys {
+
+        private static final int MAX_ENTRIES = 1 << 16;
+
+        private byte[][] keys = new byte[64][];
+        private int[] hashes = new int[64];
+        private int[] values = new int[64];
+        private int size;
+
+        int get(ByteBuffer buffer, int start, int end, int hash) {
+            int mask = keys.length - 1;
+            for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (hashes[i] == hash && matches(keys[i], buffer, start, end)) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(byte[] key, int hash, int value) {
+            if (size >= MAX_ENTRIES) {
+                return;
+            }
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            insert(key, hash, value);
+            size++;
+        }
+
+        private void insert(byte[] key, int hash, int value) {
+            int mask = keys.length - 1;
+            int i = hash & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            hashes[i] = hash;
+            values[i] = value;
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            int[] oldHashes = hashes;
+            int[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            hashes = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    insert(oldKeys[i], oldHashes[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Open-addressing map from a three-part key to six running totals: count, fraudulent, errors and
+     * their amounts in cents. Slots are reused across batches.
+     */
+    private static final class Totals {
+
+        private static final int WIDTH = 6;
+
+        private long[] keys = new long[3 * 64];
+        private long[] values = new long[WIDTH * 64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        /**
+         * Slot of the key, added with zero totals when new
+         */
+        int slot(long a, long b, long c) {
+            int mask = used.length - 1;
+            long hash = ((a * 31 + b) * 31 + c) * 0x9E3779B97F4A7C15L;
+            int i = (int) (hash >>> 40) & mask;
+            while (used[i]) {
+                if (keys[3 * i] == a && keys[3 * i + 1] == b && keys[3 * i + 2] == c) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            if (2 * (size + 1) > used.length) {
+                grow();
+                return slot(a, b, c);
+            }
+            used[i] = true;
+            keys[3 * i] = a;
+            keys[3 * i + 1] = b;
+            keys[3 * i + 2] = c;
+            size++;
+            return i;
+        }
+
+        void add(int slot, long cents, boolean fraudulent, boolean error) {
+            int base = WIDTH * slot;
+            values[base]++;
+            values[base + 3] += cents;
+            if (fraudulent) {
+                values[base + 1]++;
+                values[base + 4] += cents;
+            }
+            if (error) {
+                values[base + 2]++;
+                values[base + 5] += cents;
+            }
+        }
+
+        void forEach(BiConsumer<long[], long[]> consumer) {
+            for (int i = 0; i < used.length; i++) {
+                if (used[i]) {
+                    consumer.accept(Arrays.copyOfRange(keys, 3 * i, 3 * i + 3),
+                            Arrays.copyOfRange(values, WIDTH * i, WIDTH * i + WIDTH));
+                }
+            }
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+            Arrays.fill(values, 0);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            used = new boolean[oldUsed.length * 2];
+            size = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldKeys[3 * i], oldKeys[3 * i + 1], oldKeys[3 * i + 2]);
+                    System.arraycopy(oldValues, WIDTH * i, values, WIDTH * slot, WIDTH);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import java.util.List;
+
+/**
+ * Progress of a bulk import. Bytes and row counts include what earlier runs of a resumed import
+ * committed; the throughput figures only cover the current run.
+ */
+public record ImportReport(
+        long importId,
+        String file,
+        String format,
+        State state,
+        boolean resumed,
+        long fileBytes,
+        long bytesImported,
+        long rowsImported,
+        long rowsRejected,
+        double elapsedSeconds,
+        double rowsPerSecond,
+        double megabytesPerSecond,
+        List<Rejection> rejections,
+        String error) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        STOPPED,
+        FAILED
+    }
+
+    /**
+     * A rejected line, by the byte offset where it starts in the file
+     */
+    public record Rejection(long offset, String reason) {
+    }
+}
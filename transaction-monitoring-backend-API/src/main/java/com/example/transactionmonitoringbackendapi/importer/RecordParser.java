@@ -0,0 +1,421 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits one line of an import file into its fields without copying: each field is recorded as a
+ * [start, end) byte range of the mapped buffer, and only decoded to a String when a caller needs the
+ * text (a dictionary miss, or a value with escapes). One instance per worker thread.
+ */
+abstract class RecordParser {
+
+    /**
+     * Importable fields, named as in the export. The transaction id is not imported: rows get new ids.
+     */
+    enum Field {
+        CARD_NUMBER("cardNumber"),
+        AMOUNT("amount"),
+        CURRENCY("currency"),
+        TIMESTAMP("timestamp"),
+        MERCHANT("merchantName"),
+        COUNTRY("country"),
+        REGION("region"),
+        CITY("city"),
+        TRANSACTION_TYPE("transactionType"),
+        FRAUDULENT("isFraudulent"),
+        ERROR("isError"),
+        ERROR_MESSAGE("errorMessage");
+
+        static final Field[] VALUES = values();
+
+        final String key;
+        final byte[] keyBytes;
+
+        Field(String key) {
+            this.key = key;
+            this.keyBytes = key.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        static Field byKey(String key) {
+            for (Field field : VALUES) {
+                if (field.key.equals(key)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final int ABSENT = -1;
+
+    // Range of each field in the current line; start is ABSENT for a missing, empty or null value
+    private final int[] starts = new int[Field.VALUES.length];
+    private final int[] ends = new int[Field.VALUES.length];
+    private final boolean[] escaped = new boolean[Field.VALUES.length];
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+
+    ByteBuffer buffer;
+
+    /**
+     * Parse the line [start, end) of the buffer, without its line terminator. Returns null on success,
+     * otherwise why the line was rejected.
+     */
+    final String parse(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        Arrays.fill(starts, ABSENT);
+        return split(start, end);
+    }
+
+    abstract String split(int start, int end);
+
+    /**
+     * Undo the format's escaping in a decoded value, or null when the escapes are invalid
+     */
+    abstract String unescape(String raw);
+
+    final void set(Field field, int start, int end, boolean hasEscapes) {
+        if (end > start) {
+            starts[field.ordinal()] = start;
+            ends[field.ordinal()] = end;
+            escaped[field.ordinal()] = hasEscapes;
+        }
+    }
+
+    final boolean present(Field field) {
+        return starts[field.ordinal()] != ABSENT;
+    }
+
+    final int start(Field field) {
+        return starts[field.ordinal()];
+    }
+
+    final int end(Field field) {
+        return ends[field.ordinal()];
+    }
+
+    final boolean escaped(Field field) {
+        return escaped[field.ordinal()];
+    }
+
+    /**
+     * The field's text, or null when it is not valid UTF-8, has invalid escapes or contains a NUL character,
+     * which PostgreSQL cannot store
+     */
+    final String text(Field field) {
+        String raw;
+        try {
+            CharBuffer chars = decoder.decode(buffer.slice(start(field), end(field) - start(field)));
+            raw = chars.toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+        String value = escaped(field) ? unescape(raw) : raw;
+        return value == null || value.indexOf('\0') >= 0 ? null : value;
+    }
+
+    static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b != ' ' && b != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * RFC 4180 CSV with a header line naming the columns, one record per line. Quoted fields may contain
+     * separators and doubled quotes but not line breaks, since chunks are split at line boundaries.
+     */
+    static final class Csv extends RecordParser {
+
+        // Field of each column, or null for columns that are not imported (such as id)
+        private final Field[] columns;
+
+        Csv(Field[] columns) {
+            this.columns = columns;
+        }
+
+        /**
+         * Column layout from the header line; every field but errorMessage is required
+         */
+        static Field[] columns(String header) {
+            String[] names = header.split(",", -1);
+            Field[] columns = new Field[names.length];
+            boolean[] seen = new boolean[Field.VALUES.length];
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i].trim();
+                if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                    name = name.substring(1, name.length() - 1);
+                }
+                columns[i] = Field.byKey(name);
+                if (columns[i] != null) {
+                    if (seen[columns[i].ordinal()]) {
+                        throw new IllegalArgumentException("CSV header names column " + name + " twice");
+                    }
+                    seen[columns[i].ordinal()] = true;
+                }
+            }
+            for (Field field : Field.VALUES) {
+                if (!seen[field.ordinal()] && field != Field.ERROR_MESSAGE) {
+                    throw new IllegalArgumentException("CSV header has no " + field.key + " column");
+                }
+            }
+            return columns;
+        }
+
+        @Override
+        String split(int start, int end) {
+            int column = 0;
+            int pos = start;
+            while (true) {
+                int fieldStart;
+                int fieldEnd;
+                boolean hasEscapes = false;
+                if (pos < end && buffer.get(pos) == '"') {
+                    fieldStart = pos + 1;
+                    int p = fieldStart;
+                    while (true) {
+                        if (p >= end) {
+                            return "Unterminated quoted field (quoted fields cannot span lines)";
+                        }
+                        if (buffer.get(p) == '"') {
+                            if (p + 1 < end && buffer.get(p + 1) == '"') {
+                                hasEscapes = true;
+                                p += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        p++;
+                    }
+                    fieldEnd = p;
+                    pos = p + 1;
+                    if (pos < end && buffer.get(pos) != ',') {
+                        return "Unexpected character after a quoted field";
+                    }
+                } else {
+                    fieldStart = pos;
+                    while (pos < end && buffer.get(pos) != ',') {
+                        if (buffer.get(pos) == '"') {
+                            return "Quote inside an unquoted field";
+                        }
+                        pos++;
+                    }
+                    fieldEnd = pos;
+                }
+                if (column >= columns.length) {
+                    return "More than the " + columns.length + " columns of the header";
+                }
+                if (columns[column] != null) {
+                    set(columns[column], fieldStart, fieldEnd, hasEscapes);
+                }
+                column++;
+                if (pos >= end) {
+                    break;
+                }
+                pos++;
+            }
+            if (column != columns.length) {
+                return "Expected " + columns.length + " columns, found " + column;
+            }
+            return null;
+        }
+
+        @Override
+        String unescape(String raw) {
+            return raw.replace("\"\"", "\"");
+        }
+    }
+
+    /**
+     * Newline-delimited JSON: one flat object per line. Unknown keys are skipped, null counts as missing,
+     * and numbers and booleans may also be given as strings.
+     */
+    static final class Ndjson extends RecordParser {
+
+        @Override
+        String split(int start, int end) {
+            int pos = skipWhitespace(start, end);
+            if (pos >= end || buffer.get(pos) != '{') {
+                return "Not a JSON object";
+            }
+            pos = skipWhitespace(pos + 1, end);
+            if (pos < end && buffer.get(pos) == '}') {
+                return trailing(pos + 1, end);
+            }
+            while (true) {
+                if (pos >= end || buffer.get(pos) != '"') {
+                    return "Malformed JSON: expected a key";
+                }
+                int keyStart = pos + 1;
+                int keyEnd = scanString(keyStart, end);
+                if (keyEnd < 0) {
+                    return "Malformed JSON: unterminated string";
+                }
+                pos = skipWhitespace(keyEnd + 1, end);
+                if (pos >= end || buffer.get(pos) != ':') {
+                    return "Malformed JSON: expected ':'";
+                }
+                pos = skipWhitespace(pos + 1, end);
+                if (pos >= end) {
+                    return "Malformed JSON: missing value";
+                }
+
+                Field field = field(keyStart, keyEnd);
+                byte first = buffer.get(pos);
+                if (first == '"') {
+                    int valueStart = pos + 1;
+                    int valueEnd = scanString(valueStart, end);
+                    if (valueEnd < 0) {
+                        return "Malformed JSON: unterminated string";
+                    }
+                    if (field != null) {
+                        set(field, valueStart, valueEnd, hasBackslash(valueStart, valueEnd));
+                    }
+                    pos = valueEnd + 1;
+                } else if (first == '{' || first == '[') {
+                    return "Nested objects and arrays are not supported";
+                } else {
+                    int valueStart = pos;
+                    while (pos < end && !isDelimiter(buffer.get(pos))) {
+                        pos++;
+                    }
+                    if (pos == valueStart) {
+                        return "Malformed JSON: missing value";
+                    }
+                    if (field != null && !isNull(valueStart, pos)) {
+                        set(field, valueStart, pos, false);
+                    }
+                }
+
+                pos = skipWhitespace(pos, end);
+                if (pos >= end) {
+                    return "Malformed JSON: unterminated object";
+                }
+                byte next = buffer.get(pos);
+                if (next == '}') {
+                    return trailing(pos + 1, end);
+                }
+                if (next != ',') {
+                    return "Malformed JSON: expected ',' or '}'";
+                }
+                pos = skipWhitespace(pos + 1, end);
+            }
+        }
+
+        @Override
+        String unescape(String raw) {
+            StringBuilder value = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (++i >= raw.length()) {
+                    return null;
+                }
+                switch (raw.charAt(i)) {
+                    case '"' -> value.append('"');
+                    case '\\' -> value.append('\\');
+                    case '/' -> value.append('/');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (i + 4 >= raw.length()) {
+                            return null;
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(raw, i + 1, i + 5, 16));
+                        } catch (NumberFormatException e) {
+                            return null;
+                        }
+                        i += 4;
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            return value.toString();
+        }
+
+        // Index of the closing quote of a string starting at start, or -1
+        private int scanString(int start, int end) {
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Field field(int keyStart, int keyEnd) {
+            int length = keyEnd - keyStart;
+            for (Field field : Field.VALUES) {
+                byte[] key = field.keyBytes;
+                if (key.length == length && matches(key, keyStart)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        private boolean matches(byte[] bytes, int start) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean hasBackslash(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) == '\\') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean isNull(int start, int end) {
+            return end - start == 4 && buffer.get(start) == 'n' && buffer.get(start + 1) == 'u'
+                    && buffer.get(start + 2) == 'l' && buffer.get(start + 3) == 'l';
+        }
+
+        private String trailing(int pos, int end) {
+            return skipWhitespace(pos, end) == end ? null : "Unexpected characters after the JSON object";
+        }
+
+        private int skipWhitespace(int pos, int end) {
+            while (pos < end && isWhitespace(buffer.get(pos))) {
+                pos++;
+            }
+            return pos;
+        }
+
+        private static boolean isDelimiter(byte b) {
+            return b == ',' || b == '}' || isWhitespace(b);
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+    }
+}
@@ -0,0 +1,570 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import com.example.transactionmonitoringbackendapi.service.ImportedBatch;
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions;
+import com.example.transactionmonitoringbackendapi.service.TransactionExporter;
+import com.example.transactionmonitoringbackendapi.service.TransactionListener;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bulk import of transactions from CSV or NDJSON files (the formats the export writes) using PostgreSQL COPY.
+ *
+ * The file is split into line-aligned chunks of {@code transaction.import.chunk-size-mb}; each worker
+ * memory-maps one chunk at a time, parses its lines in place and COPYs {@code batch-size} rows per
+ * database transaction. The same transaction advances the chunk's committed offset in
+ * {@code transaction_import_chunks}, so starting the import of the same, unchanged file again resumes
+ * after the last committed batch. Lines that do not fit the schema are skipped and counted.
+ *
+ * Rows get fresh ids from {@code transactions_seq}. Listeners receive per-batch totals instead of
+ * individual rows, so the metrics, rollups and geo counters stay consistent with the table.
+ */
+@Component
+public class TransactionImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImporter.class);
+
+    // transactions_seq is INCREMENT BY 100, and like Hibernate's pooled optimizer every value is the
+    // last id of a block of 100
+    static final int SEQUENCE_INCREMENT = 100;
+
+    // Shorter than any complete record, so a row estimate made before the first line is read errs high
+    private static final int MIN_LINE_BYTES = 64;
+    private static final int MAX_REJECTION_SAMPLES = 100;
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+    private static final int MAX_ERROR_LENGTH = 1024;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final String COPY_SQL = "COPY transactions (" + CopyBatch.COLUMNS + ") FROM STDIN";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionDimensions dimensions;
+    private final List<TransactionListener> transactionListeners;
+    private final Path directory;
+    private final long chunkSize;
+    private final int batchSize;
+    private final int workers;
+
+    private volatile Run current;
+
+    public TransactionImporter(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate, TransactionDimensions dimensions,
+                               List<TransactionListener> transactionListeners,
+                               @Value("${transaction.import.directory:imports}") String directory,
+                               @Value("${transaction.import.chunk-size-mb:64}") int chunkSizeMb,
+                               @Value("${transaction.import.batch-size:50000}") int batchSize,
+                               @Value("${transaction.import.workers:0}") int workers) {
+        if (chunkSizeMb < 1 || chunkSizeMb > 1024) {
+            throw new IllegalArgumentException("transaction.import.chunk-size-mb must be between 1 and 1024");
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dimensions = dimensions;
+        this.transactionListeners = transactionListeners;
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSizeMb * 1024L * 1024L;
+        this.batchSize = batchSize;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Start importing a file inside {@code transaction.import.directory}, resuming an earlier import of the
+     * same file if there is one. Fails when an import is already running or the file was fully imported.
+     */
+    public synchronized ImportReport start(String path, TransactionExporter.Format format) throws IOException {
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("An import is already in progress");
+        }
+        Path file = resolve(path);
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+
+        Supplier<RecordParser> parsers;
+        long dataStart = 0;
+        if (format == TransactionExporter.Format.CSV) {
+            String header = readHeader(file);
+            dataStart = Math.min(size, header.getBytes(StandardCharsets.UTF_8).length + 1L);
+            RecordParser.Field[] columns = RecordParser.Csv.columns(
+                    (header.startsWith(BYTE_ORDER_MARK) ? header.substring(1) : header).strip());
+            parsers = () -> new RecordParser.Csv(columns);
+        } else {
+            parsers = RecordParser.Ndjson::new;
+        }
+
+        Run run = prepare(file, size, modified, format, dataStart, parsers);
+        current = run;
+        run.start();
+        log.info("{} import {} of {} ({} bytes, {} chunks left) with {} workers", run.resumed ? "Resumed" : "Started",
+                run.importId, file, size, run.queue.size(), workers);
+        return run.report();
+    }
+
+    /**
+     * Stop the current import; it can be resumed later, from each chunk's last committed batch. Returns
+     * its report, or null when nothing has run yet.
+     */
+    @PreDestroy
+    public synchronized ImportReport stop() {
+        Run run = current;
+        if (run == null) {
+            return null;
+        }
+        run.stop();
+        return run.report();
+    }
+
+    /**
+     * Report of the current or last import, or null when nothing has run yet
+     */
+    public ImportReport report() {
+        Run run = current;
+        return run == null ? null : run.report();
+    }
+
+    // Only files inside the import directory may be read, also through symbolic links
+    private Path resolve(String path) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Import directory " + directory + " does not exist");
+        }
+        Path file = directory.resolve(path).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No file " + path + " in the import directory");
+        }
+        Path real = file.toRealPath();
+        if (!real.startsWith(directory.toRealPath())) {
+            throw new IllegalArgumentException("No file " + path + " in the import directory");
+        }
+        return real;
+    }
+
+    // First line of a CSV file, without the line feed
+    private static String readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(MAX_HEADER_BYTES, channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // Fill the buffer
+            }
+            int end = 0;
+            while (end < buffer.position() && buffer.get(end) != '\n') {
+                end++;
+            }
+            if (end == buffer.position() && buffer.position() == MAX_HEADER_BYTES) {
+                throw new IllegalArgumentException("CSV header line is longer than " + MAX_HEADER_BYTES + " bytes");
+            }
+            return new String(buffer.array(), 0, end, StandardCharsets.UTF_8);
+        }
+    }
+
+    private Run prepare(Path file, long size, long modified, TransactionExporter.Format format, long dataStart,
+                        Supplier<RecordParser> parsers) throws IOException {
+        List<Map<String, Object>> existing = jdbcTemplate.queryForList(
+                "SELECT id, format, status FROM transaction_imports WHERE file_path = ? AND file_size = ? AND file_modified = ?",
+                file.toString(), size, modified);
+
+        if (!existing.isEmpty()) {
+            long importId = ((Number) existing.get(0).get("id")).longValue();
+            if (ImportReport.State.COMPLETED.name().equals(existing.get(0).get("status"))) {
+                throw new IllegalStateException("The file was already imported by import " + importId);
+            }
+            if (!format.name().equals(existing.get(0).get("format"))) {
+                throw new IllegalArgumentException("Import " + importId + " of this file was started as "
+                        + existing.get(0).get("format"));
+            }
+            List<Chunk> chunks = jdbcTemplate.query(
+                    "SELECT chunk_index, start_offset, end_offset, committed_offset, rows_imported, rows_rejected " +
+                            "FROM transaction_import_chunks WHERE import_id = ? ORDER BY chunk_index",
+                    (rs, rowNum) -> new Chunk(rs.getInt(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            rs.getLong(5), rs.getLong(6)),
+                    importId);
+            jdbcTemplate.update("UPDATE transaction_imports SET status = ?, finished_at = NULL, error = NULL WHERE id = ?",
+                    ImportReport.State.RUNNING.name(), importId);
+            return new Run(importId, file, format, size, dataStart, true, chunks, parsers);
+        }
+
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = dataStart;
+            while (start < size) {
+                long end = start + chunkSize >= size ? size : lineEndAfter(channel, start + chunkSize - 1, size);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Line at offset " + start + " is too long");
+                }
+                chunks.add(new Chunk(chunks.size(), start, end, start, 0, 0));
+                start = end;
+            }
+        }
+        Long importId = transactionTemplate.execute(status -> {
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO transaction_imports (file_path, file_size, file_modified, format, status, started_at) " +
+                            "VALUES (?, ?, ?, ?, ?, ?) RETURNING id",
+                    Long.class, file.toString(), size, modified, format.name(), ImportReport.State.RUNNING.name(),
+                    LocalDateTime.now());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO transaction_import_chunks (import_id, chunk_index, start_offset, end_offset, committed_offset) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    chunks, 1000, (statement, chunk) -> {
+                        statement.setLong(1, id);
+                        statement.setInt(2, chunk.index);
+                        statement.setLong(3, chunk.start);
+                        statement.setLong(4, chunk.end);
+                        statement.setLong(5, chunk.committed);
+                    });
+            return id;
+        });
+        return new Run(importId, file, format, size, dataStart, false, chunks, parsers);
+    }
+
+    // Offset just past the first line feed at or after from, or the file size
+    private static long lineEndAfter(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // Listener failures must not fail an import whose batch has already been committed
+    private void notifyImported(ImportedBatch batch) {
+        for (TransactionListener listener : transactionListeners) {
+            try {
+                listener.onTransactionsImported(batch);
+            } catch (RuntimeException e) {
+                log.warn("Transaction listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * A line-aligned byte range of the file; committed is where the next batch starts
+     */
+    private static final class Chunk {
+        final int index;
+        final long start;
+        final long end;
+        long committed;
+        final long rowsImported;
+        final long rowsRejected;
+
+        Chunk(int index, long start, long end, long committed, long rowsImported, long rowsRejected) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+            this.committed = committed;
+            this.rowsImported = rowsImported;
+            this.rowsRejected = rowsRejected;
+        }
+    }
+
+    /**
+     * Ids reserved from transactions_seq as many blocks at a time as the rows expected before the next
+     * estimate need, at most a batch's worth, so small files and chunk tails do not burn whole batches of ids
+     */
+    private final class IdBlocks implements LongSupplier {
+        private long[] blocks = new long[0];
+        private int index;
+        private long next = 1;
+        private long last = 0;
+        private long expected = batchSize;
+
+        /**
+         * Rows expected to need ids until the next call
+         */
+        void expect(long rows) {
+            expected = rows;
+        }
+
+        @Override
+        public long getAsLong() {
+            if (next > last) {
+                if (index == blocks.length) {
+                    long wanted = Math.min(Math.max(expected, 1), batchSize);
+                    blocks = jdbcTemplate.queryForList("SELECT nextval('transactions_seq') FROM generate_series(1, ?)",
+                                    Long.class, (wanted + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT)
+                            .stream().mapToLong(Long::longValue).toArray();
+                    index = 0;
+                }
+                last = blocks[index++];
+                next = last - SEQUENCE_INCREMENT + 1;
+            }
+            expected--;
+            return next++;
+        }
+    }
+
+    private final class Run {
+
+        private final long importId;
+        private final Path file;
+        private final TransactionExporter.Format format;
+        private final long fileBytes;
+        private final boolean resumed;
+        private final Supplier<RecordParser> parsers;
+        private final List<Chunk> chunks;
+        private final ConcurrentLinkedQueue<Chunk> queue = new ConcurrentLinkedQueue<>();
+        private final List<Thread> threads = new ArrayList<>();
+        private final List<ImportReport.Rejection> rejections = Collections.synchronizedList(new ArrayList<>());
+
+        // Committed by earlier runs of the import, including the CSV header
+        private final long bytesBefore;
+        private final long rowsBefore;
+        private final long rejectedBefore;
+        // Committed by this run
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        private volatile boolean stopped = false;
+        private volatile String error;
+        private volatile ImportReport.State state = ImportReport.State.RUNNING;
+        private long startNanos;
+        private volatile long endNanos = 0;
+
+        Run(long importId, Path file, TransactionExporter.Format format, long fileBytes, long dataStart,
+            boolean resumed, List<Chunk> chunks, Supplier<RecordParser> parsers) {
+            this.importId = importId;
+            this.file = file;
+            this.format = format;
+            this.fileBytes = fileBytes;
+            this.resumed = resumed;
+            this.parsers = parsers;
+            this.chunks = chunks;
+            long committedBytes = dataStart;
+            long committedRows = 0;
+            long committedRejected = 0;
+            for (Chunk chunk : chunks) {
+                committedBytes += chunk.committed - chunk.start;
+                committedRows += chunk.rowsImported;
+                committedRejected += chunk.rowsRejected;
+                if (chunk.committed < chunk.end) {
+                    queue.add(chunk);
+                }
+            }
+            this.bytesBefore = committedBytes;
+            this.rowsBefore = committedRows;
+            this.rejectedBefore = committedRejected;
+        }
+
+        boolean isRunning() {
+            return state == ImportReport.State.RUNNING;
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+            for (int i = 0; i < workers; i++) {
+                threads.add(Thread.ofPlatform().name("transaction-import-" + i).daemon().start(this::runWorker));
+            }
+            Thread.ofPlatform().name("transaction-import-monitor").daemon().start(() -> {
+                for (Thread thread : threads) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                finish();
+            });
+        }
+
+        void stop() {
+            stopped = true;
+            for (Thread thread : threads) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        ImportReport report() {
+            double elapsed = ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1e9;
+            long runRows = rows.sum();
+            long runBytes = bytes.sum();
+            return new ImportReport(importId, file.toString(), format.name(), state, resumed, fileBytes,
+                    bytesBefore + runBytes, rowsBefore + runRows, rejectedBefore + rejected.sum(), elapsed,
+                    elapsed > 0 ? runRows / elapsed : 0, elapsed > 0 ? runBytes / 1e6 / elapsed : 0,
+                    List.copyOf(rejections), error);
+        }
+
+        private void runWorker() {
+            RecordParser parser = parsers.get();
+            CopyBatch batch = new CopyBatch(dimensions::intern);
+            IdBlocks ids = new IdBlocks();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Chunk chunk;
+                while (!stopped && error == null && (chunk = queue.poll()) != null) {
+                    importChunk(channel, chunk, parser, batch, ids);
+                }
+            } catch (IOException | SQLException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        // Lines after the last commit are parsed again when the import is resumed
+        private void importChunk(FileChannel channel, Chunk chunk, RecordParser parser, CopyBatch batch,
+                                 IdBlocks ids) throws IOException, SQLException {
+            long base = chunk.committed;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, chunk.end - base);
+            int limit = buffer.limit();
+            int pos = 0;
+            long batchRejected = 0;
+            long lines = 0;
+            batch.clear();
+            ids.expect(expectedRows(limit, 0, 0));
+            while (pos < limit) {
+                if (stopped || error != null) {
+                    return;
+                }
+                int lineEnd = pos;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd > pos && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                if (!RecordParser.isBlank(buffer, pos, contentEnd)) {
+                    lines++;
+                    String reason = parser.parse(buffer, pos, contentEnd);
+                    if (reason == null) {
+                        reason = batch.add(parser, ids);
+                    }
+                    if (reason != null) {
+                        batchRejected++;
+                        if (rejections.size() < MAX_REJECTION_SAMPLES) {
+                            rejections.add(new ImportReport.Rejection(base + pos, reason));
+                        }
+                    }
+                }
+                pos = Math.min(lineEnd + 1, limit);
+                if (batch.rows() >= batchSize || pos == limit) {
+                    commit(chunk, base + pos, batch, batchRejected);
+                    batchRejected = 0;
+                    ids.expect(expectedRows(limit, pos, lines));
+                }
+            }
+        }
+
+        // Rows in the next batch, from the bytes left in the chunk and the average line length so far
+        private long expectedRows(int limit, int pos, long lines) {
+            long lineBytes = lines > 0 ? Math.max(1, pos / lines) : MIN_LINE_BYTES;
+            return Math.min(batchSize, (limit - pos + lineBytes - 1) / lineBytes);
+        }
+
+        // COPY the batch and advance the chunk's offset in one transaction, then tell the listeners
+        private void commit(Chunk chunk, long offset, CopyBatch batch, long batchRejected) throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    if (batch.rows() > 0) {
+                        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                        try {
+                            copy.writeToCopy(batch.bytes(), 0, batch.length());
+                            copy.endCopy();
+                        } finally {
+                            if (copy.isActive()) {
+                                copy.cancelCopy();
+                            }
+                        }
+                    }
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE transaction_import_chunks SET committed_offset = ?, rows_imported = rows_imported + ?, " +
+                                    "rows_rejected = rows_rejected + ? WHERE import_id = ? AND chunk_index = ?")) {
+                        statement.setLong(1, offset);
+                        statement.setLong(2, batch.rows());
+                        statement.setLong(3, batchRejected);
+                        statement.setLong(4, importId);
+                        statement.setInt(5, chunk.index);
+                        statement.executeUpdate();
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+
+            bytes.add(offset - chunk.committed);
+            rows.add(batch.rows());
+            rejected.add(batchRejected);
+            chunk.committed = offset;
+            if (batch.rows() > 0) {
+                ImportedBatch summary = batch.summary(dimensions::name);
+                batch.clear();
+                notifyImported(summary);
+            }
+        }
+
+        private void fail(Exception e) {
+            synchronized (this) {
+                if (error == null) {
+                    error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                }
+            }
+            log.error("Import {} of {} failed", importId, file, e);
+        }
+
+        private void finish() {
+            endNanos = System.nanoTime();
+            // The workers have been joined, so their chunk offsets are visible here
+            boolean complete = chunks.stream().allMatch(chunk -> chunk.committed >= chunk.end);
+            state = error != null ? ImportReport.State.FAILED
+                    : complete ? ImportReport.State.COMPLETED : ImportReport.State.STOPPED;
+            String message = error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+            try {
+                jdbcTemplate.update("UPDATE transaction_imports SET status = ?, finished_at = ?, error = ? WHERE id = ?",
+                        state.name(), LocalDateTime.now(), message, importId);
+            } catch (RuntimeException e) {
+                log.warn("Could not record the end of import {}", importId, e);
+            }
+            ImportReport report = report();
+            log.info("Import {} of {} {}: {} rows imported, {} rejected, {} rows/s", importId, file,
+                    state.name().toLowerCase(), report.rowsImported(), report.rowsRejected(),
+                    Math.round(report.rowsPerSecond()));
+        }
+    }
+}
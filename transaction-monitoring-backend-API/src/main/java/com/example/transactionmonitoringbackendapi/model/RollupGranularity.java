@@ -0,0 +1,46 @@
+package com.example.transactionmonitoringbackendapi.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket sizes of the transaction volume rollups
+ */
+public enum RollupGranularity {
+
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    public long bucketsBetween(LocalDateTime startTime, LocalDateTime endTime) {
+        return unit.between(truncate(startTime), truncate(endTime)) + 1;
+    }
+
+    /**
+     * Finest granularity that keeps a chart of the given range to a few hundred points
+     */
+    public static RollupGranularity forRange(LocalDateTime startTime, LocalDateTime endTime) {
+        Duration range = Duration.between(startTime, endTime);
+        if (range.compareTo(Duration.ofHours(6)) <= 0) {
+            return MINUTE;
+        } else if (range.compareTo(Duration.ofDays(7)) <= 0) {
+            return HOUR;
+        }
+        return DAY;
+    }
+}
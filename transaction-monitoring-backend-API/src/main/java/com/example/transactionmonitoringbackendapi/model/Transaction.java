@@ -1,15 +1,27 @@
 package com.example.transactionmonitoringbackendapi.model;
 
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+// Mirrors the plain indexes created by the Flyway migrations; the partial fraud/error indexes and the
+// range partitioning on timestamp cannot be expressed here and only live in db/migration/V5__dictionary_encode_transactions.sql.
+// The converted String columns are stored as keys of their dimension tables, see TransactionDimensions.
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_transactions_country_region_city_timestamp", columnList = "country_id, region_id, city_id, timestamp"),
+        @Index(name = "idx_transactions_region_timestamp", columnList = "region_id, timestamp"),
+        @Index(name = "idx_transactions_city_timestamp", columnList = "city_id, timestamp"),
+        @Index(name = "idx_transactions_amount_timestamp", columnList = "amount, timestamp")
+})
 public class Transaction {
 
+    // Pooled sequence so Hibernate can hand out IDs without a round trip per row and batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false)
@@ -18,25 +30,31 @@ public class Transaction {
     @Column(nullable = false)
     private BigDecimal amount;
 
-    @Column(nullable = false)
+    @Column(name = "currency_id", nullable = false)
+    @Convert(converter = TransactionDimensions.CurrencyConverter.class)
     private String currency;
 
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
-    @Column(nullable = false)
+    @Column(name = "merchant_id", nullable = false)
+    @Convert(converter = TransactionDimensions.MerchantConverter.class)
     private String merchantName;
 
-    @Column(nullable = false)
+    @Column(name = "country_id", nullable = false)
+    @Convert(converter = TransactionDimensions.CountryConverter.class)
     private String country;
 
-    @Column(nullable = false)
+    @Column(name = "region_id", nullable = false)
+    @Convert(converter = TransactionDimensions.RegionConverter.class)
     private String region;
 
-    @Column(nullable = false)
+    @Column(name = "city_id", nullable = false)
+    @Convert(converter = TransactionDimensions.CityConverter.class)
     private String city;
 
-    @Column(nullable = false)
+    @Column(name = "transaction_type_id", nullable = false)
+    @Convert(converter = TransactionDimensions.TransactionTypeConverter.class)
     private String transactionType;
 
     @Column(nullable = false)
@@ -45,7 +63,8 @@ public class Transaction {
     @Column(nullable = false)
     private boolean isError;
 
-    @Column
+    @Column(name = "error_message_id")
+    @Convert(converter = TransactionDimensions.ErrorMessageConverter.class)
     private String errorMessage;
 
     // Default constructor
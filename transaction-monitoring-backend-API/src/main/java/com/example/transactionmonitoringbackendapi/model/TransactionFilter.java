@@ -0,0 +1,162 @@
+package com.example.transactionmonitoringbackendapi.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Optional criteria for searching transactions. Every field left null is simply not filtered on,
+ * so only the predicates that were actually supplied reach the SQL.
+ */
+public class TransactionFilter {
+
+    private String country;
+    private String region;
+    private String city;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String transactionType;
+    private String merchantName;
+    private String currency;
+    private Boolean fraudulent;
+    private Boolean error;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    // Default constructor
+    public TransactionFilter() {
+    }
+
+    // Getters and Setters
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public void setMerchantName(String merchantName) {
+        this.merchantName = merchantName;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Boolean getFraudulent() {
+        return fraudulent;
+    }
+
+    public void setFraudulent(Boolean fraudulent) {
+        this.fraudulent = fraudulent;
+    }
+
+    public Boolean getError() {
+        return error;
+    }
+
+    public void setError(Boolean error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * True when no criteria other than the given fraud/error flags are set
+     */
+    public boolean hasOnlyFlags(Boolean fraudulent, Boolean error) {
+        return country == null && region == null && city == null
+                && minAmount == null && maxAmount == null
+                && transactionType == null && merchantName == null && currency == null
+                && startTime == null && endTime == null
+                && Objects.equals(this.fraudulent, fraudulent)
+                && Objects.equals(this.error, error);
+    }
+
+    // Value equality, so filters can be used as cache keys
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TransactionFilter other)) {
+            return false;
+        }
+        return Objects.equals(country, other.country) && Objects.equals(region, other.region)
+                && Objects.equals(city, other.city)
+                && Objects.equals(minAmount, other.minAmount) && Objects.equals(maxAmount, other.maxAmount)
+                && Objects.equals(transactionType, other.transactionType)
+                && Objects.equals(merchantName, other.merchantName) && Objects.equals(currency, other.currency)
+                && Objects.equals(fraudulent, other.fraudulent) && Objects.equals(error, other.error)
+                && Objects.equals(startTime, other.startTime) && Objects.equals(endTime, other.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(country, region, city, minAmount, maxAmount, transactionType, merchantName, currency,
+                fraudulent, error, startTime, endTime);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.transactionmonitoringbackendapi.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+@Entity
+@Table(name = "transaction_geo_rollups")
+@IdClass(TransactionGeoRollup.Key.class)
+public class TransactionGeoRollup {
+
+    @Id
+    private String country;
+
+    @Id
+    private String region;
+
+    @Id
+    private String city;
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long fraudCount;
+
+    @Column(nullable = false)
+    private long errorCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Default constructor
+    public TransactionGeoRollup() {
+    }
+
+    // Getters
+    public String getCountry() {
+        return country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getFraudCount() {
+        return fraudCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    // Composite primary key (country, region, city)
+    public static class Key implements Serializable {
+
+        private String country;
+        private String region;
+        private String city;
+
+        public Key() {
+        }
+
+        public Key(String country, String region, String city) {
+            this.country = country;
+            this.region = region;
+            this.city = city;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(country, key.country) && Objects.equals(region, key.region)
+                    && Objects.equals(city, key.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(country, region, city);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.transactionmonitoringbackendapi.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "transaction_volume_rollups")
+@IdClass(TransactionVolumeRollup.Key.class)
+public class TransactionVolumeRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private RollupGranularity granularity;
+
+    @Id
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long fraudCount;
+
+    @Column(nullable = false)
+    private long errorCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal fraudAmount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal errorAmount;
+
+    // Default constructor
+    public TransactionVolumeRollup() {
+    }
+
+    // Getters
+    public RollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getFraudCount() {
+        return fraudCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BigDecimal getFraudAmount() {
+        return fraudAmount;
+    }
+
+    public BigDecimal getErrorAmount() {
+        return errorAmount;
+    }
+
+    // Composite primary key (granularity, bucketStart)
+    public static class Key implements Serializable {
+
+        private RollupGranularity granularity;
+        private LocalDateTime bucketStart;
+
+        public Key() {
+        }
+
+        public Key(RollupGranularity granularity, LocalDateTime bucketStart) {
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return granularity == key.granularity && Objects.equals(bucketStart, key.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, bucketStart);
+        }
+    }
+}
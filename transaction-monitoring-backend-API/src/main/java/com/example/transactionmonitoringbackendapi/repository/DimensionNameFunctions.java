@@ -0,0 +1,32 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions.Dimension;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers one query function per dimension table that reads the name behind a key column, so
+ * listings can be ordered by name although the transactions table only stores the keys.
+ * Loaded by Hibernate through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class DimensionNameFunctions implements FunctionContributor {
+
+    /**
+     * Name of the function that maps a key of the dimension to its name
+     */
+    public static String functionName(Dimension dimension) {
+        return dimension.table() + "_name";
+    }
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<String> string = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.STRING);
+        for (Dimension dimension : Dimension.values()) {
+            functionContributions.getFunctionRegistry().registerPattern(functionName(dimension),
+                    "(select d.name from " + dimension.table() + " d where d.id = ?1)", string);
+        }
+    }
+}
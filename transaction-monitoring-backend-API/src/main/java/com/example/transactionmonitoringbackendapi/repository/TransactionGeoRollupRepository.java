@@ -0,0 +1,30 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.model.TransactionGeoRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface TransactionGeoRollupRepository
+        extends JpaRepository<TransactionGeoRollup, TransactionGeoRollup.Key> {
+
+    // Adds the deltas to a city's row, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO transaction_geo_rollups AS r " +
+            "(country, region, city, total_count, fraud_count, error_count, total_amount) " +
+            "VALUES (:country, :region, :city, :totalCount, :fraudCount, :errorCount, :totalAmount) " +
+            "ON CONFLICT (country, region, city) DO UPDATE SET " +
+            "total_count = r.total_count + EXCLUDED.total_count, " +
+            "fraud_count = r.fraud_count + EXCLUDED.fraud_count, " +
+            "error_count = r.error_count + EXCLUDED.error_count, " +
+            "total_amount = r.total_amount + EXCLUDED.total_amount",
+            nativeQuery = true)
+    void addToLocation(@Param("country") String country, @Param("region") String region, @Param("city") String city,
+                       @Param("totalCount") long totalCount, @Param("fraudCount") long fraudCount,
+                       @Param("errorCount") long errorCount, @Param("totalAmount") BigDecimal totalAmount);
+}
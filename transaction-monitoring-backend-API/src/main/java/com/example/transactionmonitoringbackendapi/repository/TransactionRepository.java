@@ -1,45 +1,32 @@
 package com.example.transactionmonitoringbackendapi.repository;
 
 import com.example.transactionmonitoringbackendapi.model.Transaction;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionViewRepository {
 
-    // Find transactions by region (country, region, or city)
-    Page<Transaction> findByCountry(String country, Pageable pageable);
-    Page<Transaction> findByRegion(String region, Pageable pageable);
-    Page<Transaction> findByCity(String city, Pageable pageable);
-    
-    // Find transactions by amount range
-    Page<Transaction> findByAmountBetween(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    
-    // Find transactions by combined filters
-    Page<Transaction> findByCountryAndAmountBetween(
-            String country, BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    
-    Page<Transaction> findByRegionAndAmountBetween(
-            String region, BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    
-    Page<Transaction> findByCountryAndRegionAndAmountBetween(
-            String country, String region, BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    
-    Page<Transaction> findByCountryAndRegionAndCityAndAmountBetween(
-            String country, String region, String city, BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    
-    // Find fraudulent transactions
-    Page<Transaction> findByIsFraudulent(boolean isFraudulent, Pageable pageable);
-    
-    // Find error transactions
-    Page<Transaction> findByIsError(boolean isError, Pageable pageable);
+    // Listings and filters are built from TransactionSpecifications and read as TransactionView rows
+
+    // Lookups by the whole primary key (id, timestamp). The timestamp lets PostgreSQL prune to the one partition
+    // that holds the row; findById and delete by entity only know the id, so they probe every partition's key index.
+    Optional<Transaction> findByIdAndTimestamp(Long id, LocalDateTime timestamp);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Transaction t WHERE t.id = :id AND t.timestamp = :timestamp")
+    int deleteByIdAndTimestamp(@Param("id") Long id, @Param("timestamp") LocalDateTime timestamp);
     
     // Count metrics for dashboard
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.timestamp BETWEEN :startTime AND :endTime")
@@ -50,4 +37,19 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.isError = true AND t.timestamp BETWEEN :startTime AND :endTime")
     long countErrorTransactionsInTimeRange(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
-}
\ No newline at end of file
+    
+    // Per-minute counts used to rebuild the in-memory metrics aggregator: [epochMinute, total, fraudulent, errors]
+    @Query(value = "SELECT CAST(FLOOR(EXTRACT(EPOCH FROM t.timestamp) / 60) AS bigint) AS minute, COUNT(*), " +
+            "COUNT(*) FILTER (WHERE t.is_fraudulent), COUNT(*) FILTER (WHERE t.is_error) " +
+            "FROM transactions t WHERE t.timestamp >= :startTime AND t.timestamp < :endTime GROUP BY 1",
+            nativeQuery = true)
+    List<Object[]> countPerMinuteInTimeRange(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+    
+    // Planner estimate of the rows in a table or (partial) index, used instead of COUNT(*) for cursor pagination.
+    // A partitioned table or index has no statistics of its own, so its partitions' estimates are summed.
+    @Query(value = "SELECT CAST(SUM(GREATEST(c.reltuples, 0)) AS bigint) FROM pg_class c " +
+            "WHERE c.relname = :relationName OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = :relationName)",
+            nativeQuery = true)
+    Long estimateRowCount(@Param("relationName") String relationName);
+}
@@ -0,0 +1,92 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable predicates for {@link TransactionRepository} specification queries.
+ */
+public final class TransactionSpecifications {
+
+    // Total order used by keyset pagination; id breaks ties between equal timestamps
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Conjunction of the criteria set on the filter. Unset criteria emit no predicate at all, and the
+     * fraud/error flags are rendered as literals so PostgreSQL can match the partial indexes.
+     * Country, region, city, merchant, type and currency go through the converters on {@link Transaction},
+     * so they are bound as dimension keys and compared as integers ({@code country_id = ?}). Check
+     * {@code TransactionDimensions.canMatch} first: a name that was never stored would otherwise be interned.
+     */
+    public static Specification<Transaction> matching(TransactionFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getCountry() != null) {
+                predicates.add(cb.equal(root.get("country"), filter.getCountry()));
+            }
+            if (filter.getRegion() != null) {
+                predicates.add(cb.equal(root.get("region"), filter.getRegion()));
+            }
+            if (filter.getCity() != null) {
+                predicates.add(cb.equal(root.get("city"), filter.getCity()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.getMaxAmount()));
+            }
+            if (filter.getTransactionType() != null) {
+                predicates.add(cb.equal(root.get("transactionType"), filter.getTransactionType()));
+            }
+            if (filter.getMerchantName() != null) {
+                predicates.add(cb.equal(root.get("merchantName"), filter.getMerchantName()));
+            }
+            if (filter.getCurrency() != null) {
+                predicates.add(cb.equal(root.get("currency"), filter.getCurrency()));
+            }
+            if (filter.getFraudulent() != null) {
+                predicates.add(filter.getFraudulent()
+                        ? cb.isTrue(root.get("isFraudulent"))
+                        : cb.isFalse(root.get("isFraudulent")));
+            }
+            if (filter.getError() != null) {
+                predicates.add(filter.getError()
+                        ? cb.isTrue(root.get("isError"))
+                        : cb.isFalse(root.get("isError")));
+            }
+            if (filter.getStartTime() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("timestamp"), filter.getStartTime()));
+            }
+            if (filter.getEndTime() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("timestamp"), filter.getEndTime()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor in {@link #KEYSET_SORT} order. The redundant
+     * {@code timestamp <= :ts} bound lets PostgreSQL start an index range scan at the cursor
+     * instead of filtering from the newest row.
+     */
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("timestamp"), cursor.timestamp()),
+                cb.or(
+                        cb.lessThan(root.get("timestamp"), cursor.timestamp()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
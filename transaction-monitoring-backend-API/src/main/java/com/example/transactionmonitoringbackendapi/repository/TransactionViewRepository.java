@@ -0,0 +1,25 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Listing queries that select {@link TransactionView} rows instead of managed entities
+ */
+public interface TransactionViewRepository {
+
+    Page<TransactionView> findViews(Specification<Transaction> specification, Pageable pageable);
+
+    // Fetches size + 1 rows to determine hasNext, without a count query
+    Slice<TransactionView> findViewSlice(Specification<Transaction> specification, Sort sort, int size);
+
+    // Forward-only cursor fetching fetchSize rows per round trip; consume and close it inside a transaction
+    Stream<TransactionView> streamViews(Specification<Transaction> specification, Sort sort, int fetchSize);
+}
@@ -0,0 +1,144 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions.Dimension;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Criteria implementation of {@link TransactionViewRepository}, picked up by Spring Data as a fragment
+ * of {@link TransactionRepository}. Rows are built with a constructor expression, so nothing enters the
+ * persistence context: no entity hydration and no dirty-checking snapshots.
+ */
+public class TransactionViewRepositoryImpl implements TransactionViewRepository {
+
+    // Properties stored as dimension keys; they are ordered by the name behind the key
+    private static final Map<String, Dimension> DIMENSION_PROPERTIES = Map.of(
+            "country", Dimension.COUNTRY,
+            "region", Dimension.REGION,
+            "city", Dimension.CITY,
+            "merchantName", Dimension.MERCHANT,
+            "transactionType", Dimension.TRANSACTION_TYPE,
+            "currency", Dimension.CURRENCY,
+            "errorMessage", Dimension.ERROR_MESSAGE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionView> findViews(Specification<Transaction> specification, Pageable pageable) {
+        TypedQuery<TransactionView> query = createViewQuery(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TransactionView> content = query.getResultList();
+
+        // The count is skipped when the page itself shows the total (first or last page)
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<TransactionView> findViewSlice(Specification<Transaction> specification, Sort sort, int size) {
+        List<TransactionView> content = createViewQuery(specification, sort)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    // Rows are constructor results, not entities, so the persistence context stays empty however many are read
+    @Override
+    public Stream<TransactionView> streamViews(Specification<Transaction> specification, Sort sort, int fetchSize) {
+        return createViewQuery(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<TransactionView> createViewQuery(Specification<Transaction> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionView> query = cb.createQuery(TransactionView.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.select(cb.construct(TransactionView.class,
+                root.get("id"),
+                root.get("cardNumber"),
+                root.get("amount"),
+                root.get("currency"),
+                root.get("timestamp"),
+                root.get("merchantName"),
+                root.get("country"),
+                root.get("region"),
+                root.get("city"),
+                root.get("transactionType"),
+                root.get("isFraudulent"),
+                root.get("isError"),
+                root.get("errorMessage")));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static List<Order> toOrders(Sort sort, Root<Transaction> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Dimension dimension = DIMENSION_PROPERTIES.get(order.getProperty());
+            if (dimension == null) {
+                orders.addAll(QueryUtils.toOrders(Sort.by(order), root, cb));
+                continue;
+            }
+            Expression<String> name = cb.function(DimensionNameFunctions.functionName(dimension), String.class,
+                    root.get(order.getProperty()));
+            orders.add(order.isAscending() ? cb.asc(name) : cb.desc(name));
+        }
+        return orders;
+    }
+
+    private long count(Specification<Transaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
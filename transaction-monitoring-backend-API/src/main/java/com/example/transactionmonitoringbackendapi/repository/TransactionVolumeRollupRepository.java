@@ -0,0 +1,43 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
+import com.example.transactionmonitoringbackendapi.model.TransactionVolumeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TransactionVolumeRollupRepository
+        extends JpaRepository<TransactionVolumeRollup, TransactionVolumeRollup.Key> {
+
+    List<TransactionVolumeRollup> findByGranularityAndBucketStartBetweenOrderByBucketStartAsc(
+            RollupGranularity granularity, LocalDateTime startTime, LocalDateTime endTime);
+
+    // Adds the deltas to a bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO transaction_volume_rollups AS r " +
+            "(granularity, bucket_start, total_count, fraud_count, error_count, total_amount, fraud_amount, error_amount) " +
+            "VALUES (:granularity, :bucketStart, :totalCount, :fraudCount, :errorCount, :totalAmount, :fraudAmount, :errorAmount) " +
+            "ON CONFLICT (granularity, bucket_start) DO UPDATE SET " +
+            "total_count = r.total_count + EXCLUDED.total_count, " +
+            "fraud_count = r.fraud_count + EXCLUDED.fraud_count, " +
+            "error_count = r.error_count + EXCLUDED.error_count, " +
+            "total_amount = r.total_amount + EXCLUDED.total_amount, " +
+            "fraud_amount = r.fraud_amount + EXCLUDED.fraud_amount, " +
+            "error_amount = r.error_amount + EXCLUDED.error_amount",
+            nativeQuery = true)
+    void addToBucket(@Param("granularity") String granularity, @Param("bucketStart") LocalDateTime bucketStart,
+                     @Param("totalCount") long totalCount, @Param("fraudCount") long fraudCount,
+                     @Param("errorCount") long errorCount, @Param("totalAmount") BigDecimal totalAmount,
+                     @Param("fraudAmount") BigDecimal fraudAmount, @Param("errorAmount") BigDecimal errorAmount);
+
+    @Modifying
+    @Query("DELETE FROM TransactionVolumeRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteBucketsBefore(@Param("granularity") RollupGranularity granularity, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Totals of one batch of transactions committed by the bulk importer, per minute and per city, for
+ * listeners that keep aggregates. Amounts are in cents.
+ */
+public record ImportedBatch(long rows, LocalDateTime earliest, LocalDateTime latest,
+                            List<MinuteTotals> minutes, List<CityTotals> cities) {
+
+    public record MinuteTotals(LocalDateTime minute, long total, long fraudulent, long errors,
+                               long totalCents, long fraudulentCents, long errorCents) {
+    }
+
+    public record CityTotals(String country, String region, String city, long total, long fraudulent, long errors,
+                             long amountCents) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only mapping between strings and dense int codes (0, 1, 2, ...). Lookups in both
+ * directions are lock-free; only adding a new value takes the lock. Null is always code -1.
+ */
+public class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    // Returned by code(String) for values that were never added
+    public static final int UNKNOWN_CODE = -2;
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size = 0;
+
+    /**
+     * Code of the value, adding it when it is new
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Code of the value without adding it: {@link #UNKNOWN_CODE} when it has never been encoded
+     */
+    public int code(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : UNKNOWN_CODE;
+    }
+
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        // Publish the array before the code, so a reader that sees the code can decode it
+        values = current;
+        codes.put(value, size);
+        return size++;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Approximate counts of the most frequent keys of a stream, in fixed memory.
+ *
+ * A Space-Saving summary monitors at most {@code capacity} keys: a new key replaces the least counted
+ * one and inherits its count, so a monitored count overestimates by at most the count it inherited,
+ * and every key seen more than total / capacity times is monitored. A count-min sketch of
+ * {@code depth} rows of {@code width} counters bounds the estimate of any key, monitored or not, so
+ * summaries of consecutive time slots can be combined for keys that only some slots monitor.
+ *
+ * Not thread-safe: callers synchronize.
+ */
+final class TopKSketch {
+
+    // Odd multipliers for the multiply-shift hash of each row
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646D,
+            0xFD7046C5, 0xB55A4F09};
+
+    private final int depth;
+    private final int shift;
+    private final int width;
+    private final int[] cells;
+
+    private final int capacity;
+    // Monitored keys as a binary min-heap on count, so the key to replace is always at the root
+    private final Counter[] heap;
+    private final Map<String, Counter> monitored;
+    private int size = 0;
+    private long total = 0;
+
+    TopKSketch(int width, int depth, int capacity) {
+        if (width < 2 || Integer.bitCount(width) != 1 || depth < 1 || depth > SEEDS.length || capacity < 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two of at least 2, depth between 1 and "
+                    + SEEDS.length + " and capacity positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.shift = 32 - Integer.numberOfTrailingZeros(width);
+        this.cells = new int[depth * width];
+        this.capacity = capacity;
+        this.heap = new Counter[capacity];
+        this.monitored = new HashMap<>(capacity * 2);
+    }
+
+    void add(String key) {
+        total++;
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < depth; row++) {
+            cells[row * width + index(hash, row)]++;
+        }
+
+        Counter counter = monitored.get(key);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.position);
+        } else if (size < capacity) {
+            counter = new Counter();
+            counter.key = key;
+            counter.count = 1;
+            counter.position = size;
+            heap[size++] = counter;
+            monitored.put(key, counter);
+            siftUp(counter.position);
+        } else {
+            counter = heap[0];
+            monitored.remove(counter.key);
+            counter.key = key;
+            counter.count++;
+            monitored.put(key, counter);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Upper bound of the key's count: the smaller of its sketch estimate and its Space-Saving count, or
+     * for an unmonitored key the smallest monitored count (0 while the summary has never been full)
+     */
+    long estimate(String key) {
+        int hash = spread(key.hashCode());
+        long sketch = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            sketch = Math.min(sketch, cells[row * width + index(hash, row)]);
+        }
+        Counter counter = monitored.get(key);
+        if (counter != null) {
+            return Math.min(sketch, counter.count);
+        }
+        return size < capacity ? 0 : Math.min(sketch, heap[0].count);
+    }
+
+    void collectKeys(Collection<String> keys) {
+        keys.addAll(monitored.keySet());
+    }
+
+    long total() {
+        return total;
+    }
+
+    void clear() {
+        Arrays.fill(cells, 0);
+        Arrays.fill(heap, 0, size, null);
+        monitored.clear();
+        size = 0;
+        total = 0;
+    }
+
+    private int index(int hash, int row) {
+        return (hash * SEEDS[row]) >>> shift;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void siftUp(int position) {
+        Counter counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(counter, position);
+    }
+
+    private void siftDown(int position) {
+        Counter counter = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(counter, position);
+    }
+
+    private void place(Counter counter, int position) {
+        heap[position] = counter;
+        counter.position = position;
+    }
+
+    private static final class Counter {
+        String key;
+        long count;
+        int position;
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Scope;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Signal;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Trigger;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Continuous detection of error and fraud rate anomalies, overall and per country and merchant, and of
+ * surges of individual error messages.
+ *
+ * Saves only increment striped {@link LongAdder} counters of the transaction's series. Once per
+ * {@code evaluate-interval-ms} those counts are drained into exponentially decayed sums over a short
+ * ({@code fast-window-seconds}) and a long ({@code baseline-window-seconds}) horizon, and every series
+ * is checked: a rate alert is raised when the short-window rate crosses its threshold, or when it is
+ * both {@code min-lift} times the baseline rate and {@code z-score} binomial standard deviations above
+ * it; an error message alert when its short-window count is as far above the count its baseline rate
+ * predicts (Poisson). Alerts resolve on the first evaluation where their condition no longer holds.
+ * The cost per save is constant and the cost per evaluation grows with the number of series, not with
+ * the transaction rate; series are capped at {@code max-series} per scope and dropped once idle.
+ */
+@Component
+public class TransactionAnomalyDetector implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionAnomalyDetector.class);
+
+    private static final String ALL = "all";
+
+    private final MeterRegistry meterRegistry;
+    private final double evaluateIntervalSeconds;
+    private final double fastWindowSeconds;
+    private final double baselineWindowSeconds;
+    private final double minEvents;
+    private final double errorRateThreshold;
+    private final double fraudRateThreshold;
+    private final double zScore;
+    private final double minLift;
+    private final int maxSeries;
+    private final int historySize;
+
+    private final Series all = new Series();
+    private final ConcurrentMap<String, Series> countries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Series> merchants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Series> errorMessages = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<AlertKey, ActiveAlert> active = new ConcurrentHashMap<>();
+    private final Deque<TransactionAlert> resolved = new ArrayDeque<>();
+
+    // Only touched by evaluate, which is synchronized
+    private long lastEvaluationNanos = 0;
+    private double ageSeconds = 0;
+    private volatile LocalDateTime evaluatedAt;
+
+    public TransactionAnomalyDetector(MeterRegistry meterRegistry,
+                                      @Value("${transaction.alerts.evaluate-interval-ms:1000}") long evaluateIntervalMs,
+                                      @Value("${transaction.alerts.fast-window-seconds:60}") double fastWindowSeconds,
+                                      @Value("${transaction.alerts.baseline-window-seconds:3600}") double baselineWindowSeconds,
+                                      @Value("${transaction.alerts.min-events:50}") double minEvents,
+                                      @Value("${transaction.alerts.error-rate-threshold:0.25}") double errorRateThreshold,
+                                      @Value("${transaction.alerts.fraud-rate-threshold:0.20}") double fraudRateThreshold,
+                                      @Value("${transaction.alerts.z-score:4.0}") double zScore,
+                                      @Value("${transaction.alerts.min-lift:2.0}") double minLift,
+                                      @Value("${transaction.alerts.max-series:10000}") int maxSeries,
+                                      @Value("${transaction.alerts.history:100}") int historySize) {
+        this.meterRegistry = meterRegistry;
+        this.evaluateIntervalSeconds = evaluateIntervalMs / 1000.0;
+        this.fastWindowSeconds = fastWindowSeconds;
+        this.baselineWindowSeconds = baselineWindowSeconds;
+        this.minEvents = minEvents;
+        this.errorRateThreshold = errorRateThreshold;
+        this.fraudRateThreshold = fraudRateThreshold;
+        this.zScore = zScore;
+        this.minLift = minLift;
+        this.maxSeries = maxSeries;
+        this.historySize = historySize;
+
+        Gauge.builder("transactions_alerts_active", active, Map::size)
+                .description("Anomaly alerts currently active")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        boolean fraudulent = transaction.isFraudulent();
+        boolean error = transaction.isError();
+        all.add(fraudulent, error);
+        Series country = series(countries, transaction.getCountry());
+        if (country != null) {
+            country.add(fraudulent, error);
+        }
+        Series merchant = series(merchants, transaction.getMerchantName());
+        if (merchant != null) {
+            merchant.add(fraudulent, error);
+        }
+        if (error) {
+            Series message = series(errorMessages, transaction.getErrorMessage());
+            if (message != null) {
+                message.add(false, true);
+            }
+        }
+    }
+
+    /**
+     * Active alerts, most recently raised first
+     */
+    public List<TransactionAlert> getActiveAlerts() {
+        List<TransactionAlert> alerts = new ArrayList<>();
+        active.values().forEach(alert -> alerts.add(alert.current));
+        alerts.sort(Comparator.comparing(TransactionAlert::raisedAt).reversed());
+        return alerts;
+    }
+
+    /**
+     * The last {@code history} resolved alerts, most recently resolved first
+     */
+    public synchronized List<TransactionAlert> getResolvedAlerts() {
+        return new ArrayList<>(resolved);
+    }
+
+    public LocalDateTime getEvaluatedAt() {
+        return evaluatedAt;
+    }
+
+    @Scheduled(fixedRateString = "${transaction.alerts.evaluate-interval-ms:1000}")
+    public synchronized void evaluate() {
+        long now = System.nanoTime();
+        double elapsedSeconds = lastEvaluationNanos == 0 ? evaluateIntervalSeconds : (now - lastEvaluationNanos) / 1e9;
+        lastEvaluationNanos = now;
+        evaluate(elapsedSeconds);
+    }
+
+    /**
+     * Fold the counts since the last evaluation into the decayed sums, elapsedSeconds later, and raise
+     * or resolve alerts
+     */
+    synchronized void evaluate(double elapsedSeconds) {
+        double fastDecay = Math.exp(-elapsedSeconds / fastWindowSeconds);
+        double baselineDecay = Math.exp(-elapsedSeconds / baselineWindowSeconds);
+        ageSeconds += elapsedSeconds;
+        LocalDateTime now = LocalDateTime.now();
+
+        all.drain(fastDecay, baselineDecay);
+        evaluateRates(Scope.ALL, ALL, all, now);
+        evaluateScope(Scope.COUNTRY, countries, fastDecay, baselineDecay, now);
+        evaluateScope(Scope.MERCHANT, merchants, fastDecay, baselineDecay, now);
+        evaluateScope(Scope.ERROR_MESSAGE, errorMessages, fastDecay, baselineDecay, now);
+        evaluatedAt = now;
+    }
+
+    private void evaluateScope(Scope scope, ConcurrentMap<String, Series> series, double fastDecay,
+                               double baselineDecay, LocalDateTime now) {
+        Iterator<Map.Entry<String, Series>> entries = series.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Series> entry = entries.next();
+            Series current = entry.getValue();
+            current.drain(fastDecay, baselineDecay);
+            if (scope == Scope.ERROR_MESSAGE) {
+                evaluateVolume(entry.getKey(), current, now);
+            } else {
+                evaluateRates(scope, entry.getKey(), current, now);
+            }
+            // A save racing with the removal of a series idle for the whole baseline window loses that one count
+            if (current.baselineTotal < 0.5 && current.baselineErrors < 0.5) {
+                entries.remove();
+            }
+        }
+    }
+
+    private void evaluateRates(Scope scope, String key, Series series, LocalDateTime now) {
+        evaluateRate(new AlertKey(scope, key, Signal.ERROR_RATE), series.fastErrors, series.baselineErrors,
+                series, errorRateThreshold, now);
+        evaluateRate(new AlertKey(scope, key, Signal.FRAUD_RATE), series.fastFraudulent, series.baselineFraudulent,
+                series, fraudRateThreshold, now);
+    }
+
+    private void evaluateRate(AlertKey key, double fastCount, double baselineCount, Series series, double threshold,
+                              LocalDateTime now) {
+        if (series.fastTotal < minEvents) {
+            update(key, null, 0, 0, 0, now);
+            return;
+        }
+        double observed = fastCount / series.fastTotal;
+        double baseline = baselineCount / series.baselineTotal;
+        // Binomial standard deviation of a rate over fastTotal events, with a floor so that a first error
+        // after a clean baseline does not divide by zero
+        double p = Math.min(Math.max(baseline, 0.5 / series.baselineTotal), 1.0);
+        double z = (observed - baseline) / Math.sqrt(Math.max(p * (1 - p), 1e-9) / series.fastTotal);
+
+        Trigger trigger = null;
+        if (observed >= threshold) {
+            trigger = Trigger.THRESHOLD;
+        } else if (warmedUp() && observed >= baseline * minLift && z >= zScore) {
+            trigger = Trigger.DEVIATION;
+        }
+        update(key, trigger, observed, baseline, z, now);
+    }
+
+    private void evaluateVolume(String message, Series series, LocalDateTime now) {
+        AlertKey key = new AlertKey(Scope.ERROR_MESSAGE, message, Signal.ERROR_VOLUME);
+        // Decayed sums only cover the detector's age until it reaches the window, so rates divide by that
+        double fastWindow = fastWindowSeconds * -Math.expm1(-ageSeconds / fastWindowSeconds);
+        double baselineWindow = baselineWindowSeconds * -Math.expm1(-ageSeconds / baselineWindowSeconds);
+        double observed = series.fastErrors / fastWindow;
+        double baseline = series.baselineErrors / baselineWindow;
+        double expected = baseline * fastWindow;
+        double z = (series.fastErrors - expected) / Math.sqrt(Math.max(expected, 1.0));
+
+        Trigger trigger = null;
+        if (warmedUp() && series.fastErrors >= minEvents && series.fastErrors >= expected * minLift && z >= zScore) {
+            trigger = Trigger.DEVIATION;
+        }
+        update(key, trigger, observed, baseline, z, now);
+    }
+
+    // Deviations need a baseline that spans at least one short window
+    private boolean warmedUp() {
+        return ageSeconds >= fastWindowSeconds;
+    }
+
+    private void update(AlertKey key, Trigger trigger, double observed, double baseline, double z, LocalDateTime now) {
+        ActiveAlert alert = active.get(key);
+        if (trigger == null) {
+            if (alert != null) {
+                active.remove(key);
+                meterRegistry.remove(alert.gauge);
+                TransactionAlert last = alert.current;
+                resolved.addFirst(new TransactionAlert(key.scope(), key.key(), key.signal(), last.trigger(),
+                        last.observed(), last.baseline(), last.zScore(), last.raisedAt(), now));
+                while (resolved.size() > historySize) {
+                    resolved.removeLast();
+                }
+                log.info("Alert resolved: {} {} {}", key.scope(), key.key(), key.signal());
+            }
+            return;
+        }
+
+        if (alert == null) {
+            alert = new ActiveAlert();
+            alert.current = new TransactionAlert(key.scope(), key.key(), key.signal(), trigger, observed, baseline, z,
+                    now, null);
+            alert.gauge = Gauge.builder("transactions_alert_observed", alert, a -> a.current.observed())
+                    .description("Current value of the signal behind an active anomaly alert")
+                    .tag("scope", key.scope().name())
+                    .tag("key", key.key())
+                    .tag("signal", key.signal().name())
+                    .register(meterRegistry);
+            active.put(key, alert);
+            log.warn("Alert raised: {} {} {} by {} (observed {}, baseline {}, z {})", key.scope(), key.key(),
+                    key.signal(), trigger, observed, baseline, z);
+        } else {
+            alert.current = new TransactionAlert(key.scope(), key.key(), key.signal(), trigger, observed, baseline, z,
+                    alert.current.raisedAt(), null);
+        }
+    }
+
+    private Series series(ConcurrentMap<String, Series> series, String key) {
+        if (key == null) {
+            return null;
+        }
+        Series existing = series.get(key);
+        if (existing != null || series.size() >= maxSeries) {
+            return existing;
+        }
+        return series.computeIfAbsent(key, k -> new Series());
+    }
+
+    private record AlertKey(Scope scope, String key, Signal signal) {
+    }
+
+    private static final class ActiveAlert {
+        volatile TransactionAlert current;
+        Gauge gauge;
+    }
+
+    private static final class Series {
+        final LongAdder total = new LongAdder();
+        final LongAdder fraudulent = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        // Counter values at the last drain, and exponentially decayed sums; only touched by evaluate
+        long drainedTotal;
+        long drainedFraudulent;
+        long drainedErrors;
+        double fastTotal;
+        double fastFraudulent;
+        double fastErrors;
+        double baselineTotal;
+        double baselineFraudulent;
+        double baselineErrors;
+
+        void add(boolean isFraudulent, boolean isError) {
+            total.increment();
+            if (isFraudulent) {
+                fraudulent.increment();
+            }
+            if (isError) {
+                errors.increment();
+            }
+        }
+
+        // Counters are read, not reset, so increments racing with a drain are counted by the next one
+        void drain(double fastDecay, double baselineDecay) {
+            long newTotal = total.sum() - drainedTotal;
+            long newFraudulent = fraudulent.sum() - drainedFraudulent;
+            long newErrors = errors.sum() - drainedErrors;
+            drainedTotal += newTotal;
+            drainedFraudulent += newFraudulent;
+            drainedErrors += newErrors;
+            fastTotal = fastTotal * fastDecay + newTotal;
+            fastFraudulent = fastFraudulent * fastDecay + newFraudulent;
+            fastErrors = fastErrors * fastDecay + newErrors;
+            baselineTotal = baselineTotal * baselineDecay + newTotal;
+            baselineFraudulent = baselineFraudulent * baselineDecay + newFraudulent;
+            baselineErrors = baselineErrors * baselineDecay + newErrors;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.AttributeConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached mapping between the names of the low-cardinality transaction columns and the integer keys of
+ * their dimension tables (db/migration/V5). The transactions table only stores the keys; the converters
+ * below translate on every write, read and query parameter, so the entity keeps its String fields while
+ * the SQL compares integers.
+ *
+ * Names are interned on first use: a name missing from the cache is looked up, and inserted when it is
+ * new, on the caller's transactional connection when there is one, so a Hibernate flush never waits for a
+ * second pooled connection. A key inserted inside a transaction is only visible to that transaction until
+ * it commits, and is forgotten if it rolls back. Writers call {@link #resolve(Transaction)} before opening
+ * their transaction, so new names are normally committed on their own and no transaction holds a lock on
+ * them. Keys never change once assigned, so entries are cached forever, except error messages: they are
+ * free text, so only the most recently used {@code transaction.dimensions.error-message-cache-size}
+ * are kept and the rest are looked up again.
+ */
+@Component
+public class TransactionDimensions {
+
+    public enum Dimension {
+        COUNTRY("countries"),
+        REGION("regions"),
+        CITY("cities"),
+        MERCHANT("merchants"),
+        TRANSACTION_TYPE("transaction_types"),
+        CURRENCY("currencies"),
+        ERROR_MESSAGE("error_messages");
+
+        private final String table;
+
+        Dimension(String table) {
+            this.table = table;
+        }
+
+        public String table() {
+            return table;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final Map<Dimension, Map<String, Integer>> ids = new EnumMap<>(Dimension.class);
+    private final Map<Dimension, Map<Integer, String>> names = new EnumMap<>(Dimension.class);
+
+    public TransactionDimensions(DataSource dataSource,
+                                 @Value("${transaction.dimensions.error-message-cache-size:10000}") long errorMessageCacheSize) {
+        this.dataSource = dataSource;
+        for (Dimension dimension : Dimension.values()) {
+            if (dimension == Dimension.ERROR_MESSAGE) {
+                // Evicted on the writing thread, so the bound holds as soon as put returns
+                ids.put(dimension, Caffeine.newBuilder().maximumSize(errorMessageCacheSize).executor(Runnable::run)
+                        .<String, Integer>build().asMap());
+                names.put(dimension, Caffeine.newBuilder().maximumSize(errorMessageCacheSize).executor(Runnable::run)
+                        .<Integer, String>build().asMap());
+            } else {
+                ids.put(dimension, new ConcurrentHashMap<>());
+                names.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Key of the name, adding it to the dimension table when it is new. In a read-only transaction nothing
+     * is added, and a new name has no key (null).
+     */
+    public Integer intern(Dimension dimension, String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(dimension).get(name);
+        return id != null ? id : load(dimension, name, !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    /**
+     * Intern every dimension value of the transaction. Called before the transaction that saves it, so the
+     * flush only reads the cache.
+     */
+    public void resolve(Transaction transaction) {
+        intern(Dimension.COUNTRY, transaction.getCountry());
+        intern(Dimension.REGION, transaction.getRegion());
+        intern(Dimension.CITY, transaction.getCity());
+        intern(Dimension.MERCHANT, transaction.getMerchantName());
+        intern(Dimension.TRANSACTION_TYPE, transaction.getTransactionType());
+        intern(Dimension.CURRENCY, transaction.getCurrency());
+        intern(Dimension.ERROR_MESSAGE, transaction.getErrorMessage());
+    }
+
+    /**
+     * Key of the name, or null when no transaction has ever used it
+     */
+    public Integer find(Dimension dimension, String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(dimension).get(name);
+        // Not cached as a miss: another instance may add the name at any time
+        return id != null ? id : load(dimension, name, false);
+    }
+
+    public String name(Dimension dimension, Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = names.get(dimension).get(id);
+        if (name == null) {
+            Pending pending = pending(false);
+            name = pending != null ? pending.names.get(dimension).get(id) : null;
+        }
+        return name != null ? name : loadName(dimension, id);
+    }
+
+    int cachedNames(Dimension dimension) {
+        return ids.get(dimension).size();
+    }
+
+    /**
+     * False when one of the filter's values has never been stored, so nothing can match it
+     */
+    public boolean canMatch(TransactionFilter filter) {
+        return known(Dimension.COUNTRY, filter.getCountry())
+                && known(Dimension.REGION, filter.getRegion())
+                && known(Dimension.CITY, filter.getCity())
+                && known(Dimension.MERCHANT, filter.getMerchantName())
+                && known(Dimension.TRANSACTION_TYPE, filter.getTransactionType())
+                && known(Dimension.CURRENCY, filter.getCurrency());
+    }
+
+    private boolean known(Dimension dimension, String name) {
+        return name == null || find(dimension, name) != null;
+    }
+
+    // Runs on the caller's transactional connection, or on a connection of its own that commits immediately
+    private Integer load(Dimension dimension, String name, boolean insert) {
+        Pending pending = pending(false);
+        Integer id = pending != null ? pending.ids.get(dimension).get(name) : null;
+        if (id != null) {
+            return id;
+        }
+        String insertSql = "INSERT INTO " + dimension.table() + " (name) VALUES (?) ON CONFLICT (name) DO NOTHING "
+                + "RETURNING id";
+        String selectSql = "SELECT id FROM " + dimension.table() + " WHERE name = ?";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            boolean inserted = false;
+            if (insert) {
+                id = queryKey(connection, insertSql, name);
+                inserted = id != null;
+            }
+            if (id == null) {
+                id = queryKey(connection, selectSql, name);
+            }
+            if (id != null) {
+                remember(dimension, name, id, inserted);
+            }
+            return id;
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Interning " + dimension.table(), insert ? insertSql : selectSql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static Integer queryKey(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : null;
+            }
+        }
+    }
+
+    private String loadName(Dimension dimension, Integer id) {
+        String sql = "SELECT name FROM " + dimension.table() + " WHERE id = ?";
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalStateException("No " + dimension.table() + " row with id " + id);
+                }
+                String name = resultSet.getString(1);
+                remember(dimension, name, id, false);
+                return name;
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Resolving " + dimension.table(), sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // A key this transaction inserted may still be rolled back, so it is shared only once the transaction commits
+    private void remember(Dimension dimension, String name, Integer id, boolean inserted) {
+        Pending pending = inserted ? pending(true) : null;
+        if (pending != null) {
+            pending.ids.get(dimension).put(name, id);
+            pending.names.get(dimension).put(id, name);
+        } else {
+            cache(dimension, name, id);
+        }
+    }
+
+    private void cache(Dimension dimension, String name, Integer id) {
+        ids.get(dimension).putIfAbsent(name, id);
+        names.get(dimension).putIfAbsent(id, name);
+    }
+
+    // Keys inserted by the current transaction, bound to it as a synchronization resource; null outside of one
+    private Pending pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionDimensions.this);
+                    if (status == STATUS_COMMITTED) {
+                        created.ids.forEach((dimension, keys) -> keys.forEach((name, id) -> cache(dimension, name, id)));
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private static final class Pending {
+        final Map<Dimension, Map<String, Integer>> ids = new EnumMap<>(Dimension.class);
+        final Map<Dimension, Map<Integer, String>> names = new EnumMap<>(Dimension.class);
+
+        Pending() {
+            for (Dimension dimension : Dimension.values()) {
+                ids.put(dimension, new HashMap<>());
+                names.put(dimension, new HashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Stores a column as its dimension key. Instantiated by Hibernate through Spring's bean container.
+     */
+    public abstract static class DimensionConverter implements AttributeConverter<String, Integer> {
+
+        private final TransactionDimensions dimensions;
+        private final Dimension dimension;
+
+        protected DimensionConverter(TransactionDimensions dimensions, Dimension dimension) {
+            this.dimensions = dimensions;
+            this.dimension = dimension;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String name) {
+            return dimensions.intern(dimension, name);
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer id) {
+            return dimensions.name(dimension, id);
+        }
+    }
+
+    public static class CountryConverter extends DimensionConverter {
+        public CountryConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.COUNTRY);
+        }
+    }
+
+    public static class RegionConverter extends DimensionConverter {
+        public RegionConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.REGION);
+        }
+    }
+
+    public static class CityConverter extends DimensionConverter {
+        public CityConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.CITY);
+        }
+    }
+
+    public static class MerchantConverter extends DimensionConverter {
+        public MerchantConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.MERCHANT);
+        }
+    }
+
+    public static class TransactionTypeConverter extends DimensionConverter {
+        public TransactionTypeConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.TRANSACTION_TYPE);
+        }
+    }
+
+    public static class CurrencyConverter extends DimensionConverter {
+        public CurrencyConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.CURRENCY);
+        }
+    }
+
+    public static class ErrorMessageConverter extends DimensionConverter {
+        public ErrorMessageConverter(TransactionDimensions dimensions) {
+            super(dimensions, Dimension.ERROR_MESSAGE);
+        }
+    }
+}
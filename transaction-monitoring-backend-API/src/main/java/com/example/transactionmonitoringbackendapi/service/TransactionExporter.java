@@ -0,0 +1,181 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import com.example.transactionmonitoringbackendapi.repository.TransactionSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every transaction matching a filter, newest first, as CSV or newline-delimited JSON.
+ *
+ * Rows are read through a forward-only cursor ({@code transaction.export.fetch-size} rows per round
+ * trip) and written straight to the output as they arrive, so memory stays flat whatever the number
+ * of rows. The read-only transaction, and its pooled connection, stay open until the client has
+ * received the last row.
+ */
+@Component
+public class TransactionExporter {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    static final String CSV_HEADER = "id,cardNumber,amount,currency,timestamp,merchantName,country,region,city," +
+            "transactionType,isFraudulent,isError,errorMessage";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionDimensions dimensions;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TransactionExporter(TransactionRepository transactionRepository, TransactionDimensions dimensions,
+                               TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                               @Value("${transaction.export.fetch-size:5000}") int fetchSize) {
+        this.transactionRepository = transactionRepository;
+        this.dimensions = dimensions;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write the matching transactions to the output; returns the number of rows written
+     */
+    public long export(TransactionFilter filter, Format format, OutputStream output) throws IOException {
+        try {
+            Long rows = readOnlyTemplate.execute(status -> {
+                // A filter value that was never stored matches nothing: only the header (if any) is written
+                try (Stream<TransactionView> views = dimensions.canMatch(filter)
+                        ? transactionRepository.streamViews(TransactionSpecifications.matching(filter),
+                                TransactionSpecifications.KEYSET_SORT, fetchSize)
+                        : Stream.empty()) {
+                    return format == Format.CSV ? writeCsv(views.iterator(), output) : writeNdjson(views.iterator(), output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            // Typically the client went away; rethrown as is so the caller can tell it from a query failure
+            throw e.getCause();
+        }
+    }
+
+    private long writeCsv(Iterator<TransactionView> views, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long rows = 0;
+        while (views.hasNext()) {
+            writeCsvRow(views.next(), writer);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    static void writeCsvRow(TransactionView view, Writer writer) throws IOException {
+        writer.write(Long.toString(view.id()));
+        writer.write(',');
+        writeCsvField(view.cardNumber(), writer);
+        writer.write(',');
+        writer.write(view.amount().toPlainString());
+        writer.write(',');
+        writeCsvField(view.currency(), writer);
+        writer.write(',');
+        writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(view.timestamp()));
+        writer.write(',');
+        writeCsvField(view.merchantName(), writer);
+        writer.write(',');
+        writeCsvField(view.country(), writer);
+        writer.write(',');
+        writeCsvField(view.region(), writer);
+        writer.write(',');
+        writeCsvField(view.city(), writer);
+        writer.write(',');
+        writeCsvField(view.transactionType(), writer);
+        writer.write(',');
+        writer.write(view.isFraudulent() ? "true" : "false");
+        writer.write(',');
+        writer.write(view.isError() ? "true" : "false");
+        writer.write(',');
+        writeCsvField(view.errorMessage(), writer);
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes; null is empty
+    private static void writeCsvField(String value, Writer writer) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Same field names and formats as the JSON listings, one object per line
+    private long writeNdjson(Iterator<TransactionView> views, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(TransactionView.class)
+                .withRootValueSeparator("\n")
+                .writeValues(generator)) {
+            while (views.hasNext()) {
+                writer.write(views.next());
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            output.write('\n');
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rule-based fraud scoring of each transaction on the ingest path, before it is saved. Every rule that
+ * fires adds its weight to the score, and a transaction scoring at least {@code transaction.fraud.threshold}
+ * is flagged fraudulent (a flag set by the client is kept either way):
+ * <ul>
+ *   <li>velocity: more than {@code velocity-limit} transactions on the card within {@code velocity-window-seconds}</li>
+ *   <li>geo jump: a different country than the card's previous transaction within {@code geo-window-seconds}</li>
+ *   <li>amount outlier: an amount at least {@code amount-z-score} standard deviations above the card's running
+ *       mean, once the card has {@code amount-min-history} transactions</li>
+ *   <li>risky merchant and type limit: configured merchants, and amounts above a per-type limit</li>
+ * </ul>
+ *
+ * Per-card state (the card's last velocity-limit timestamps, last country and running amount mean and
+ * variance) is kept in {@value #SHARDS} independently locked, access-ordered maps, so concurrent ingest
+ * threads rarely contend. Each shard holds its share of {@code max-cards} and evicts its least recently
+ * used card when full; cards idle for {@code idle-seconds} are dropped as new cards arrive. A card takes
+ * about 250 bytes, so the default 200,000 cards use about 50 MB. Time is the transactions' own timestamp.
+ */
+@Component
+public class TransactionFraudScorer {
+
+    public enum Rule {
+        VELOCITY(40),
+        GEO_JUMP(50),
+        AMOUNT_OUTLIER(30),
+        RISKY_MERCHANT(30),
+        TYPE_LIMIT(30);
+
+        static final Rule[] VALUES = values();
+
+        public final int weight;
+
+        Rule(int weight) {
+            this.weight = weight;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    // Enough that ingest threads rarely meet on the same lock
+    static final int SHARDS = 64;
+
+    private final boolean enabled;
+    private final int threshold;
+    private final long idleMillis;
+    private final int velocityLimit;
+    private final long velocityWindowMillis;
+    private final long geoWindowMillis;
+    private final double amountZScore;
+    private final int amountMinHistory;
+    private final Set<String> riskyMerchants;
+    private final Map<String, BigDecimal> typeLimits;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final StringDictionary countries = new StringDictionary();
+    private final Counter[] ruleCounters = new Counter[Rule.VALUES.length];
+    private final Counter flaggedCounter;
+
+    public TransactionFraudScorer(MeterRegistry meterRegistry,
+                                  @Value("${transaction.fraud.enabled:true}") boolean enabled,
+                                  @Value("${transaction.fraud.threshold:50}") int threshold,
+                                  @Value("${transaction.fraud.max-cards:200000}") int maxCards,
+                                  @Value("${transaction.fraud.idle-seconds:86400}") long idleSeconds,
+                                  @Value("${transaction.fraud.velocity-limit:5}") int velocityLimit,
+                                  @Value("${transaction.fraud.velocity-window-seconds:60}") long velocityWindowSeconds,
+                                  @Value("${transaction.fraud.geo-window-seconds:3600}") long geoWindowSeconds,
+                                  @Value("${transaction.fraud.amount-z-score:3.0}") double amountZScore,
+                                  @Value("${transaction.fraud.amount-min-history:5}") int amountMinHistory,
+                                  @Value("${transaction.fraud.risky-merchants:}") String riskyMerchants,
+                                  @Value("${transaction.fraud.type-limits:WITHDRAWAL:2000,TRANSFER:10000}") String typeLimits) {
+        if (maxCards < SHARDS || velocityLimit < 1 || amountMinHistory < 2) {
+            throw new IllegalArgumentException("transaction.fraud.max-cards must be at least " + SHARDS
+                    + ", velocity-limit at least 1 and amount-min-history at least 2");
+        }
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.idleMillis = idleSeconds * 1000;
+        this.velocityLimit = velocityLimit;
+        this.velocityWindowMillis = velocityWindowSeconds * 1000;
+        this.geoWindowMillis = geoWindowSeconds * 1000;
+        this.amountZScore = amountZScore;
+        this.amountMinHistory = amountMinHistory;
+        this.riskyMerchants = parseMerchants(riskyMerchants);
+        this.typeLimits = parseTypeLimits(typeLimits);
+
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(maxCards / SHARDS);
+        }
+        for (Rule rule : Rule.VALUES) {
+            ruleCounters[rule.ordinal()] = Counter.builder("transactions_fraud_rule_hits")
+                    .description("Transactions on which a fraud scoring rule fired")
+                    .tag("rule", rule.name())
+                    .register(meterRegistry);
+        }
+        this.flaggedCounter = Counter.builder("transactions_fraud_flagged")
+                .description("Transactions flagged fraudulent by the fraud scorer")
+                .register(meterRegistry);
+        Gauge.builder("transactions_fraud_tracked_cards", this, TransactionFraudScorer::trackedCards)
+                .description("Cards with fraud scoring state in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Score the transaction and flag it fraudulent when the score reaches the threshold. Returns the score.
+     */
+    public int apply(Transaction transaction) {
+        int score = score(transaction);
+        if (score >= threshold) {
+            if (!transaction.isFraudulent()) {
+                flaggedCounter.increment();
+            }
+            transaction.setFraudulent(true);
+        }
+        return score;
+    }
+
+    /**
+     * Sum of the weights of the rules the transaction fires, recording it in its card's state. Transactions
+     * without a card number or timestamp score 0.
+     */
+    public int score(Transaction transaction) {
+        String cardNumber = transaction.getCardNumber();
+        LocalDateTime timestamp = transaction.getTimestamp();
+        if (!enabled || cardNumber == null || timestamp == null) {
+            return 0;
+        }
+        long now = timestamp.toEpochSecond(ZoneOffset.UTC) * 1000 + timestamp.getNano() / 1_000_000;
+        BigDecimal amount = transaction.getAmount();
+        double value = amount != null ? amount.doubleValue() : Double.NaN;
+        int country = countries.encode(transaction.getCountry());
+
+        // Top 6 bits of the spread hash pick one of the 64 shards
+        Shard shard = shards[(cardNumber.hashCode() * 0x9E3779B9) >>> 26];
+        int fired;
+        synchronized (shard) {
+            CardState card = shard.get(cardNumber);
+            if (card == null) {
+                evictIdle(shard, now);
+                card = new CardState(velocityLimit);
+                shard.put(cardNumber, card);
+            }
+            fired = update(card, now, country, value);
+        }
+
+        if (transaction.getMerchantName() != null && riskyMerchants.contains(transaction.getMerchantName())) {
+            fired |= Rule.RISKY_MERCHANT.bit();
+        }
+        BigDecimal limit = transaction.getTransactionType() != null ? typeLimits.get(transaction.getTransactionType()) : null;
+        if (limit != null && amount != null && amount.compareTo(limit) > 0) {
+            fired |= Rule.TYPE_LIMIT.bit();
+        }
+
+        int score = 0;
+        for (Rule rule : Rule.VALUES) {
+            if ((fired & rule.bit()) != 0) {
+                score += rule.weight;
+                ruleCounters[rule.ordinal()].increment();
+            }
+        }
+        return score;
+    }
+
+    public int trackedCards() {
+        int cards = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                cards += shard.size();
+            }
+        }
+        return cards;
+    }
+
+    // Apply the per-card rules to a transaction, then add it to the card's state. Caller holds the shard lock.
+    private int update(CardState card, long now, int country, double amount) {
+        int fired = 0;
+
+        // The ring holds the card's last velocityLimit timestamps; the slot about to be overwritten is the
+        // oldest, so if it is inside the window this transaction makes velocityLimit + 1
+        if (card.count == card.recent.length && now - card.recent[card.next] <= velocityWindowMillis) {
+            fired |= Rule.VELOCITY.bit();
+        }
+        card.recent[card.next] = now;
+        card.next = (card.next + 1) % card.recent.length;
+        card.count = Math.min(card.count + 1, card.recent.length);
+
+        if (country != StringDictionary.NULL_CODE) {
+            if (card.lastCountry != StringDictionary.NULL_CODE && card.lastCountry != country
+                    && Math.abs(now - card.lastCountryMillis) <= geoWindowMillis) {
+                fired |= Rule.GEO_JUMP.bit();
+            }
+            card.lastCountry = country;
+            card.lastCountryMillis = now;
+        }
+
+        // Welford's running mean and variance of the card's amounts
+        if (!Double.isNaN(amount)) {
+            if (card.amounts >= amountMinHistory) {
+                double variance = card.m2 / (card.amounts - 1);
+                if (variance > 0 && amount - card.mean >= amountZScore * Math.sqrt(variance)) {
+                    fired |= Rule.AMOUNT_OUTLIER.bit();
+                }
+            }
+            card.amounts++;
+            double delta = amount - card.mean;
+            card.mean += delta / card.amounts;
+            card.m2 += delta * (amount - card.mean);
+        }
+
+        card.lastSeen = Math.max(card.lastSeen, now);
+        return fired;
+    }
+
+    // Drop idle cards from the least recently used end of the shard
+    private void evictIdle(Shard shard, long now) {
+        Iterator<CardState> cards = shard.values().iterator();
+        while (cards.hasNext()) {
+            if (now - cards.next().lastSeen <= idleMillis) {
+                break;
+            }
+            cards.remove();
+        }
+    }
+
+    private static Set<String> parseMerchants(String merchants) {
+        Set<String> names = new HashSet<>();
+        for (String name : merchants.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    // "WITHDRAWAL:2000,TRANSFER:10000"
+    private static Map<String, BigDecimal> parseTypeLimits(String limits) {
+        Map<String, BigDecimal> parsed = new HashMap<>();
+        for (String entry : limits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.lastIndexOf(':');
+            try {
+                parsed.put(entry.substring(0, colon).trim(), new BigDecimal(entry.substring(colon + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid transaction.fraud.type-limits entry: " + entry);
+            }
+        }
+        return parsed;
+    }
+
+    private static final class CardState {
+        final long[] recent;
+        int next;
+        int count;
+        int lastCountry = StringDictionary.NULL_CODE;
+        long lastCountryMillis;
+        long amounts;
+        double mean;
+        double m2;
+        long lastSeen = Long.MIN_VALUE;
+
+        CardState(int velocityLimit) {
+            this.recent = new long[velocityLimit];
+        }
+    }
+
+    private static final class Shard extends LinkedHashMap<String, CardState> {
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CardState> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionGeoRollup;
+import com.example.transactionmonitoringbackendapi.repository.TransactionGeoRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory country → region → city counter tree behind the geo-distribution chart.
+ *
+ * Every level keeps its own striped {@link LongAdder} counters, so concurrent saves do not contend
+ * and a query at any level only walks that level's nodes. The city leaves are snapshotted to
+ * {@code transaction_geo_rollups} as additive deltas and loaded back on startup; a crash loses at
+ * most one snapshot interval.
+ */
+@Component
+public class TransactionGeoCounters implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionGeoCounters.class);
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final TransactionGeoRollupRepository geoRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<String, Node> countries = new ConcurrentHashMap<>();
+
+    // Snapshots are skipped until the stored counts have been loaded, so they are never written twice
+    private volatile boolean loaded = false;
+
+    public TransactionGeoCounters(TransactionGeoRollupRepository geoRollupRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.geoRollupRepository = geoRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Add the stored city counts to the tree. Transactions saved before this ran are already in the
+     * tree and not yet in the table, so both are simply summed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<TransactionGeoRollup> rows = geoRollupRepository.findAll();
+        for (TransactionGeoRollup row : rows) {
+            long cents = toCents(row.getTotalAmount());
+            Node city = add(row.getCountry(), row.getRegion(), row.getCity(),
+                    row.getTotalCount(), row.getFraudCount(), row.getErrorCount(), cents);
+            // Loaded counts are already persisted
+            city.markFlushed(row.getTotalCount(), row.getFraudCount(), row.getErrorCount(), cents);
+        }
+        loaded = true;
+        log.info("Geo counters loaded {} cities", rows.size());
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        record(transaction, 1);
+    }
+
+    @Override
+    public void onTransactionDeleted(Transaction transaction) {
+        record(transaction, -1);
+    }
+
+    @Override
+    public void onTransactionsImported(ImportedBatch batch) {
+        for (ImportedBatch.CityTotals city : batch.cities()) {
+            add(city.country(), city.region(), city.city(), city.total(), city.fraudulent(), city.errors(),
+                    city.amountCents()).dirty = true;
+        }
+    }
+
+    /**
+     * Upsert what every changed city gained since its last snapshot. A failed snapshot leaves the
+     * flushed marks untouched and re-marks the cities, so the same deltas are written on the next run.
+     */
+    @Scheduled(fixedDelayString = "${transaction.geo.snapshot-interval-ms:30000}")
+    @PreDestroy
+    public synchronized void snapshot() {
+        if (!loaded) {
+            return;
+        }
+
+        List<CitySnapshot> changed = new ArrayList<>();
+        countries.forEach((country, countryNode) -> countryNode.children.forEach((region, regionNode) ->
+                regionNode.children.forEach((city, cityNode) -> {
+                    CitySnapshot snapshot = cityNode.takeSnapshot(country, region, city);
+                    if (snapshot != null) {
+                        changed.add(snapshot);
+                    }
+                })));
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // Upsert in key order so concurrent snapshots from several instances cannot deadlock
+        changed.sort(Comparator.comparing(CitySnapshot::country).thenComparing(CitySnapshot::region)
+                .thenComparing(CitySnapshot::city));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (CitySnapshot snapshot : changed) {
+                    geoRollupRepository.addToLocation(snapshot.country(), snapshot.region(), snapshot.city(),
+                            snapshot.total(), snapshot.fraudulent(), snapshot.errors(),
+                            BigDecimal.valueOf(snapshot.amountCents(), 2));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Geo snapshot of {} cities failed, retrying on next run", changed.size(), e);
+            changed.forEach(snapshot -> snapshot.node().dirty = true);
+            return;
+        }
+        for (CitySnapshot snapshot : changed) {
+            snapshot.node().markFlushed(snapshot.total(), snapshot.fraudulent(), snapshot.errors(),
+                    snapshot.amountCents());
+        }
+    }
+
+    /**
+     * Counts per country, region or city, largest first. Regions and cities that share a name across
+     * countries are reported together, as the chart only shows the name.
+     */
+    public List<GeoDistributionDataPoint> getDistribution(String viewBy) {
+        Map<String, GeoDistributionDataPoint> byName = new HashMap<>();
+        switch (viewBy.toLowerCase()) {
+            case "country" -> countries.forEach((name, node) -> merge(byName, name, node));
+            case "region" -> countries.values().forEach(country ->
+                    country.children.forEach((name, node) -> merge(byName, name, node)));
+            case "city" -> countries.values().forEach(country -> country.children.values().forEach(region ->
+                    region.children.forEach((name, node) -> merge(byName, name, node))));
+            default -> throw new IllegalArgumentException("viewBy must be one of country, region or city");
+        }
+
+        List<GeoDistributionDataPoint> points = new ArrayList<>(byName.values());
+        points.sort(Comparator.comparingLong(GeoDistributionDataPoint::transactions).reversed());
+        return points;
+    }
+
+    private void record(Transaction transaction, int sign) {
+        long cents = sign * toCents(transaction.getAmount());
+        Node city = add(orUnknown(transaction.getCountry()), orUnknown(transaction.getRegion()),
+                orUnknown(transaction.getCity()), sign,
+                transaction.isFraudulent() ? sign : 0, transaction.isError() ? sign : 0, cents);
+        city.dirty = true;
+    }
+
+    private Node add(String country, String region, String city, long total, long fraudulent, long errors, long cents) {
+        Node countryNode = countries.computeIfAbsent(country, key -> new Node());
+        Node regionNode = countryNode.children.computeIfAbsent(region, key -> new Node());
+        Node cityNode = regionNode.children.computeIfAbsent(city, key -> new Node());
+        countryNode.add(total, fraudulent, errors, cents);
+        regionNode.add(total, fraudulent, errors, cents);
+        cityNode.add(total, fraudulent, errors, cents);
+        return cityNode;
+    }
+
+    private static void merge(Map<String, GeoDistributionDataPoint> byName, String name, Node node) {
+        GeoDistributionDataPoint point = new GeoDistributionDataPoint(name, node.total.sum(),
+                node.fraudulent.sum(), node.errors.sum(), BigDecimal.valueOf(node.amountCents.sum(), 2));
+        byName.merge(name, point, (a, b) -> new GeoDistributionDataPoint(name,
+                a.transactions() + b.transactions(), a.fraudulent() + b.fraudulent(),
+                a.error() + b.error(), a.totalAmount().add(b.totalAmount())));
+    }
+
+    private static String orUnknown(String value) {
+        return value == null ? UNKNOWN : value;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private record CitySnapshot(Node node, String country, String region, String city,
+                                long total, long fraudulent, long errors, long amountCents) {
+    }
+
+    private static final class Node {
+        final LongAdder total = new LongAdder();
+        final LongAdder fraudulent = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder amountCents = new LongAdder();
+        final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+
+        // City leaves only: set after every update, cleared when a snapshot picks the node up
+        volatile boolean dirty;
+
+        // Values already written to the table; only touched by the snapshot thread
+        long flushedTotal;
+        long flushedFraudulent;
+        long flushedErrors;
+        long flushedAmountCents;
+
+        void add(long total, long fraudulent, long errors, long cents) {
+            this.total.add(total);
+            this.fraudulent.add(fraudulent);
+            this.errors.add(errors);
+            this.amountCents.add(cents);
+        }
+
+        // Clearing the flag before reading means an update racing with the read re-marks the node
+        CitySnapshot takeSnapshot(String country, String region, String city) {
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            return new CitySnapshot(this, country, region, city,
+                    total.sum() - flushedTotal, fraudulent.sum() - flushedFraudulent,
+                    errors.sum() - flushedErrors, amountCents.sum() - flushedAmountCents);
+        }
+
+        void markFlushed(long total, long fraudulent, long errors, long cents) {
+            flushedTotal += total;
+            flushedFraudulent += fraudulent;
+            flushedErrors += errors;
+            flushedAmountCents += cents;
+        }
+    }
+}
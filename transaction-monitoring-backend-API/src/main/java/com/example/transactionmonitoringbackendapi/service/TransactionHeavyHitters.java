@@ -0,0 +1,179 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.HeavyHittersResponse;
+import com.example.transactionmonitoringbackendapi.dto.HeavyHittersResponse.HeavyHitter;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming top-K of merchants, card numbers, cities and error messages over recent time windows,
+ * behind {@code /api/transactions/top}.
+ *
+ * Each field has a ring of {@code slots} time slots of {@code slot-seconds}, each holding a
+ * {@link TopKSketch} of the transactions whose timestamp falls in it; a slot is cleared and reused once
+ * its time has passed out of the ring. A query combines the slots of the window: the candidates are
+ * the keys any of them monitors, and each candidate's count is the sum of its per-slot estimates.
+ * Memory is fixed at about {@code 4 * depth * width} bytes plus {@code capacity} keys per slot and
+ * field (8 MB with the defaults), whatever the volume or the number of distinct values.
+ */
+@Component
+public class TransactionHeavyHitters implements TransactionListener {
+
+    public enum Dimension {
+        MERCHANT,
+        CARD,
+        CITY,
+        ERROR_MESSAGE;
+
+        static final Dimension[] VALUES = values();
+
+        public static Dimension from(String name) {
+            String normalized = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            return switch (normalized) {
+                case "MERCHANT", "MERCHANTNAME", "MERCHANT_NAME" -> MERCHANT;
+                case "CARD", "CARDNUMBER", "CARD_NUMBER" -> CARD;
+                case "CITY" -> CITY;
+                case "ERROR", "ERRORMESSAGE", "ERROR_MESSAGE" -> ERROR_MESSAGE;
+                default -> throw new IllegalArgumentException("Unknown dimension: " + name
+                        + " (expected merchant, card, city or errorMessage)");
+            };
+        }
+    }
+
+    private final int slotSeconds;
+    private final int capacity;
+    private final Slot[][] slots;
+
+    public TransactionHeavyHitters(@Value("${transaction.top.slot-seconds:60}") int slotSeconds,
+                                   @Value("${transaction.top.slots:60}") int slotCount,
+                                   @Value("${transaction.top.capacity:100}") int capacity,
+                                   @Value("${transaction.top.sketch-width:2048}") int sketchWidth,
+                                   @Value("${transaction.top.sketch-depth:4}") int sketchDepth) {
+        this.slotSeconds = slotSeconds;
+        this.capacity = capacity;
+        this.slots = new Slot[Dimension.VALUES.length][slotCount];
+        for (Slot[] ring : slots) {
+            for (int i = 0; i < slotCount; i++) {
+                ring[i] = new Slot(new TopKSketch(sketchWidth, sketchDepth, capacity));
+            }
+        }
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        if (transaction.getTimestamp() == null) {
+            return;
+        }
+        // Timestamps ahead of the clock would claim slots before their time, so they count as now
+        long period = Math.min(period(transaction.getTimestamp()), period(LocalDateTime.now()));
+        add(Dimension.MERCHANT, period, transaction.getMerchantName());
+        add(Dimension.CARD, period, transaction.getCardNumber());
+        add(Dimension.CITY, period, transaction.getCity());
+        add(Dimension.ERROR_MESSAGE, period, transaction.getErrorMessage());
+    }
+
+    /**
+     * The k most frequent values of the dimension over the last windowMinutes (sliding, to the slot), or
+     * since the start of the current windowMinutes-long window aligned on the epoch (tumbling)
+     */
+    public HeavyHittersResponse top(Dimension dimension, int k, int windowMinutes, boolean tumbling) {
+        long windowSeconds = windowMinutes * 60L;
+        Slot[] ring = slots[dimension.ordinal()];
+        if (k < 1 || k > capacity) {
+            throw new IllegalArgumentException("k must be between 1 and " + capacity);
+        }
+        if (windowMinutes < 1 || windowSeconds % slotSeconds != 0 || windowSeconds > (long) ring.length * slotSeconds) {
+            throw new IllegalArgumentException("windowMinutes must be a multiple of " + slotSeconds
+                    + " seconds and at most " + (long) ring.length * slotSeconds / 60 + " minutes");
+        }
+
+        long nowSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        long lastPeriod = Math.floorDiv(nowSecond, slotSeconds);
+        long fromSecond = tumbling
+                ? Math.floorDiv(nowSecond, windowSeconds) * windowSeconds
+                : (lastPeriod + 1) * slotSeconds - windowSeconds;
+        long firstPeriod = Math.floorDiv(fromSecond, slotSeconds);
+
+        Set<String> candidates = new HashSet<>();
+        for (long period = firstPeriod; period <= lastPeriod; period++) {
+            Slot slot = ring[slotIndex(ring, period)];
+            synchronized (slot) {
+                if (slot.period == period) {
+                    slot.sketch.collectKeys(candidates);
+                }
+            }
+        }
+
+        long total = 0;
+        Map<String, Long> counts = new HashMap<>();
+        for (long period = firstPeriod; period <= lastPeriod; period++) {
+            Slot slot = ring[slotIndex(ring, period)];
+            synchronized (slot) {
+                if (slot.period != period) {
+                    continue;
+                }
+                total += slot.sketch.total();
+                for (String key : candidates) {
+                    long estimate = slot.sketch.estimate(key);
+                    if (estimate > 0) {
+                        counts.merge(key, estimate, Long::sum);
+                    }
+                }
+            }
+        }
+
+        List<HeavyHitter> items = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> items.add(new HeavyHitter(key, count)));
+        items.sort((a, b) -> a.count() != b.count() ? Long.compare(b.count(), a.count()) : a.key().compareTo(b.key()));
+        return new HeavyHittersResponse(dimension.name(), tumbling ? "tumbling" : "sliding",
+                LocalDateTime.ofEpochSecond(fromSecond, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(nowSecond, 0, ZoneOffset.UTC),
+                total, items.subList(0, Math.min(k, items.size())));
+    }
+
+    private void add(Dimension dimension, long period, String key) {
+        if (key == null) {
+            return;
+        }
+        Slot[] ring = slots[dimension.ordinal()];
+        Slot slot = ring[slotIndex(ring, period)];
+        synchronized (slot) {
+            if (slot.period < period) {
+                slot.sketch.clear();
+                slot.period = period;
+            } else if (slot.period > period) {
+                // Older than the ring
+                return;
+            }
+            slot.sketch.add(key);
+        }
+    }
+
+    private long period(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), slotSeconds);
+    }
+
+    private static int slotIndex(Slot[] ring, long period) {
+        return (int) Math.floorMod(period, ring.length);
+    }
+
+    private static final class Slot {
+        final TopKSketch sketch;
+        long period = Long.MIN_VALUE;
+
+        Slot(TopKSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-process columnar copy of the most recent transactions, used to answer listings and counts over
+ * the recent window without touching PostgreSQL.
+ *
+ * Rows are stored struct-of-arrays in fixed-size chunks: id, timestamp (epoch microseconds, the
+ * column's precision, so cursors stay exact), amount in cents and card number as {@code long[]};
+ * country, region, city, merchant, type and currency as dictionary codes in {@code int[]}; the error
+ * message as a reference in a {@code String[]}; fraud, error and deleted flags as bitsets. That is
+ * 32 + 24 + 4 bytes and 3 bits per row with compressed references, so about 60 MB per million
+ * transactions, against several hundred bytes for an entity. On top of that come the text of each
+ * error message (shared when rows hold the same instance) and card numbers that are not 16 digits,
+ * kept as strings on the side; both are released with their chunk. The six dictionaries are never
+ * shrunk, but they only hold the distinct dimension values seen since startup, a subset of the
+ * dimension tables. Error messages are free text and therefore not dictionary-encoded.
+ *
+ * The window always contains every transaction with a timestamp at or after {@link #coverageStart()}:
+ * it is loaded from the database at startup, then appended to after each commit and trimmed a chunk
+ * at a time once chunks fall out of {@code transaction.hot-window.hours} or exceed {@code max-rows}.
+ * Queries return empty when they cannot be answered exactly from that range, and callers fall back
+ * to the database. Scans of large windows are split across chunks on the common fork-join pool.
+ * Like the other listeners, rows are treated as immutable once saved.
+ */
+// Notified before TransactionReadCache bumps its generations, so a page cached under a new
+// generation is never built from a window that has not seen the change yet
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionHotWindow implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionHotWindow.class);
+
+    static final int CHUNK_SIZE = 1 << 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int MAX_RESULT_ROWS = 10_000;
+    private static final long NO_CARD_DIGITS = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final boolean enabled;
+    private final Duration window;
+    private final long maxRows;
+
+    private final StringDictionary countries = new StringDictionary();
+    private final StringDictionary regions = new StringDictionary();
+    private final StringDictionary cities = new StringDictionary();
+    private final StringDictionary merchants = new StringDictionary();
+    private final StringDictionary types = new StringDictionary();
+    private final StringDictionary currencies = new StringDictionary();
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    // Every transaction at or after this timestamp is in the window; raised whenever rows are dropped
+    private volatile long gapMicros = Long.MIN_VALUE;
+    private volatile boolean ready = false;
+    // Changes received while the startup load runs; null once the window is live or disabled
+    private List<Object[]> pending;
+
+    /**
+     * Totals of the transactions matching a filter
+     */
+    public record Counts(long total, long fraudulent, long errors, long amountCents) {
+
+        static final Counts ZERO = new Counts(0, 0, 0, 0);
+
+        Counts plus(Counts other) {
+            return new Counts(total + other.total, fraudulent + other.fraudulent, errors + other.errors,
+                    amountCents + other.amountCents);
+        }
+
+        public BigDecimal totalAmount() {
+            return BigDecimal.valueOf(amountCents, 2);
+        }
+    }
+
+    static final class Chunk {
+        final long[] ids = new long[CHUNK_SIZE];
+        final long[] timestamps = new long[CHUNK_SIZE];
+        final long[] amountCents = new long[CHUNK_SIZE];
+        final long[] cardNumbers = new long[CHUNK_SIZE];
+        final int[] countries = new int[CHUNK_SIZE];
+        final int[] regions = new int[CHUNK_SIZE];
+        final int[] cities = new int[CHUNK_SIZE];
+        final int[] merchants = new int[CHUNK_SIZE];
+        final int[] types = new int[CHUNK_SIZE];
+        final int[] currencies = new int[CHUNK_SIZE];
+        final String[] errorMessages = new String[CHUNK_SIZE];
+        final long[] fraudulent = new long[CHUNK_SIZE / 64];
+        final long[] errors = new long[CHUNK_SIZE / 64];
+        final long[] deleted = new long[CHUNK_SIZE / 64];
+        final ConcurrentHashMap<Integer, String> otherCardNumbers = new ConcurrentHashMap<>();
+
+        // Written by the appending thread before size, so readers that read size first see the row
+        volatile int size = 0;
+        volatile long minTimestamp = Long.MAX_VALUE;
+        volatile long maxTimestamp = Long.MIN_VALUE;
+
+        boolean isSet(long[] bits, int row) {
+            return (bits[row >>> 6] & (1L << row)) != 0;
+        }
+    }
+
+    // Filter criteria translated to codes, cents and microseconds; impossible = no row can match
+    private record Criteria(int country, int region, int city, int merchant, int type, int currency,
+                            long minCents, long maxCents, long fromMicros, long toMicros,
+                            Boolean fraudulent, Boolean error, boolean impossible) {
+    }
+
+    private record Hit(Chunk chunk, int row, long timestamp, long id) {
+    }
+
+    // Newest first, id breaking ties, like TransactionSpecifications.KEYSET_SORT
+    private static final Comparator<Hit> NEWEST_FIRST =
+            Comparator.comparingLong(Hit::timestamp).thenComparingLong(Hit::id).reversed();
+
+    public TransactionHotWindow(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                @Value("${transaction.hot-window.enabled:true}") boolean enabled,
+                                @Value("${transaction.hot-window.hours:24}") long hours,
+                                @Value("${transaction.hot-window.max-rows:5000000}") long maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.window = Duration.ofHours(hours);
+        this.maxRows = maxRows;
+        this.pending = enabled ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Load the window from the database on a background thread; queries fall back until it is done
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofPlatform().name("hot-window-loader").daemon().start(() -> {
+            try {
+                loadFromDatabase();
+            } catch (RuntimeException e) {
+                log.error("Loading the transaction hot window failed; queries keep using the database", e);
+                synchronized (this) {
+                    pending = null;
+                    chunks = new Chunk[0];
+                }
+            }
+        });
+    }
+
+    void loadFromDatabase() {
+        long startNanos = System.nanoTime();
+        LocalDateTime from = LocalDateTime.now().minus(window);
+        long[] loaded = {0, Long.MAX_VALUE};
+        readOnlyTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT t.id, t.card_number, t.amount, cu.name, t.timestamp, m.name, co.name, r.name, ci.name, " +
+                            "ty.name, t.is_fraudulent, t.is_error, e.name FROM transactions t " +
+                            "JOIN currencies cu ON cu.id = t.currency_id JOIN merchants m ON m.id = t.merchant_id " +
+                            "JOIN countries co ON co.id = t.country_id JOIN regions r ON r.id = t.region_id " +
+                            "JOIN cities ci ON ci.id = t.city_id JOIN transaction_types ty ON ty.id = t.transaction_type_id " +
+                            "LEFT JOIN error_messages e ON e.id = t.error_message_id " +
+                            "WHERE t.timestamp >= ? ORDER BY t.timestamp DESC LIMIT ?");
+            statement.setFetchSize(10_000);
+            statement.setObject(1, from);
+            statement.setLong(2, maxRows);
+            return statement;
+        }, rs -> {
+            Transaction transaction = new Transaction(rs.getString(2), rs.getBigDecimal(3), rs.getString(4),
+                    rs.getObject(5, LocalDateTime.class), rs.getString(6), rs.getString(7), rs.getString(8),
+                    rs.getString(9), rs.getString(10), rs.getBoolean(11), rs.getBoolean(12), rs.getString(13));
+            transaction.setId(rs.getLong(1));
+            synchronized (this) {
+                append(transaction);
+            }
+            loaded[0]++;
+            loaded[1] = Math.min(loaded[1], toMicros(transaction.getTimestamp()));
+        }));
+
+        // At the row cap, rows sharing the oldest loaded timestamp may be missing
+        completeLoad(loaded[0] == maxRows ? loaded[1] + 1 : toMicros(from));
+        log.info("Transaction hot window loaded {} rows in {} ms", loaded[0],
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Apply the changes received during the load and start serving queries for timestamps from coverageMicros
+     */
+    synchronized void completeLoad(long coverageMicros) {
+        gapMicros = Math.max(gapMicros, coverageMicros);
+        replayPending();
+        ready = true;
+    }
+
+    // Changes committed during the load may also be in its result; skip the ones already loaded
+    private void replayPending() {
+        Set<Long> pendingIds = new HashSet<>();
+        for (Object[] change : pending) {
+            pendingIds.add(((Transaction) change[0]).getId());
+        }
+        Set<Long> alreadyLoaded = new HashSet<>();
+        for (Chunk chunk : chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                if (pendingIds.contains(chunk.ids[row])) {
+                    alreadyLoaded.add(chunk.ids[row]);
+                }
+            }
+        }
+        for (Object[] change : pending) {
+            Transaction transaction = (Transaction) change[0];
+            if ((Boolean) change[1]) {
+                markDeleted(transaction);
+            } else if (!alreadyLoaded.contains(transaction.getId())) {
+                append(transaction);
+            }
+        }
+        pending = null;
+    }
+
+    @Override
+    public synchronized void onTransactionSaved(Transaction transaction) {
+        if (pending != null) {
+            pending.add(new Object[]{transaction, false});
+            return;
+        }
+        if (ready) {
+            append(transaction);
+        }
+    }
+
+    @Override
+    public synchronized void onTransactionDeleted(Transaction transaction) {
+        if (pending != null) {
+            pending.add(new Object[]{transaction, true});
+        } else if (ready) {
+            markDeleted(transaction);
+        }
+    }
+
+    // Imported rows are not copied into the chunks: stop covering their timestamps instead. Also applies
+    // while loading, since completeLoad only ever raises the gap.
+    @Override
+    public synchronized void onTransactionsImported(ImportedBatch batch) {
+        if (batch.latest() != null) {
+            gapMicros = Math.max(gapMicros, toMicros(batch.latest()) + 1);
+        }
+    }
+
+    /**
+     * Drop chunks that are entirely outside the window, then the oldest ones beyond the row cap
+     */
+    @Scheduled(fixedDelayString = "${transaction.hot-window.evict-interval-ms:60000}")
+    public synchronized void evict() {
+        if (!ready) {
+            return;
+        }
+        long cutoff = toMicros(LocalDateTime.now().minus(window));
+        // The last chunk is the one being appended to and always stays
+        Chunk[] current = chunks;
+        List<Chunk> candidates = new ArrayList<>(Arrays.asList(current).subList(0, Math.max(0, current.length - 1)));
+        candidates.sort(Comparator.comparingLong(chunk -> chunk.maxTimestamp));
+        long rows = Arrays.stream(current).mapToLong(chunk -> chunk.size).sum();
+        Set<Chunk> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Chunk chunk : candidates) {
+            if (chunk.maxTimestamp >= cutoff && rows <= maxRows) {
+                break;
+            }
+            evicted.add(chunk);
+            rows -= chunk.size;
+            // Rows at the evicted chunk's newest timestamp may remain in other chunks, so cover strictly after it
+            gapMicros = Math.max(gapMicros, chunk.maxTimestamp + 1);
+        }
+        if (!evicted.isEmpty()) {
+            chunks = Arrays.stream(current).filter(chunk -> !evicted.contains(chunk)).toArray(Chunk[]::new);
+        }
+    }
+
+    /**
+     * Earliest timestamp from which the window holds every transaction, or null while it is loading
+     */
+    public LocalDateTime coverageStart() {
+        return ready ? fromMicros(gapMicros) : null;
+    }
+
+    /**
+     * Counts and amount of the matching transactions, when the filter's time range lies inside the window
+     */
+    public Optional<Counts> count(TransactionFilter filter) {
+        Long coverage = coverageMicros();
+        if (coverage == null || filter.getStartTime() == null || toMicros(filter.getStartTime()) < coverage) {
+            return Optional.empty();
+        }
+        Criteria criteria = criteria(filter, coverage);
+        if (criteria.impossible()) {
+            return Optional.of(Counts.ZERO);
+        }
+        Chunk[] snapshot = chunks;
+        Stream<Chunk> stream = Arrays.stream(snapshot);
+        if (Arrays.stream(snapshot).mapToLong(chunk -> chunk.size).sum() >= PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        return Optional.of(stream.map(chunk -> countChunk(chunk, criteria)).reduce(Counts.ZERO, Counts::plus));
+    }
+
+    /**
+     * Newest-first keyset slice after the cursor (null for the first slice), when it can be answered exactly
+     */
+    public Optional<Slice<TransactionView>> newest(TransactionFilter filter, TransactionCursor after, int size) {
+        Long coverage = coverageMicros();
+        if (coverage == null || size + 1 > MAX_RESULT_ROWS) {
+            return Optional.empty();
+        }
+        Criteria criteria = criteria(filter, coverage);
+        long beforeMicros = after != null ? toMicros(after.timestamp()) : Long.MAX_VALUE;
+        long beforeId = after != null ? after.id() : Long.MAX_VALUE;
+        List<Hit> hits = criteria.impossible() ? List.of() : top(criteria, size + 1, beforeMicros, beforeId);
+
+        // Fewer rows than asked for is only the full answer when nothing older than the window could match
+        boolean complete = filter.getStartTime() != null && toMicros(filter.getStartTime()) >= coverage;
+        if (hits.size() <= size && !complete) {
+            return Optional.empty();
+        }
+        boolean hasNext = hits.size() > size;
+        List<TransactionView> content = views(hasNext ? hits.subList(0, size) : hits);
+        Sort sort = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+        return Optional.of(new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext));
+    }
+
+    /**
+     * Page sorted by timestamp, when the filter's time range lies inside the window
+     */
+    public Optional<Page<TransactionView>> page(TransactionFilter filter, Pageable pageable) {
+        Long coverage = coverageMicros();
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (coverage == null || pageable.isUnpaged() || orders.size() != 1
+                || !orders.get(0).getProperty().equals("timestamp")
+                || pageable.getOffset() + pageable.getPageSize() > MAX_RESULT_ROWS
+                || filter.getStartTime() == null || toMicros(filter.getStartTime()) < coverage) {
+            return Optional.empty();
+        }
+        Criteria criteria = criteria(filter, coverage);
+        if (criteria.impossible()) {
+            return Optional.of(new PageImpl<>(List.of(), pageable, 0));
+        }
+        long total = count(filter).map(Counts::total).orElse(0L);
+        int wanted = (int) pageable.getOffset() + pageable.getPageSize();
+        List<Hit> hits;
+        if (orders.get(0).isDescending()) {
+            hits = top(criteria, wanted, Long.MAX_VALUE, Long.MAX_VALUE);
+        } else {
+            // Oldest first: the oldest rows are in the window only because the whole range is covered
+            hits = oldest(criteria, wanted);
+        }
+        List<Hit> pageHits = hits.size() > pageable.getOffset()
+                ? hits.subList((int) pageable.getOffset(), hits.size())
+                : List.of();
+        return Optional.of(new PageImpl<>(views(pageHits), pageable, total));
+    }
+
+    private void append(Transaction transaction) {
+        Chunk[] current = chunks;
+        Chunk chunk = current.length == 0 ? null : current[current.length - 1];
+        if (chunk == null || chunk.size == CHUNK_SIZE) {
+            chunk = new Chunk();
+            Chunk[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = chunk;
+            chunks = grown;
+        }
+        int row = chunk.size;
+        long timestamp = toMicros(transaction.getTimestamp());
+        try {
+            chunk.amountCents[row] = transaction.getAmount().setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            // Too large for cents in a long; leave it out and stop covering its timestamp
+            gapMicros = Math.max(gapMicros, timestamp + 1);
+            return;
+        }
+        chunk.ids[row] = transaction.getId();
+        chunk.timestamps[row] = timestamp;
+        long digits = cardDigits(transaction.getCardNumber());
+        chunk.cardNumbers[row] = digits;
+        if (digits == NO_CARD_DIGITS) {
+            chunk.otherCardNumbers.put(row, transaction.getCardNumber());
+        }
+        chunk.countries[row] = countries.encode(transaction.getCountry());
+        chunk.regions[row] = regions.encode(transaction.getRegion());
+        chunk.cities[row] = cities.encode(transaction.getCity());
+        chunk.merchants[row] = merchants.encode(transaction.getMerchantName());
+        chunk.types[row] = types.encode(transaction.getTransactionType());
+        chunk.currencies[row] = currencies.encode(transaction.getCurrency());
+        chunk.errorMessages[row] = transaction.getErrorMessage();
+        if (transaction.isFraudulent()) {
+            chunk.fraudulent[row >>> 6] |= 1L << row;
+        }
+        if (transaction.isError()) {
+            chunk.errors[row >>> 6] |= 1L << row;
+        }
+        chunk.minTimestamp = Math.min(chunk.minTimestamp, timestamp);
+        chunk.maxTimestamp = Math.max(chunk.maxTimestamp, timestamp);
+        chunk.size = row + 1;
+    }
+
+    private void markDeleted(Transaction transaction) {
+        long id = transaction.getId();
+        for (Chunk chunk : chunks) {
+            for (int row = 0; row < chunk.size; row++) {
+                if (chunk.ids[row] == id) {
+                    chunk.deleted[row >>> 6] |= 1L << row;
+                    return;
+                }
+            }
+        }
+    }
+
+    private Long coverageMicros() {
+        return ready ? gapMicros : null;
+    }
+
+    private Criteria criteria(TransactionFilter filter, long coverage) {
+        int country = countries.code(filter.getCountry());
+        int region = regions.code(filter.getRegion());
+        int city = cities.code(filter.getCity());
+        int merchant = merchants.code(filter.getMerchantName());
+        int type = types.code(filter.getTransactionType());
+        int currency = currencies.code(filter.getCurrency());
+        long minCents = filter.getMinAmount() == null ? Long.MIN_VALUE : cents(filter.getMinAmount(), RoundingMode.CEILING);
+        long maxCents = filter.getMaxAmount() == null ? Long.MAX_VALUE : cents(filter.getMaxAmount(), RoundingMode.FLOOR);
+        long fromMicros = Math.max(coverage, filter.getStartTime() == null ? Long.MIN_VALUE : toMicros(filter.getStartTime()));
+        long toMicros = filter.getEndTime() == null ? Long.MAX_VALUE : toMicros(filter.getEndTime());
+        boolean impossible = country == StringDictionary.UNKNOWN_CODE || region == StringDictionary.UNKNOWN_CODE
+                || city == StringDictionary.UNKNOWN_CODE || merchant == StringDictionary.UNKNOWN_CODE
+                || type == StringDictionary.UNKNOWN_CODE || currency == StringDictionary.UNKNOWN_CODE
+                || minCents > maxCents || fromMicros > toMicros;
+        return new Criteria(country, region, city, merchant, type, currency, minCents, maxCents,
+                fromMicros, toMicros, filter.getFraudulent(), filter.getError(), impossible);
+    }
+
+    // Null criteria are encoded as NULL_CODE and mean "any value"
+    private static boolean matches(Chunk chunk, int row, Criteria criteria) {
+        long timestamp = chunk.timestamps[row];
+        return timestamp >= criteria.fromMicros() && timestamp <= criteria.toMicros()
+                && !chunk.isSet(chunk.deleted, row)
+                && (criteria.country() == StringDictionary.NULL_CODE || chunk.countries[row] == criteria.country())
+                && (criteria.region() == StringDictionary.NULL_CODE || chunk.regions[row] == criteria.region())
+                && (criteria.city() == StringDictionary.NULL_CODE || chunk.cities[row] == criteria.city())
+                && (criteria.merchant() == StringDictionary.NULL_CODE || chunk.merchants[row] == criteria.merchant())
+                && (criteria.type() == StringDictionary.NULL_CODE || chunk.types[row] == criteria.type())
+                && (criteria.currency() == StringDictionary.NULL_CODE || chunk.currencies[row] == criteria.currency())
+                && chunk.amountCents[row] >= criteria.minCents() && chunk.amountCents[row] <= criteria.maxCents()
+                && (criteria.fraudulent() == null || chunk.isSet(chunk.fraudulent, row) == criteria.fraudulent())
+                && (criteria.error() == null || chunk.isSet(chunk.errors, row) == criteria.error());
+    }
+
+    private static Counts countChunk(Chunk chunk, Criteria criteria) {
+        int size = chunk.size;
+        if (size == 0 || chunk.maxTimestamp < criteria.fromMicros() || chunk.minTimestamp > criteria.toMicros()) {
+            return Counts.ZERO;
+        }
+        long total = 0, fraudulent = 0, errors = 0, amount = 0;
+        for (int row = 0; row < size; row++) {
+            if (matches(chunk, row, criteria)) {
+                total++;
+                if (chunk.isSet(chunk.fraudulent, row)) {
+                    fraudulent++;
+                }
+                if (chunk.isSet(chunk.errors, row)) {
+                    errors++;
+                }
+                amount += chunk.amountCents[row];
+            }
+        }
+        return new Counts(total, fraudulent, errors, amount);
+    }
+
+    // The `limit` newest matches strictly before (beforeMicros, beforeId), newest first. Chunks are visited
+    // newest first and the scan stops once no remaining chunk can hold a row newer than the current limit-th.
+    private List<Hit> top(Criteria criteria, int limit, long beforeMicros, long beforeId) {
+        return select(criteria, limit, NEWEST_FIRST, (timestamp, id) ->
+                timestamp < beforeMicros || (timestamp == beforeMicros && id < beforeId));
+    }
+
+    private List<Hit> oldest(Criteria criteria, int limit) {
+        return select(criteria, limit, NEWEST_FIRST.reversed(), (timestamp, id) -> true);
+    }
+
+    private interface Position {
+        boolean accepts(long timestamp, long id);
+    }
+
+    private List<Hit> select(Criteria criteria, int limit, Comparator<Hit> order, Position position) {
+        boolean newestFirst = order == NEWEST_FIRST;
+        // Bounds are captured once: the appendable chunk's may move while sorting
+        Chunk[] snapshot = chunks;
+        long[][] bounds = new long[snapshot.length][];
+        for (int i = 0; i < snapshot.length; i++) {
+            bounds[i] = new long[]{i, snapshot[i].minTimestamp, snapshot[i].maxTimestamp};
+        }
+        Arrays.sort(bounds, newestFirst
+                ? Comparator.comparingLong((long[] bound) -> bound[2]).reversed()
+                : Comparator.comparingLong((long[] bound) -> bound[1]));
+
+        // Heap of the best `limit` hits with the worst on top
+        PriorityQueue<Hit> best = new PriorityQueue<>(order.reversed());
+        for (long[] bound : bounds) {
+            if (best.size() == limit && (newestFirst
+                    ? bound[2] < best.peek().timestamp()
+                    : bound[1] > best.peek().timestamp())) {
+                break;
+            }
+            Chunk chunk = snapshot[(int) bound[0]];
+            int size = chunk.size;
+            for (int row = 0; row < size; row++) {
+                long timestamp = chunk.timestamps[row];
+                long id = chunk.ids[row];
+                if (!position.accepts(timestamp, id) || !matches(chunk, row, criteria)) {
+                    continue;
+                }
+                Hit hit = new Hit(chunk, row, timestamp, id);
+                if (best.size() < limit) {
+                    best.add(hit);
+                } else if (order.compare(hit, best.peek()) < 0) {
+                    best.poll();
+                    best.add(hit);
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(order);
+        return hits;
+    }
+
+    private List<TransactionView> views(List<Hit> hits) {
+        List<TransactionView> views = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            Chunk chunk = hit.chunk();
+            int row = hit.row();
+            long digits = chunk.cardNumbers[row];
+            views.add(new TransactionView(
+                    chunk.ids[row],
+                    digits == NO_CARD_DIGITS ? chunk.otherCardNumbers.get(row) : cardNumber(digits),
+                    BigDecimal.valueOf(chunk.amountCents[row], 2),
+                    currencies.decode(chunk.currencies[row]),
+                    fromMicros(chunk.timestamps[row]),
+                    merchants.decode(chunk.merchants[row]),
+                    countries.decode(chunk.countries[row]),
+                    regions.decode(chunk.regions[row]),
+                    cities.decode(chunk.cities[row]),
+                    types.decode(chunk.types[row]),
+                    chunk.isSet(chunk.fraudulent, row),
+                    chunk.isSet(chunk.errors, row),
+                    chunk.errorMessages[row]));
+        }
+        return views;
+    }
+
+    // Sixteen-digit card numbers (leading zeros included) fit in a long; anything else is kept as a string
+    static long cardDigits(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() != 16) {
+            return NO_CARD_DIGITS;
+        }
+        long digits = 0;
+        for (int i = 0; i < 16; i++) {
+            char c = cardNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_CARD_DIGITS;
+            }
+            digits = digits * 10 + (c - '0');
+        }
+        return digits;
+    }
+
+    static String cardNumber(long digits) {
+        char[] buffer = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            buffer[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(buffer);
+    }
+
+    private static long cents(BigDecimal amount, RoundingMode rounding) {
+        BigDecimal cents = amount.movePointRight(2).setScale(0, rounding);
+        if (cents.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return Long.MAX_VALUE;
+        } else if (cents.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    // Timestamps are rounded to microseconds like the TIMESTAMP(6) column; the zone is irrelevant as
+    // long as it is the same in both directions
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + (timestamp.getNano() + 500) / 1000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+}
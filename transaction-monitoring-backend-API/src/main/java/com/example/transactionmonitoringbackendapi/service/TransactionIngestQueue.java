@@ -0,0 +1,141 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue behind asynchronous ingestion.
+ *
+ * Requests only enqueue and are acknowledged immediately; a single writer thread drains the queue
+ * into {@link TransactionService#saveAll} batches, so commits are shared by many requests. A full
+ * queue rejects the whole request instead of blocking, which is the backpressure signal to clients.
+ */
+@Component
+public class TransactionIngestQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestQueue.class);
+
+    private final TransactionService transactionService;
+    private final BlockingQueue<Transaction> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final AtomicLong ackSequence = new AtomicLong();
+    private final Counter rejectedCounter;
+
+    private volatile Thread writer;
+    private volatile boolean running = false;
+
+    public TransactionIngestQueue(TransactionService transactionService, MeterRegistry meterRegistry,
+                                  @Value("${transaction.ingest.queue-capacity:10000}") int capacity,
+                                  @Value("${transaction.ingest.batch-size:1000}") int batchSize) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        Gauge.builder("transactions_ingest_queue_depth", queue, BlockingQueue::size)
+                .description("Transactions accepted for asynchronous ingestion but not yet written")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("transactions_ingest_rejected")
+                .description("Transactions rejected because the ingest queue was full")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("transaction-ingest-writer").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Enqueue all transactions or none of them. Returns the acknowledgement id, or -1 when the queue
+     * does not have room for the whole request. A request larger than {@link #getCapacity()} is never
+     * accepted, however long the caller waits; callers reject it up front.
+     */
+    public synchronized long offer(List<Transaction> transactions) {
+        if (queue.remainingCapacity() < transactions.size()) {
+            rejectedCounter.increment(transactions.size());
+            return -1;
+        }
+        // Only this method adds, so the capacity checked above cannot shrink before addAll
+        queue.addAll(transactions);
+        return ackSequence.incrementAndGet();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Stop the writer and write what is still queued before the context closes
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Not interrupted: the writer may be inside a JDBC call, and it sees the flag within one poll timeout
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            current.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        writeBatches();
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                Transaction first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Transaction> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeBatches() {
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    // Transactions have already been acknowledged, so a failed batch can only be logged
+    private void write(List<Transaction> batch) {
+        try {
+            transactionService.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} queued transactions", batch.size(), e);
+        }
+    }
+}
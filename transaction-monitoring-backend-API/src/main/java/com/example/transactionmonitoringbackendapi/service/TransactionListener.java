@@ -0,0 +1,23 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+
+/**
+ * Callback invoked by {@link TransactionService} after a transaction has been committed.
+ * Implementations are picked up as Spring beans and must be cheap and non-blocking,
+ * since they run on the ingest thread.
+ */
+public interface TransactionListener {
+
+    void onTransactionSaved(Transaction transaction);
+
+    default void onTransactionDeleted(Transaction transaction) {
+    }
+
+    /**
+     * A batch of bulk-imported transactions has been committed. The rows themselves are not passed on;
+     * listeners that keep aggregates fold in the batch totals, others can ignore it.
+     */
+    default void onTransactionsImported(ImportedBatch batch) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Streaming per-minute aggregation of total, fraudulent and error counts.
+ *
+ * Counts are kept in ring buffers with one slot per minute of the retention window, so a
+ * metrics query sums at most {@code retention-minutes} slots regardless of table size.
+ * Timestamps are bucketed on their UTC epoch minute, matching how they are stored.
+ */
+@Component
+public class TransactionMetricsAggregator implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionMetricsAggregator.class);
+
+    private final TransactionRepository transactionRepository;
+    private final int bucketCount;
+
+    // Slot i holds the counts for the minute stored in bucketMinutes[i]
+    private final AtomicLongArray bucketMinutes;
+    private final AtomicLongArray totalCounts;
+    private final AtomicLongArray fraudCounts;
+    private final AtomicLongArray errorCounts;
+
+    // Live events are only counted from this epoch second on until the startup rebuild has finished,
+    // so rows picked up by the rebuild query are never counted twice
+    private volatile long liveFromEpochSecond = Long.MAX_VALUE;
+    private volatile boolean ready = false;
+
+    public TransactionMetricsAggregator(TransactionRepository transactionRepository,
+                                        @Value("${transaction.metrics.retention-minutes:10080}") int retentionMinutes) {
+        this.transactionRepository = transactionRepository;
+        this.bucketCount = retentionMinutes;
+        this.bucketMinutes = new AtomicLongArray(bucketCount);
+        this.totalCounts = new AtomicLongArray(bucketCount);
+        this.fraudCounts = new AtomicLongArray(bucketCount);
+        this.errorCounts = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            bucketMinutes.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Rebuild the buckets from the database for the retention window
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime since = cutoff.truncatedTo(ChronoUnit.MINUTES).minusMinutes(bucketCount - 1);
+        liveFromEpochSecond = cutoff.toEpochSecond(ZoneOffset.UTC);
+
+        List<Object[]> rows = transactionRepository.countPerMinuteInTimeRange(since, cutoff);
+        for (Object[] row : rows) {
+            add(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                    ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+        }
+
+        ready = true;
+        liveFromEpochSecond = Long.MIN_VALUE;
+        log.info("Metrics aggregator rebuilt from {} minute buckets since {}", rows.size(), since);
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        record(transaction, 1);
+    }
+
+    @Override
+    public void onTransactionDeleted(Transaction transaction) {
+        record(transaction, -1);
+    }
+
+    @Override
+    public void onTransactionsImported(ImportedBatch batch) {
+        for (ImportedBatch.MinuteTotals minute : batch.minutes()) {
+            if (minute.minute().toEpochSecond(ZoneOffset.UTC) >= liveFromEpochSecond) {
+                add(toEpochMinute(minute.minute()), minute.total(), minute.fraudulent(), minute.errors());
+            }
+        }
+    }
+
+    /**
+     * Sum the buckets for [startTime, endTime] at minute resolution. Returns empty when the range
+     * starts before the retention window (or the rebuild has not finished) and must be answered from SQL.
+     */
+    public Optional<Counts> getCounts(LocalDateTime startTime, LocalDateTime endTime) {
+        long startMinute = toEpochMinute(startTime);
+        long endMinute = Math.min(toEpochMinute(endTime), currentMinute());
+        if (!ready || startMinute <= currentMinute() - bucketCount) {
+            return Optional.empty();
+        }
+
+        long total = 0;
+        long fraudulent = 0;
+        long errors = 0;
+        for (long minute = startMinute; minute <= endMinute; minute++) {
+            int slot = slot(minute);
+            if (bucketMinutes.get(slot) == minute) {
+                total += totalCounts.get(slot);
+                fraudulent += fraudCounts.get(slot);
+                errors += errorCounts.get(slot);
+            }
+        }
+        return Optional.of(new Counts(total, fraudulent, errors));
+    }
+
+    private void record(Transaction transaction, int delta) {
+        LocalDateTime timestamp = transaction.getTimestamp();
+        if (timestamp == null || timestamp.toEpochSecond(ZoneOffset.UTC) < liveFromEpochSecond) {
+            return;
+        }
+        add(toEpochMinute(timestamp), delta,
+                transaction.isFraudulent() ? delta : 0,
+                transaction.isError() ? delta : 0);
+    }
+
+    private void add(long minute, long total, long fraudulent, long errors) {
+        long now = currentMinute();
+        // Ignore anything outside the window, it would only evict live buckets
+        if (minute <= now - bucketCount || minute > now) {
+            return;
+        }
+
+        int slot = slot(minute);
+        long slotMinute = bucketMinutes.get(slot);
+        if (slotMinute != minute) {
+            synchronized (this) {
+                slotMinute = bucketMinutes.get(slot);
+                if (slotMinute > minute) {
+                    return;
+                }
+                if (slotMinute < minute) {
+                    // Slot still holds a minute that has fallen out of the window: recycle it
+                    totalCounts.set(slot, 0);
+                    fraudCounts.set(slot, 0);
+                    errorCounts.set(slot, 0);
+                    bucketMinutes.set(slot, minute);
+                }
+            }
+        }
+
+        totalCounts.addAndGet(slot, total);
+        fraudCounts.addAndGet(slot, fraudulent);
+        errorCounts.addAndGet(slot, errors);
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) bucketCount);
+    }
+
+    private static long currentMinute() {
+        return toEpochMinute(LocalDateTime.now());
+    }
+
+    private static long toEpochMinute(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public record Counts(long total, long fraudulent, long errors) {
+    }
+}
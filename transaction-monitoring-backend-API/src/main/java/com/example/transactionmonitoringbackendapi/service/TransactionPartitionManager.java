@@ -0,0 +1,175 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the range-partitioned transactions table (db/migration/V4) supplied with partitions and
+ * applies the retention policy.
+ *
+ * Partitions of {@code transaction.partitions.granularity} (DAY or HOUR) are created for the next
+ * {@code precreate} intervals, skipping ranges an existing partition already covers, so inserts
+ * never have to fall back to the default partition. Partitions whose whole range is older than
+ * {@code retention-days} are detached, and dropped as well when {@code retention-action} is DROP;
+ * detached partitions stay behind as plain tables for archiving. A retention of 0 keeps everything.
+ */
+@Component
+public class TransactionPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionManager.class);
+
+    static final String PARENT_TABLE = "transactions";
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final DateTimeFormatter DAY_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter HOUR_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd_HH");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public enum RetentionAction {
+        DETACH,
+        DROP
+    }
+
+    /**
+     * One partition of the transactions table; a null bound is MINVALUE or MAXVALUE
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return (from == null || from.isBefore(end)) && (to == null || to.isAfter(start));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupGranularity granularity;
+    private final int precreate;
+    private final int retentionDays;
+    private final RetentionAction retentionAction;
+
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate,
+                                       @Value("${transaction.partitions.granularity:DAY}") RollupGranularity granularity,
+                                       @Value("${transaction.partitions.precreate:7}") int precreate,
+                                       @Value("${transaction.partitions.retention-days:90}") int retentionDays,
+                                       @Value("${transaction.partitions.retention-action:DETACH}") RetentionAction retentionAction) {
+        if (granularity == RollupGranularity.MINUTE) {
+            throw new IllegalArgumentException("transaction.partitions.granularity must be DAY or HOUR");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.granularity = granularity;
+        this.precreate = precreate;
+        this.retentionDays = retentionDays;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transaction.partitions.maintenance-cron:0 5 * * * *}")
+    public synchronized void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Partition> partitions = loadPartitions();
+            for (Partition partition : missingPartitions(partitions, now)) {
+                createPartition(partition);
+            }
+            for (Partition partition : expiredPartitions(partitions, now)) {
+                removePartition(partition);
+            }
+        } catch (DataAccessException e) {
+            // Retried on the next run; inserts keep working through the default partition meanwhile
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+
+    List<Partition> loadPartitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = CAST(? AS regclass)",
+                (rs, rowNum) -> parse(rs.getString(1), rs.getString(2)),
+                PARENT_TABLE).stream().filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Partitions to create so that the current and the next {@code precreate} intervals are covered
+     */
+    List<Partition> missingPartitions(List<Partition> existing, LocalDateTime now) {
+        List<Partition> missing = new ArrayList<>();
+        LocalDateTime start = granularity.truncate(now);
+        for (int i = 0; i <= precreate; i++) {
+            LocalDateTime end = granularity.next(start);
+            LocalDateTime from = start;
+            if (existing.stream().noneMatch(partition -> partition.overlaps(from, end))) {
+                String suffix = (granularity == RollupGranularity.DAY ? DAY_SUFFIX : HOUR_SUFFIX).format(start);
+                missing.add(new Partition(PARENT_TABLE + "_p" + suffix, start, end));
+            }
+            start = end;
+        }
+        return missing;
+    }
+
+    /**
+     * Partitions whose whole range is older than the retention period
+     */
+    List<Partition> expiredPartitions(List<Partition> existing, LocalDateTime now) {
+        if (retentionDays <= 0) {
+            return List.of();
+        }
+        LocalDateTime cutoff = now.minusDays(retentionDays);
+        return existing.stream()
+                .filter(partition -> partition.to() != null && !partition.to().isAfter(cutoff))
+                .toList();
+    }
+
+    // Bounds come from pg_get_expr: FOR VALUES FROM ('2025-01-01 00:00:00') TO (MAXVALUE); null for DEFAULT
+    static Partition parse(String name, String bound) {
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            return null;
+        }
+        return new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+    }
+
+    private static LocalDateTime parseBound(String value) {
+        if (value.equals("MINVALUE") || value.equals("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(value.replace("'", "").replace(' ', 'T'));
+    }
+
+    // Names and bounds are generated here, never taken from input, so plain concatenation is safe
+    private void createPartition(Partition partition) {
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition.name() + " PARTITION OF " + PARENT_TABLE +
+                    " FOR VALUES FROM ('" + BOUND_FORMAT.format(partition.from()) + "') TO ('" +
+                    BOUND_FORMAT.format(partition.to()) + "')");
+            log.info("Created transaction partition {} [{}, {})", partition.name(), partition.from(), partition.to());
+        } catch (DataAccessException e) {
+            // Typically rows for this range already sit in the default partition
+            log.error("Could not create transaction partition {}", partition.name(), e);
+        }
+    }
+
+    private void removePartition(Partition partition) {
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition.name());
+        if (retentionAction == RetentionAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition.name());
+            log.info("Dropped expired transaction partition {}", partition.name());
+        } else {
+            log.info("Detached expired transaction partition {}", partition.name());
+        }
+    }
+}
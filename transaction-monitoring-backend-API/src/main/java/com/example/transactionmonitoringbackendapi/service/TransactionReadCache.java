@@ -0,0 +1,194 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache (Caffeine, W-TinyLFU eviction plus a TTL) for transactions by ID and for
+ * the first pages of each filter query.
+ *
+ * Pages are invalidated with generation counters instead of explicit evictions. Every saved or deleted
+ * transaction bumps the generation of each criterion value it would match (its city, region, flags,
+ * merchant, country, currency, type) and the global generation. A page key includes the current
+ * generation of the most selective criterion its filter has, or the global one for filters without
+ * equality criteria: any transaction that could change the page necessarily matches that criterion,
+ * so the page's key changes and the stale entry is never read again and ages out.
+ *
+ * Hit, miss, eviction and size metrics are exported as {@code cache_*{cache="transactionById"}} and
+ * {@code cache_*{cache="transactionPages"}}. Cached values are shared and must be treated as read-only.
+ */
+@Component
+public class TransactionReadCache implements TransactionListener {
+
+    // Equality criteria in the order they are preferred as a page's generation, most selective first
+    enum Dimension {
+        CITY, REGION, ERROR, FRAUDULENT, MERCHANT, COUNTRY, CURRENCY, TYPE
+    }
+
+    // Generations are striped by criterion value; a collision only invalidates more pages than necessary
+    private static final int GENERATION_SLOTS = 4096;
+    private static final int ALL_SLOT = 0;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final Cache<Long, Transaction> transactionsById;
+    private final Cache<PageKey, Slice<TransactionView>> pages;
+    private final int cachedPages;
+
+    private record PageKey(TransactionFilter filter, int page, int size, Sort sort, long generation) {
+    }
+
+    public TransactionReadCache(MeterRegistry meterRegistry,
+                                @Value("${transaction.cache.entity-max-size:10000}") long entityMaxSize,
+                                @Value("${transaction.cache.entity-ttl-seconds:300}") long entityTtlSeconds,
+                                @Value("${transaction.cache.page-max-size:1000}") long pageMaxSize,
+                                @Value("${transaction.cache.page-ttl-seconds:30}") long pageTtlSeconds,
+                                @Value("${transaction.cache.pages:3}") int cachedPages) {
+        this.transactionsById = Caffeine.newBuilder()
+                .maximumSize(entityMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(entityTtlSeconds))
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(pageTtlSeconds))
+                .recordStats()
+                .build();
+        this.cachedPages = cachedPages;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, transactionsById, "transactionById");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "transactionPages");
+    }
+
+    /**
+     * Cached transaction, or the loader's result (null when not found, which is not cached)
+     */
+    public Transaction getTransaction(Long id, Function<Long, Transaction> loader) {
+        return transactionsById.get(id, loader);
+    }
+
+    /**
+     * Cached page for the first {@code transaction.cache.pages} pages; later pages always hit the loader
+     */
+    public Page<TransactionView> getPage(TransactionFilter filter, Pageable pageable, Supplier<Page<TransactionView>> loader) {
+        if (!cachesPage(pageable)) {
+            return loader.get();
+        }
+        // The generation is read before loading, so a concurrent save moves later reads to a new key
+        PageKey key = new PageKey(filter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(),
+                generationOf(filter));
+        return (Page<TransactionView>) pages.get(key, k -> loader.get());
+    }
+
+    /**
+     * Cached first keyset slice, unless {@code transaction.cache.pages} is 0; continuation slices (with a cursor)
+     * are not cached
+     */
+    public Slice<TransactionView> getFirstSlice(TransactionFilter filter, int size, Supplier<Slice<TransactionView>> loader) {
+        if (!cachesFirstSlices()) {
+            return loader.get();
+        }
+        // A null sort tells first slices apart from page-mode entries of the same filter
+        PageKey key = new PageKey(filter, 0, size, null, generationOf(filter));
+        return pages.get(key, k -> loader.get());
+    }
+
+    /**
+     * Whether {@link #getPage} caches what its loader returns for this page
+     */
+    public boolean cachesPage(Pageable pageable) {
+        return pageable.isPaged() && pageable.getPageNumber() < cachedPages;
+    }
+
+    /**
+     * Whether {@link #getFirstSlice} caches what its loader returns
+     */
+    public boolean cachesFirstSlices() {
+        return cachedPages > 0;
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        transactionsById.invalidate(transaction.getId());
+        bumpGenerations(transaction);
+    }
+
+    @Override
+    public void onTransactionDeleted(Transaction transaction) {
+        transactionsById.invalidate(transaction.getId());
+        bumpGenerations(transaction);
+    }
+
+    // A batch can touch any page; moving every generation retires all cached pages at once
+    @Override
+    public void onTransactionsImported(ImportedBatch batch) {
+        for (int slot = 0; slot < GENERATION_SLOTS; slot++) {
+            generations.incrementAndGet(slot);
+        }
+    }
+
+    private void bumpGenerations(Transaction transaction) {
+        generations.incrementAndGet(ALL_SLOT);
+        generations.incrementAndGet(slot(Dimension.CITY, transaction.getCity()));
+        generations.incrementAndGet(slot(Dimension.REGION, transaction.getRegion()));
+        generations.incrementAndGet(slot(Dimension.ERROR, transaction.isError()));
+        generations.incrementAndGet(slot(Dimension.FRAUDULENT, transaction.isFraudulent()));
+        generations.incrementAndGet(slot(Dimension.MERCHANT, transaction.getMerchantName()));
+        generations.incrementAndGet(slot(Dimension.COUNTRY, transaction.getCountry()));
+        generations.incrementAndGet(slot(Dimension.CURRENCY, transaction.getCurrency()));
+        generations.incrementAndGet(slot(Dimension.TYPE, transaction.getTransactionType()));
+    }
+
+    long generationOf(TransactionFilter filter) {
+        return generations.get(watchedSlot(filter));
+    }
+
+    // Amount and time ranges match too many transactions to be worth a generation of their own
+    private static int watchedSlot(TransactionFilter filter) {
+        if (filter.getCity() != null) {
+            return slot(Dimension.CITY, filter.getCity());
+        } else if (filter.getRegion() != null) {
+            return slot(Dimension.REGION, filter.getRegion());
+        } else if (Boolean.TRUE.equals(filter.getError())) {
+            return slot(Dimension.ERROR, true);
+        } else if (Boolean.TRUE.equals(filter.getFraudulent())) {
+            return slot(Dimension.FRAUDULENT, true);
+        } else if (filter.getMerchantName() != null) {
+            return slot(Dimension.MERCHANT, filter.getMerchantName());
+        } else if (filter.getCountry() != null) {
+            return slot(Dimension.COUNTRY, filter.getCountry());
+        } else if (filter.getCurrency() != null) {
+            return slot(Dimension.CURRENCY, filter.getCurrency());
+        } else if (filter.getTransactionType() != null) {
+            return slot(Dimension.TYPE, filter.getTransactionType());
+        } else if (filter.getError() != null) {
+            return slot(Dimension.ERROR, false);
+        } else if (filter.getFraudulent() != null) {
+            return slot(Dimension.FRAUDULENT, false);
+        }
+        return ALL_SLOT;
+    }
+
+    private static int slot(Dimension dimension, Object value) {
+        int hash = 31 * dimension.ordinal() + Objects.hashCode(value);
+        hash ^= hash >>> 16;
+        // Slot 0 is reserved for the global generation
+        return 1 + Math.floorMod(hash * 0x9E3779B9, GENERATION_SLOTS - 1);
+    }
+}
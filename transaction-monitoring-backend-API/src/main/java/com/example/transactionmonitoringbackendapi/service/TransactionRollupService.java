@@ -0,0 +1,224 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionVolumeRollup;
+import com.example.transactionmonitoringbackendapi.repository.TransactionVolumeRollupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Incrementally maintained volume rollups per minute, hour and day.
+ *
+ * Saved transactions only touch an in-memory delta for their minute; the deltas are periodically
+ * folded into the hour and day buckets and upserted in one database transaction.
+ * Charts therefore read a few hundred rollup rows instead of aggregating the raw table, at the
+ * cost of lagging the raw data by up to one flush interval.
+ */
+@Component
+public class TransactionRollupService implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    // Upper bound on the number of buckets a single volume query may return
+    static final int MAX_VOLUME_POINTS = 5000;
+
+    private final TransactionVolumeRollupRepository volumeRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int minuteRetentionDays;
+
+    // Deltas not yet written, keyed by minute bucket
+    private final ConcurrentMap<LocalDateTime, Delta> pendingMinutes = new ConcurrentHashMap<>();
+
+    public TransactionRollupService(TransactionVolumeRollupRepository volumeRollupRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${transaction.rollups.minute-retention-days:7}") int minuteRetentionDays) {
+        this.volumeRollupRepository = volumeRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.minuteRetentionDays = minuteRetentionDays;
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        record(transaction, 1);
+    }
+
+    @Override
+    public void onTransactionDeleted(Transaction transaction) {
+        record(transaction, -1);
+    }
+
+    @Override
+    public void onTransactionsImported(ImportedBatch batch) {
+        for (ImportedBatch.MinuteTotals minute : batch.minutes()) {
+            pendingMinutes.merge(minute.minute(), Delta.of(minute), Delta::merge);
+        }
+    }
+
+    /**
+     * Write the pending deltas. On failure they are merged back and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${transaction.rollups.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<LocalDateTime, Delta> minutes = drain(pendingMinutes);
+        if (minutes.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (RollupGranularity granularity : RollupGranularity.values()) {
+                    // Upsert in key order so concurrent flushes from several instances cannot deadlock
+                    for (Map.Entry<LocalDateTime, Delta> entry : fold(minutes, granularity).entrySet()) {
+                        Delta delta = entry.getValue();
+                        volumeRollupRepository.addToBucket(granularity.name(), entry.getKey(),
+                                delta.total, delta.fraudulent, delta.errors,
+                                toAmount(delta.totalCents), toAmount(delta.fraudulentCents), toAmount(delta.errorCents));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Rollup flush of {} minute deltas failed, retrying on next run", minutes.size(), e);
+            minutes.forEach((minute, delta) -> pendingMinutes.merge(minute, delta, Delta::merge));
+        }
+    }
+
+    /**
+     * Drop minute buckets past their retention; hour and day buckets are kept
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeExpiredMinuteBuckets() {
+        LocalDateTime before = LocalDateTime.now().minusDays(minuteRetentionDays);
+        Integer deleted = transactionTemplate.execute(status ->
+                volumeRollupRepository.deleteBucketsBefore(RollupGranularity.MINUTE, before));
+        log.debug("Purged {} minute rollup buckets before {}", deleted, before);
+    }
+
+    /**
+     * Volume buckets covering [startTime, endTime]; buckets without transactions are returned as zeros
+     * so the chart has an evenly spaced x-axis.
+     */
+    @Transactional(readOnly = true)
+    public List<VolumeDataPoint> getVolume(LocalDateTime startTime, LocalDateTime endTime, RollupGranularity granularity) {
+        if (endTime.isBefore(startTime)) {
+            throw new IllegalArgumentException("endTime must not be before startTime");
+        }
+        long buckets = granularity.bucketsBetween(startTime, endTime);
+        if (buckets > MAX_VOLUME_POINTS) {
+            throw new IllegalArgumentException("Range spans " + buckets + " " + granularity.name().toLowerCase()
+                    + " buckets, at most " + MAX_VOLUME_POINTS + " are allowed; use a coarser granularity");
+        }
+
+        LocalDateTime firstBucket = granularity.truncate(startTime);
+        Map<LocalDateTime, TransactionVolumeRollup> rows = new HashMap<>();
+        for (TransactionVolumeRollup row : volumeRollupRepository
+                .findByGranularityAndBucketStartBetweenOrderByBucketStartAsc(granularity, firstBucket, endTime)) {
+            rows.put(row.getBucketStart(), row);
+        }
+
+        List<VolumeDataPoint> points = new ArrayList<>((int) buckets);
+        for (LocalDateTime bucket = firstBucket; !bucket.isAfter(endTime); bucket = granularity.next(bucket)) {
+            TransactionVolumeRollup row = rows.get(bucket);
+            points.add(row == null ? VolumeDataPoint.empty(bucket) : new VolumeDataPoint(bucket,
+                    row.getTotalCount(), row.getFraudCount(), row.getErrorCount(),
+                    row.getTotalAmount(), row.getFraudAmount(), row.getErrorAmount()));
+        }
+        return points;
+    }
+
+    private void record(Transaction transaction, int sign) {
+        if (transaction.getTimestamp() == null) {
+            return;
+        }
+        LocalDateTime minute = RollupGranularity.MINUTE.truncate(transaction.getTimestamp());
+        pendingMinutes.compute(minute, (key, delta) -> (delta == null ? new Delta() : delta).add(transaction, sign));
+    }
+
+    // Removing each key takes its bin lock, so no writer can still be updating a drained delta
+    private static Map<LocalDateTime, Delta> drain(ConcurrentMap<LocalDateTime, Delta> pending) {
+        Map<LocalDateTime, Delta> drained = new HashMap<>();
+        for (LocalDateTime key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private static SortedMap<LocalDateTime, Delta> fold(Map<LocalDateTime, Delta> minutes, RollupGranularity granularity) {
+        SortedMap<LocalDateTime, Delta> buckets = new TreeMap<>();
+        minutes.forEach((minute, delta) ->
+                buckets.computeIfAbsent(granularity.truncate(minute), key -> new Delta()).merge(delta));
+        return buckets;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Mutated only inside ConcurrentHashMap.compute, or after being drained
+    private static final class Delta {
+        long total;
+        long fraudulent;
+        long errors;
+        long totalCents;
+        long fraudulentCents;
+        long errorCents;
+
+        static Delta of(ImportedBatch.MinuteTotals minute) {
+            Delta delta = new Delta();
+            delta.total = minute.total();
+            delta.fraudulent = minute.fraudulent();
+            delta.errors = minute.errors();
+            delta.totalCents = minute.totalCents();
+            delta.fraudulentCents = minute.fraudulentCents();
+            delta.errorCents = minute.errorCents();
+            return delta;
+        }
+
+        Delta add(Transaction transaction, int sign) {
+            long cents = sign * toCents(transaction.getAmount());
+            total += sign;
+            totalCents += cents;
+            if (transaction.isFraudulent()) {
+                fraudulent += sign;
+                fraudulentCents += cents;
+            }
+            if (transaction.isError()) {
+                errors += sign;
+                errorCents += cents;
+            }
+            return this;
+        }
+
+        Delta merge(Delta other) {
+            total += other.total;
+            fraudulent += other.fraudulent;
+            errors += other.errors;
+            totalCents += other.totalCents;
+            fraudulentCents += other.fraudulentCents;
+            errorCents += other.errorCents;
+            return this;
+        }
+    }
+}
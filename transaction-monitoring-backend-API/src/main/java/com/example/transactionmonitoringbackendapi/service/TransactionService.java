@@ -1,38 +1,51 @@
 package com.example.transactionmonitoringbackendapi.service;
 
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
 import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 public interface TransactionService {
 
     // CRUD operations
     Transaction saveTransaction(Transaction transaction);
+    Map<String, Object> saveAll(List<Transaction> transactions);
     Transaction getTransactionById(Long id);
     Page<Transaction> getAllTransactions(Pageable pageable);
     void deleteTransaction(Long id);
+
+    // By id and timestamp: reads or deletes in the one partition holding the row instead of probing them all
+    Transaction getTransactionById(Long id, LocalDateTime timestamp);
+    void deleteTransaction(Long id, LocalDateTime timestamp);
+    
+    // Search with any combination of filters; only the supplied criteria become predicates
+    Page<TransactionView> searchTransactions(TransactionFilter filter, Pageable pageable);
     
-    // Filtering operations
-    Page<Transaction> getTransactionsByRegion(String country, String region, String city, Pageable pageable);
-    Page<Transaction> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
-    Page<Transaction> getTransactionsByRegionAndAmountRange(
-            String country, String region, String city, 
-            BigDecimal minAmount, BigDecimal maxAmount, 
-            Pageable pageable);
+    // Keyset (cursor) pagination, newest first; a null cursor starts at the newest transaction
+    Slice<TransactionView> searchTransactions(TransactionFilter filter, TransactionCursor after, int size);
     
-    // Fraud and error transactions
-    Page<Transaction> getFraudulentTransactions(Pageable pageable);
-    Page<Transaction> getErrorTransactions(Pageable pageable);
+    // Approximate total from planner statistics for cursor pagination, or null when none is cheaply available
+    Long estimateTransactionCount(TransactionFilter filter);
     
     // Metrics for dashboard
     Map<String, Object> getTransactionMetrics(LocalDateTime startTime, LocalDateTime endTime);
     
-    // Transaction simulation
+    // Volume chart served from the pre-aggregated rollups; a null granularity is chosen from the range
+    List<VolumeDataPoint> getTransactionVolume(LocalDateTime startTime, LocalDateTime endTime, RollupGranularity granularity);
+    
+    // Geo chart served from the in-memory country/region/city counters
+    List<GeoDistributionDataPoint> getGeoDistribution(String viewBy);
+    
+    // One-shot transaction simulation; continuous load is produced by simulation.LoadGenerator
     void simulateTransactions(int count);
-    void startTransactionSimulation(int transactionsPerMinute);
-    void stopTransactionSimulation();
 }
\ No newline at end of file
@@ -1,49 +1,106 @@
 package com.example.transactionmonitoringbackendapi.service;
 
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
 import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
 import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import com.example.transactionmonitoringbackendapi.repository.TransactionSpecifications;
+import com.example.transactionmonitoringbackendapi.simulation.LoadProfile;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionEvent;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionGenerator;
+import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Counter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+// Every public method is timed as transaction_service_seconds{method=...} with a percentile histogram
 @Service
+@Timed(value = "transaction.service", description = "Transaction service method latency", histogram = true)
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
+
     private final TransactionRepository transactionRepository;
     private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    // Cache-backed reads open their transaction only on a miss, so hits never take a pooled connection
+    private final TransactionTemplate readOnlyTemplate;
+    private final TransactionMetricsAggregator metricsAggregator;
+    private final TransactionRollupService rollupService;
+    private final TransactionGeoCounters geoCounters;
+    private final TransactionReadCache readCache;
+    private final TransactionHotWindow hotWindow;
+    private final TransactionDimensions dimensions;
+    private final TransactionFraudScorer fraudScorer;
+    private final TransactionSketches sketches;
+    private final List<TransactionListener> transactionListeners;
+    private final int ingestBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     // Counters for Prometheus metrics
     private final Counter totalTransactionsCounter;
     private final Counter fraudulentTransactionsCounter;
     private final Counter errorTransactionsCounter;
     
-    // Simulation control
-    private final AtomicBoolean simulationRunning = new AtomicBoolean(false);
-    private int transactionsPerMinute = 60; // Default: 1 per second
-    
-    // Sample data for simulation
-    private final String[] countries = {"USA", "Canada", "UK", "Germany", "France", "Japan", "Australia", "India", "Brazil", "China"};
-    private final Map<String, String[]> regionsMap = new HashMap<>();
-    private final Map<String, String[]> citiesMap = new HashMap<>();
-    private final String[] merchantNames = {"Amazon", "Walmart", "Target", "Best Buy", "Apple Store", "Starbucks", "McDonald's", "Uber", "Netflix", "Spotify"};
-    private final String[] transactionTypes = {"PURCHASE", "REFUND", "WITHDRAWAL", "DEPOSIT", "TRANSFER"};
-    private final String[] currencies = {"USD", "EUR", "GBP", "CAD", "JPY", "AUD", "INR", "BRL", "CNY"};
+    // Events for one-shot simulation, shaped like the original simulator
+    private final TransactionGenerator transactionGenerator = new TransactionGenerator(new LoadProfile());
     
     @Autowired
-    public TransactionServiceImpl(TransactionRepository transactionRepository, MeterRegistry meterRegistry) {
+    public TransactionServiceImpl(TransactionRepository transactionRepository, MeterRegistry meterRegistry,
+                                  TransactionTemplate transactionTemplate,
+                                  TransactionMetricsAggregator metricsAggregator,
+                                  TransactionRollupService rollupService,
+                                  TransactionGeoCounters geoCounters,
+                                  TransactionReadCache readCache,
+                                  TransactionHotWindow hotWindow,
+                                  TransactionDimensions dimensions,
+                                  TransactionFraudScorer fraudScorer,
+                                  TransactionSketches sketches,
+                                  List<TransactionListener> transactionListeners,
+                                  @Value("${transaction.ingest.batch-size:1000}") int ingestBatchSize) {
+        if (ingestBatchSize < 1) {
+            throw new IllegalArgumentException("transaction.ingest.batch-size must be at least 1");
+        }
         this.transactionRepository = transactionRepository;
         this.meterRegistry = meterRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.metricsAggregator = metricsAggregator;
+        this.rollupService = rollupService;
+        this.geoCounters = geoCounters;
+        this.readCache = readCache;
+        this.hotWindow = hotWindow;
+        this.dimensions = dimensions;
+        this.fraudScorer = fraudScorer;
+        this.sketches = sketches;
+        this.transactionListeners = transactionListeners;
+        this.ingestBatchSize = ingestBatchSize;
         
         // Initialize Prometheus counters
         this.totalTransactionsCounter = Counter.builder("transactions_total")
@@ -57,36 +114,61 @@ public class TransactionServiceImpl implements TransactionService {
         this.errorTransactionsCounter = Counter.builder("transactions_error")
                 .description("Total number of transactions with errors")
                 .register(meterRegistry);
-        
-        // Initialize sample data for regions and cities
-        initializeSampleData();
     }
     
-    private void initializeSampleData() {
-        // Initialize regions for countries
-        regionsMap.put("USA", new String[]{"East Coast", "West Coast", "Midwest", "South", "Northwest"});
-        regionsMap.put("Canada", new String[]{"Ontario", "Quebec", "British Columbia", "Alberta", "Manitoba"});
-        regionsMap.put("UK", new String[]{"England", "Scotland", "Wales", "Northern Ireland"});
-        regionsMap.put("Germany", new String[]{"Bavaria", "Berlin", "Hamburg", "Saxony", "Hesse"});
-        regionsMap.put("France", new String[]{"Île-de-France", "Provence", "Normandy", "Brittany", "Alsace"});
-        regionsMap.put("Japan", new String[]{"Kanto", "Kansai", "Chubu", "Kyushu", "Tohoku"});
-        regionsMap.put("Australia", new String[]{"New South Wales", "Victoria", "Queensland", "Western Australia", "South Australia"});
-        regionsMap.put("India", new String[]{"Maharashtra", "Delhi", "Karnataka", "Tamil Nadu", "Gujarat"});
-        regionsMap.put("Brazil", new String[]{"São Paulo", "Rio de Janeiro", "Minas Gerais", "Bahia", "Paraná"});
-        regionsMap.put("China", new String[]{"Guangdong", "Beijing", "Shanghai", "Sichuan", "Zhejiang"});
+    @Override
+    public Transaction saveTransaction(Transaction transaction) {
+        fraudScorer.apply(transaction);
+        dimensions.resolve(transaction);
+
+        // Update metrics
+        recordMetrics(transaction);
         
-        // Initialize cities for regions (simplified)
-        citiesMap.put("East Coast", new String[]{"New York", "Boston", "Philadelphia", "Miami", "Washington DC"});
-        citiesMap.put("West Coast", new String[]{"Los Angeles", "San Francisco", "Seattle", "Portland", "San Diego"});
-        citiesMap.put("England", new String[]{"London", "Manchester", "Birmingham", "Liverpool", "Leeds"});
-        citiesMap.put("Bavaria", new String[]{"Munich", "Nuremberg", "Augsburg", "Regensburg", "Würzburg"});
-        citiesMap.put("Île-de-France", new String[]{"Paris", "Versailles", "Saint-Denis", "Boulogne-Billancourt", "Argenteuil"});
-        // Add more cities as needed
+        Transaction saved = transactionRepository.save(transaction);
+        notifySaved(saved);
+        return saved;
     }
 
     @Override
-    public Transaction saveTransaction(Transaction transaction) {
-        // Update metrics
+    public Map<String, Object> saveAll(List<Transaction> transactions) {
+        long startNanos = System.nanoTime();
+        int batches = 0;
+
+        // Commit in fixed-size chunks: each chunk is flushed as JDBC batches and then cleared
+        // from the persistence context so memory stays flat for large payloads
+        for (int from = 0; from < transactions.size(); from += ingestBatchSize) {
+            List<Transaction> batch = transactions.subList(from, Math.min(from + ingestBatchSize, transactions.size()));
+            // New dimension names are committed before the chunk's transaction takes its connection
+            for (Transaction transaction : batch) {
+                fraudScorer.apply(transaction);
+                dimensions.resolve(transaction);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionRepository.saveAll(batch);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (Transaction transaction : batch) {
+                recordMetrics(transaction);
+                notifySaved(transaction);
+            }
+            batches++;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos > 0 ? transactions.size() * 1_000_000_000.0 / elapsedNanos : 0.0;
+        log.debug("Ingested {} transactions in {} batches at {} rows/s", transactions.size(), batches, Math.round(rowsPerSecond));
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("saved", transactions.size());
+        result.put("batches", batches);
+        result.put("batchSize", ingestBatchSize);
+        result.put("elapsedMillis", elapsedNanos / 1_000_000);
+        result.put("rowsPerSecond", rowsPerSecond);
+        return result;
+    }
+
+    private void recordMetrics(Transaction transaction) {
         totalTransactionsCounter.increment();
         if (transaction.isFraudulent()) {
             fraudulentTransactionsCounter.increment();
@@ -94,90 +176,132 @@ public class TransactionServiceImpl implements TransactionService {
         if (transaction.isError()) {
             errorTransactionsCounter.increment();
         }
-        
-        return transactionRepository.save(transaction);
+    }
+
+    private void notifySaved(Transaction transaction) {
+        notifyListeners(listener -> listener.onTransactionSaved(transaction));
+    }
+
+    // Listener failures must not fail a save or delete that has already been committed
+    private void notifyListeners(Consumer<TransactionListener> notification) {
+        for (TransactionListener listener : transactionListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                log.warn("Transaction listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
     }
 
     @Override
     public Transaction getTransactionById(Long id) {
-        return transactionRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException("Transaction not found with ID: " + id));
+        Transaction transaction = readCache.getTransaction(id,
+                key -> cacheLoadTemplate(true).execute(status -> transactionRepository.findById(key).orElse(null)));
+        if (transaction == null) {
+            throw new NoSuchElementException("Transaction not found with ID: " + id);
+        }
+        return transaction;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Transaction> getAllTransactions(Pageable pageable) {
         return transactionRepository.findAll(pageable);
     }
 
     @Override
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresent(transaction -> {
+            transactionRepository.delete(transaction);
+            notifyListeners(listener -> listener.onTransactionDeleted(transaction));
+        });
     }
 
+    // A cached transaction is only returned when its timestamp matches, as the query would require
     @Override
-    public Page<Transaction> getTransactionsByRegion(String country, String region, String city, Pageable pageable) {
-        if (country != null && region != null && city != null) {
-            return transactionRepository.findByCountryAndRegionAndCityAndAmountBetween(
-                    country, region, city, BigDecimal.ZERO, new BigDecimal("999999999"), pageable);
-        } else if (country != null && region != null) {
-            return transactionRepository.findByCountryAndRegionAndAmountBetween(
-                    country, region, BigDecimal.ZERO, new BigDecimal("999999999"), pageable);
-        } else if (country != null) {
-            return transactionRepository.findByCountry(country, pageable);
-        } else if (region != null) {
-            return transactionRepository.findByRegion(region, pageable);
-        } else if (city != null) {
-            return transactionRepository.findByCity(city, pageable);
-        } else {
-            return transactionRepository.findAll(pageable);
+    public Transaction getTransactionById(Long id, LocalDateTime timestamp) {
+        Transaction transaction = readCache.getTransaction(id, key -> cacheLoadTemplate(true).execute(status ->
+                transactionRepository.findByIdAndTimestamp(key, timestamp).orElse(null)));
+        if (transaction == null || !transaction.getTimestamp().equals(timestamp)) {
+            throw new NoSuchElementException("Transaction not found with ID: " + id + " at " + timestamp);
         }
+        return transaction;
     }
 
     @Override
-    public Page<Transaction> getTransactionsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable) {
-        return transactionRepository.findByAmountBetween(minAmount, maxAmount, pageable);
+    public void deleteTransaction(Long id, LocalDateTime timestamp) {
+        transactionRepository.findByIdAndTimestamp(id, timestamp).ifPresent(transaction -> {
+            if (transactionRepository.deleteByIdAndTimestamp(id, timestamp) > 0) {
+                notifyListeners(listener -> listener.onTransactionDeleted(transaction));
+            }
+        });
     }
 
+    // Pages sorted by timestamp over a range inside the hot window are answered from memory. A filter value
+    // missing from the dimension tables matches nothing, and is not queried so it is not interned either.
     @Override
-    public Page<Transaction> getTransactionsByRegionAndAmountRange(
-            String country, String region, String city, 
-            BigDecimal minAmount, BigDecimal maxAmount, 
-            Pageable pageable) {
-        
-        if (country != null && region != null && city != null) {
-            return transactionRepository.findByCountryAndRegionAndCityAndAmountBetween(
-                    country, region, city, minAmount, maxAmount, pageable);
-        } else if (country != null && region != null) {
-            return transactionRepository.findByCountryAndRegionAndAmountBetween(
-                    country, region, minAmount, maxAmount, pageable);
-        } else if (country != null) {
-            return transactionRepository.findByCountryAndAmountBetween(
-                    country, minAmount, maxAmount, pageable);
-        } else if (region != null) {
-            return transactionRepository.findByRegionAndAmountBetween(
-                    region, minAmount, maxAmount, pageable);
-        } else {
-            return transactionRepository.findByAmountBetween(minAmount, maxAmount, pageable);
-        }
+    public Page<TransactionView> searchTransactions(TransactionFilter filter, Pageable pageable) {
+        return readCache.getPage(filter, pageable, () -> hotWindow.page(filter, pageable)
+                .orElseGet(() -> !dimensions.canMatch(filter)
+                        ? new PageImpl<>(List.of(), pageable, 0)
+                        : cacheLoadTemplate(readCache.cachesPage(pageable)).execute(status ->
+                                transactionRepository.findViews(TransactionSpecifications.matching(filter), pageable))));
     }
 
+    // Fetches size + 1 rows past the cursor to learn whether there is a next page; never issues a COUNT
+    // The first slice of each filter is cached; continuation slices always query, the hot window first
     @Override
-    public Page<Transaction> getFraudulentTransactions(Pageable pageable) {
-        return transactionRepository.findByIsFraudulent(true, pageable);
+    public Slice<TransactionView> searchTransactions(TransactionFilter filter, TransactionCursor after, int size) {
+        if (!dimensions.canMatch(filter)) {
+            return new SliceImpl<>(List.of(), PageRequest.of(0, size, TransactionSpecifications.KEYSET_SORT), false);
+        }
+        if (after == null) {
+            return readCache.getFirstSlice(filter, size, () -> hotWindow.newest(filter, null, size)
+                    .orElseGet(() -> cacheLoadTemplate(readCache.cachesFirstSlices()).execute(status ->
+                            transactionRepository.findViewSlice(TransactionSpecifications.matching(filter),
+                                    TransactionSpecifications.KEYSET_SORT, size))));
+        }
+        Specification<Transaction> specification = TransactionSpecifications.matching(filter)
+                .and(TransactionSpecifications.after(after));
+        return hotWindow.newest(filter, after, size).orElseGet(() -> readOnlyTemplate.execute(status ->
+                transactionRepository.findViewSlice(specification, TransactionSpecifications.KEYSET_SORT, size)));
+    }
+
+    // Reads whose result is cached run in a read-write transaction, which is never routed to a replica: a
+    // lagging replica could return rows older than the cache generation, served until the entry expires
+    private TransactionTemplate cacheLoadTemplate(boolean cached) {
+        return cached ? transactionTemplate : readOnlyTemplate;
     }
 
+    // Planner statistics exist for the whole table and for the partial fraud/error indexes, which
+    // only contain flagged rows; any other filter has no cheap estimate
     @Override
-    public Page<Transaction> getErrorTransactions(Pageable pageable) {
-        return transactionRepository.findByIsError(true, pageable);
+    @Transactional(readOnly = true)
+    public Long estimateTransactionCount(TransactionFilter filter) {
+        if (filter.hasOnlyFlags(null, null)) {
+            return transactionRepository.estimateRowCount("transactions");
+        } else if (filter.hasOnlyFlags(true, null)) {
+            return transactionRepository.estimateRowCount("idx_transactions_fraudulent_timestamp");
+        } else if (filter.hasOnlyFlags(null, true)) {
+            return transactionRepository.estimateRowCount("idx_transactions_error_timestamp");
+        }
+        return null;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Object> getTransactionMetrics(LocalDateTime startTime, LocalDateTime endTime) {
         Map<String, Object> metrics = new HashMap<>();
         
-        long totalCount = transactionRepository.countTransactionsInTimeRange(startTime, endTime);
-        long fraudCount = transactionRepository.countFraudulentTransactionsInTimeRange(startTime, endTime);
-        long errorCount = transactionRepository.countErrorTransactionsInTimeRange(startTime, endTime);
+        // Served from the in-memory buckets; only ranges older than the retention window hit the database
+        TransactionMetricsAggregator.Counts counts = metricsAggregator.getCounts(startTime, endTime)
+                .orElseGet(() -> new TransactionMetricsAggregator.Counts(
+                        transactionRepository.countTransactionsInTimeRange(startTime, endTime),
+                        transactionRepository.countFraudulentTransactionsInTimeRange(startTime, endTime),
+                        transactionRepository.countErrorTransactionsInTimeRange(startTime, endTime)));
+        long totalCount = counts.total();
+        long fraudCount = counts.fraudulent();
+        long errorCount = counts.errors();
         
         metrics.put("totalTransactions", totalCount);
         metrics.put("fraudulentTransactions", fraudCount);
@@ -192,98 +316,55 @@ public class TransactionServiceImpl implements TransactionService {
             metrics.put("errorRate", 0.0);
         }
         
+        // Approximate distinct cards and amount percentiles, while the range is within the sketches' retention
+        sketches.getDistribution(startTime, endTime).ifPresent(distribution -> {
+            putSummary(metrics, distribution.all());
+            Map<String, Object> byCountry = new LinkedHashMap<>();
+            distribution.byCountry().forEach((country, summary) -> {
+                Map<String, Object> countryMetrics = new LinkedHashMap<>();
+                countryMetrics.put("transactions", summary.transactions());
+                putSummary(countryMetrics, summary);
+                byCountry.put(country, countryMetrics);
+            });
+            metrics.put("byCountry", byCountry);
+        });
+        
         metrics.put("startTime", startTime);
         metrics.put("endTime", endTime);
         
         return metrics;
     }
 
+    private static void putSummary(Map<String, Object> metrics, TransactionSketches.Summary summary) {
+        metrics.put("uniqueCards", summary.uniqueCards());
+        metrics.put("amountP50", summary.amountP50());
+        metrics.put("amountP95", summary.amountP95());
+        metrics.put("amountP99", summary.amountP99());
+    }
+
     @Override
-    public void simulateTransactions(int count) {
-        for (int i = 0; i < count; i++) {
-            Transaction transaction = generateRandomTransaction();
-            saveTransaction(transaction);
+    public List<VolumeDataPoint> getTransactionVolume(LocalDateTime startTime, LocalDateTime endTime,
+                                                      RollupGranularity granularity) {
+        if (granularity == null) {
+            granularity = RollupGranularity.forRange(startTime, endTime);
         }
+        return rollupService.getVolume(startTime, endTime, granularity);
     }
 
     @Override
-    public void startTransactionSimulation(int transactionsPerMinute) {
-        this.transactionsPerMinute = transactionsPerMinute;
-        simulationRunning.set(true);
+    public List<GeoDistributionDataPoint> getGeoDistribution(String viewBy) {
+        return geoCounters.getDistribution(viewBy);
     }
 
     @Override
-    public void stopTransactionSimulation() {
-        simulationRunning.set(false);
-    }
-    
-    @Scheduled(fixedRate = 60000) // Run every minute
-    public void scheduledTransactionSimulation() {
-        if (simulationRunning.get()) {
-            simulateTransactions(transactionsPerMinute);
+    public void simulateTransactions(int count) {
+        SplittableRandom random = new SplittableRandom();
+        TransactionEvent event = new TransactionEvent();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactionGenerator.next(random, event);
+            transactions.add(event.toTransaction());
         }
-    }
-    
-    // Helper method to generate random transactions for simulation
-    private Transaction generateRandomTransaction() {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-        
-        // Generate random card number (simplified)
-        String cardNumber = "4" + String.format("%015d", random.nextLong(1_000_000_000_000_000L));
-        
-        // Generate random amount between $1 and $10,000
-        BigDecimal amount = BigDecimal.valueOf(random.nextDouble(1.0, 10000.0)).setScale(2, BigDecimal.ROUND_HALF_UP);
-        
-        // Select random location
-        String country = countries[random.nextInt(countries.length)];
-        String[] regions = regionsMap.getOrDefault(country, new String[]{"Unknown Region"});
-        String region = regions[random.nextInt(regions.length)];
-        String[] cities = citiesMap.getOrDefault(region, new String[]{"Unknown City"});
-        String city = cities.length > 0 ? cities[random.nextInt(cities.length)] : "Unknown City";
-        
-        // Select random merchant and transaction type
-        String merchantName = merchantNames[random.nextInt(merchantNames.length)];
-        String transactionType = transactionTypes[random.nextInt(transactionTypes.length)];
-        String currency = currencies[random.nextInt(currencies.length)];
-        
-        // Randomly determine if transaction is fraudulent (5% chance)
-        boolean isFraudulent = random.nextInt(100) < 5;
-        
-        // Randomly determine if transaction has an error (3% chance)
-        boolean isError = random.nextInt(100) < 3;
-        
-        // Generate error message if there's an error
-        String errorMessage = isError ? generateRandomErrorMessage() : null;
-        
-        // Create transaction with current timestamp
-        return new Transaction(
-                cardNumber,
-                amount,
-                currency,
-                LocalDateTime.now(),
-                merchantName,
-                country,
-                region,
-                city,
-                transactionType,
-                isFraudulent,
-                isError,
-                errorMessage
-        );
-    }
-    
-    private String generateRandomErrorMessage() {
-        String[] errorMessages = {
-                "Insufficient funds",
-                "Card expired",
-                "Invalid card number",
-                "Transaction timeout",
-                "Network error",
-                "Card blocked",
-                "Security verification failed",
-                "Processing error"
-        };
-        
-        return errorMessages[ThreadLocalRandom.current().nextInt(errorMessages.length)];
+        saveAll(transactions);
     }
 }
\ No newline at end of file
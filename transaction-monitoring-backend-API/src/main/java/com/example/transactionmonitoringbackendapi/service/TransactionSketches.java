@@ -0,0 +1,303 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Distinct active cards and amount percentiles per time range, overall and per country, from mergeable
+ * sketches kept per minute and per hour.
+ *
+ * Every slot of the two rings holds, for all transactions and for each country seen in it, a
+ * {@link HyperLogLog} of card numbers and an HDR histogram of amounts in cents (two significant digits,
+ * so percentiles are within 1%). A range query merges the hour slots it covers entirely and, for its
+ * partial first and last hours, the minute slots when they are still kept, otherwise the whole hour.
+ * Each slot takes about 10 KB per country present, so the defaults (120 minutes, 24 hours) stay in the
+ * low megabytes for a handful of countries. The rings are rebuilt from the database at startup; ranges
+ * older than {@code transaction.sketches.hours} get no sketch results.
+ *
+ * Deletions are not subtracted: neither sketch supports removal, and deletes are rare.
+ */
+@Component
+public class TransactionSketches implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSketches.class);
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    /**
+     * Approximate figures for one set of transactions; the percentiles are null when it is empty
+     */
+    public record Summary(long transactions, long uniqueCards, BigDecimal amountP50, BigDecimal amountP95,
+                          BigDecimal amountP99) {
+    }
+
+    public record Distribution(Summary all, Map<String, Summary> byCountry) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final int hours;
+    private final int precision;
+    private final int maxCountries;
+
+    private final Slot[] minuteSlots;
+    private final Slot[] hourSlots;
+
+    // As in TransactionMetricsAggregator: until the startup rebuild has finished, live transactions are
+    // only recorded from this epoch second on, so rows read by the rebuild query are never added twice
+    private volatile long liveFromEpochSecond = Long.MAX_VALUE;
+    // Once ready, every transaction at or after this epoch second is in the sketches
+    private volatile long coverageStartSecond = Long.MIN_VALUE;
+    private volatile boolean ready = false;
+
+    public TransactionSketches(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               @Value("${transaction.sketches.minutes:120}") int minutes,
+                               @Value("${transaction.sketches.hours:24}") int hours,
+                               @Value("${transaction.sketches.hll-precision:12}") int precision,
+                               @Value("${transaction.sketches.max-countries:50}") int maxCountries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTemplate.setReadOnly(true);
+        this.hours = hours;
+        this.precision = precision;
+        this.maxCountries = maxCountries;
+        this.minuteSlots = newRing(minutes);
+        // One hour more than the retention, so a range starting `hours` ago still finds its first hour
+        this.hourSlots = newRing(hours + 1);
+    }
+
+    /**
+     * Rebuild the sketches from the database, from the start of the hour `hours` ago, on a background
+     * thread; queries get no sketch results until it is done
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long cutoff = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        liveFromEpochSecond = cutoff;
+        Thread.ofPlatform().name("sketch-loader").daemon().start(() -> {
+            try {
+                loadFromDatabase(cutoff);
+            } catch (RuntimeException e) {
+                log.error("Rebuilding the card and amount sketches failed; metrics are served without them", e);
+            }
+        });
+    }
+
+    void loadFromDatabase(long cutoff) {
+        long startNanos = System.nanoTime();
+        long from = (Math.floorDiv(cutoff, 3600) - hours) * 3600;
+        long[] loaded = {0};
+        readOnlyTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT t.timestamp, co.name, t.card_number, t.amount FROM transactions t " +
+                            "JOIN countries co ON co.id = t.country_id WHERE t.timestamp >= ? AND t.timestamp < ?");
+            statement.setFetchSize(10_000);
+            statement.setObject(1, LocalDateTime.ofEpochSecond(from, 0, ZoneOffset.UTC));
+            statement.setObject(2, LocalDateTime.ofEpochSecond(cutoff, 0, ZoneOffset.UTC));
+            return statement;
+        }, rs -> {
+            record(rs.getObject(1, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC), rs.getString(2),
+                    rs.getString(3), rs.getBigDecimal(4));
+            loaded[0]++;
+        }));
+
+        raiseCoverageStart(from);
+        liveFromEpochSecond = Long.MIN_VALUE;
+        ready = true;
+        log.info("Card and amount sketches rebuilt from {} rows in {} ms", loaded[0],
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        LocalDateTime timestamp = transaction.getTimestamp();
+        if (timestamp == null) {
+            return;
+        }
+        long second = timestamp.toEpochSecond(ZoneOffset.UTC);
+        if (second >= liveFromEpochSecond) {
+            record(second, transaction.getCountry(), transaction.getCardNumber(), transaction.getAmount());
+        }
+    }
+
+    /**
+     * The imported rows are not passed on, so the sketches stop covering the imported time range
+     */
+    @Override
+    public void onTransactionsImported(ImportedBatch batch) {
+        if (batch.latest() != null) {
+            raiseCoverageStart(batch.latest().toEpochSecond(ZoneOffset.UTC) + 1);
+        }
+    }
+
+    /**
+     * Distinct cards and amount percentiles of the transactions between startTime and endTime, or empty
+     * when the range starts before the sketches' coverage
+     */
+    public Optional<Distribution> getDistribution(LocalDateTime startTime, LocalDateTime endTime) {
+        long from = startTime.toEpochSecond(ZoneOffset.UTC);
+        long to = endTime.toEpochSecond(ZoneOffset.UTC);
+        long now = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        long firstHour = Math.floorDiv(from, 3600);
+        if (!ready || to < from || from < coverageStartSecond || firstHour < Math.floorDiv(now, 3600) - hours) {
+            return Optional.empty();
+        }
+        long oldestMinute = Math.max(Math.floorDiv(now, 60) - minuteSlots.length + 1,
+                Math.ceilDiv(coverageStartSecond, 60));
+
+        Merged merged = new Merged();
+        for (long hour = firstHour; hour <= Math.floorDiv(to, 3600); hour++) {
+            long firstMinute = Math.max(Math.floorDiv(from, 60), hour * 60);
+            long lastMinute = Math.min(Math.floorDiv(to, 60), hour * 60 + 59);
+            boolean wholeHour = firstMinute == hour * 60 && lastMinute == hour * 60 + 59;
+            if (!wholeHour && firstMinute >= oldestMinute) {
+                for (long minute = firstMinute; minute <= lastMinute; minute++) {
+                    merged.add(minuteSlots, minute);
+                }
+            } else {
+                merged.add(hourSlots, hour);
+            }
+        }
+        return Optional.of(merged.toDistribution());
+    }
+
+    private synchronized void raiseCoverageStart(long second) {
+        coverageStartSecond = Math.max(coverageStartSecond, second);
+    }
+
+    private void record(long second, String country, String cardNumber, BigDecimal amount) {
+        long cardHash = cardNumber != null ? HyperLogLog.hash(cardNumber) : 0;
+        // Negative amounts cannot be recorded in the histogram
+        long cents = amount != null && amount.signum() >= 0 ? amount.movePointRight(2).longValue() : -1;
+        record(minuteSlots, Math.floorDiv(second, 60), country, cardNumber != null, cardHash, cents);
+        record(hourSlots, Math.floorDiv(second, 3600), country, cardNumber != null, cardHash, cents);
+    }
+
+    private void record(Slot[] ring, long period, String country, boolean hasCard, long cardHash, long cents) {
+        Slot slot = ring[(int) Math.floorMod(period, ring.length)];
+        synchronized (slot) {
+            if (slot.period < period) {
+                slot.all = null;
+                slot.countries.clear();
+                slot.period = period;
+            } else if (slot.period > period) {
+                // Older than the ring
+                return;
+            }
+            if (slot.all == null) {
+                slot.all = new Bucket(precision);
+            }
+            slot.all.add(hasCard, cardHash, cents);
+            if (country != null) {
+                Bucket bucket = slot.countries.get(country);
+                if (bucket == null && slot.countries.size() < maxCountries) {
+                    bucket = new Bucket(precision);
+                    slot.countries.put(country, bucket);
+                }
+                if (bucket != null) {
+                    bucket.add(hasCard, cardHash, cents);
+                }
+            }
+        }
+    }
+
+    private static Slot[] newRing(int size) {
+        Slot[] ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+        }
+        return ring;
+    }
+
+    private static final class Slot {
+        long period = Long.MIN_VALUE;
+        Bucket all;
+        final Map<String, Bucket> countries = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        final HyperLogLog cards;
+        final AbstractHistogram amounts;
+        long transactions;
+
+        Bucket(int precision) {
+            this(new HyperLogLog(precision), new IntCountsHistogram(SIGNIFICANT_DIGITS));
+        }
+
+        Bucket(HyperLogLog cards, AbstractHistogram amounts) {
+            this.cards = cards;
+            this.amounts = amounts;
+        }
+
+        void add(boolean hasCard, long cardHash, long cents) {
+            transactions++;
+            if (hasCard) {
+                cards.addHash(cardHash);
+            }
+            if (cents >= 0) {
+                amounts.recordValue(cents);
+            }
+        }
+
+        void merge(Bucket other) {
+            transactions += other.transactions;
+            cards.merge(other.cards);
+            amounts.add(other.amounts);
+        }
+
+        Summary toSummary() {
+            if (transactions == 0) {
+                return new Summary(0, 0, null, null, null);
+            }
+            return new Summary(transactions, cards.estimate(), percentile(50), percentile(95), percentile(99));
+        }
+
+        private BigDecimal percentile(double percentile) {
+            return amounts.getTotalCount() == 0 ? null
+                    : BigDecimal.valueOf(amounts.getValueAtPercentile(percentile), 2);
+        }
+    }
+
+    // Sums of the slots of a query; merged buckets count in long, since they can exceed a slot's int counts
+    private final class Merged {
+        final Bucket all = new Bucket(new HyperLogLog(precision), new Histogram(SIGNIFICANT_DIGITS));
+        final Map<String, Bucket> countries = new TreeMap<>();
+
+        void add(Slot[] ring, long period) {
+            Slot slot = ring[(int) Math.floorMod(period, ring.length)];
+            synchronized (slot) {
+                if (slot.period != period || slot.all == null) {
+                    return;
+                }
+                all.merge(slot.all);
+                slot.countries.forEach((country, bucket) -> countries
+                        .computeIfAbsent(country, c -> new Bucket(new HyperLogLog(precision), new Histogram(SIGNIFICANT_DIGITS)))
+                        .merge(bucket));
+            }
+        }
+
+        Distribution toDistribution() {
+            Map<String, Summary> byCountry = new TreeMap<>();
+            countries.forEach((country, bucket) -> byCountry.put(country, bucket.toSummary()));
+            return new Distribution(all.toSummary(), byCountry);
+        }
+    }
+}
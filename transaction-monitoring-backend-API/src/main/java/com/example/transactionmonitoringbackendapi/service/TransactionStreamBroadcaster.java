@@ -0,0 +1,273 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single fan-out point for the {@code /stream} Server-Sent Events endpoint.
+ *
+ * Saved transactions are only queued on the ingest thread. A dispatcher tick serializes each new
+ * transaction and the metric delta once and hands the same payloads to every subscriber, so the
+ * cost per event does not grow with the number of open dashboards. Each subscriber has a bounded
+ * buffer: when it cannot keep up the oldest transactions are dropped, and metric deltas are summed
+ * into the next event instead of queued.
+ */
+@Component
+public class TransactionStreamBroadcaster implements TransactionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionStreamBroadcaster.class);
+
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 15_000;
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Slots reserved against maxSubscribers, taken before a subscriber is added and released once on removal
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    // Filled by the ingest threads, drained by the dispatcher
+    private final BlockingQueue<Transaction> published;
+    private final LongAdder pendingTotal = new LongAdder();
+    private final LongAdder pendingFraudulent = new LongAdder();
+    private final LongAdder pendingErrors = new LongAdder();
+    private final LongAdder publishDropped = new LongAdder();
+
+    // Sends block on the client's socket, so each subscriber is drained on its own virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private long lastHeartbeatMillis = System.currentTimeMillis();
+
+    public TransactionStreamBroadcaster(ObjectMapper objectMapper,
+                                        @Value("${transaction.stream.buffer-size:256}") int bufferSize,
+                                        @Value("${transaction.stream.max-subscribers:2000}") int maxSubscribers,
+                                        @Value("${transaction.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.published = new ArrayBlockingQueue<>(bufferSize * 4);
+    }
+
+    /**
+     * Register a new subscriber, or return null when the subscriber limit has been reached
+     */
+    public SseEmitter subscribe() {
+        if (reserved.incrementAndGet() > maxSubscribers) {
+            reserved.decrementAndGet();
+            return null;
+        }
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void onTransactionSaved(Transaction transaction) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pendingTotal.increment();
+        if (transaction.isFraudulent()) {
+            pendingFraudulent.increment();
+        }
+        if (transaction.isError()) {
+            pendingErrors.increment();
+        }
+        // Dispatcher is behind: the oldest transaction is the least interesting one to a live dashboard
+        while (!published.offer(transaction)) {
+            if (published.poll() != null) {
+                publishDropped.increment();
+            }
+        }
+    }
+
+    /**
+     * Serialize what was published since the last tick once and queue it for every subscriber
+     */
+    @Scheduled(fixedDelayString = "${transaction.stream.dispatch-interval-ms:250}")
+    public void dispatch() {
+        List<Transaction> batch = new ArrayList<>();
+        published.drainTo(batch);
+        long total = pendingTotal.sumThenReset();
+        long fraudulent = pendingFraudulent.sumThenReset();
+        long errors = pendingErrors.sumThenReset();
+        long dropped = publishDropped.sumThenReset();
+
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeatMillis >= HEARTBEAT_INTERVAL_MILLIS;
+        if (heartbeat) {
+            lastHeartbeatMillis = now;
+        }
+        if (subscribers.isEmpty() || (batch.isEmpty() && total == 0 && !heartbeat)) {
+            return;
+        }
+
+        List<String> events = new ArrayList<>(batch.size());
+        for (Transaction transaction : batch) {
+            String json = toJson(TransactionView.of(transaction));
+            if (json != null) {
+                events.add(json);
+            }
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(events, total, fraudulent, errors, dropped, heartbeat);
+            if (subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Subscriber.Pending pending;
+            while ((pending = subscriber.take()) != null) {
+                for (String json : pending.events()) {
+                    subscriber.emitter.send(SseEmitter.event().name("transaction").data(json, MediaType.APPLICATION_JSON));
+                }
+                if (pending.total() != 0 || pending.dropped() != 0) {
+                    String metrics = toJson(Map.of(
+                            "total", pending.total(),
+                            "fraudulent", pending.fraudulent(),
+                            "error", pending.errors(),
+                            "dropped", pending.dropped()));
+                    subscriber.emitter.send(SseEmitter.event().name("metrics").data(metrics, MediaType.APPLICATION_JSON));
+                } else if (pending.heartbeat()) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter callbacks may not fire for a broken connection
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+            log.debug("Dropped stream subscriber: {}", e.getMessage());
+        } finally {
+            subscriber.sending.set(false);
+            // A tick may have enqueued after take() returned null but before the flag was cleared
+            if (subscriber.hasPending() && subscribers.contains(subscriber)
+                    && subscriber.sending.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    // Callbacks may fire more than once for the same subscriber; only the first removal frees its slot
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize stream event", e);
+            return null;
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean(false);
+        private final int bufferSize;
+
+        // Guarded by this
+        private final ArrayDeque<String> events = new ArrayDeque<>();
+        private long total;
+        private long fraudulent;
+        private long errors;
+        private long dropped;
+        private boolean heartbeat;
+
+        Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.bufferSize = bufferSize;
+        }
+
+        synchronized void enqueue(List<String> newEvents, long total, long fraudulent, long errors,
+                                  long dropped, boolean heartbeat) {
+            for (String event : newEvents) {
+                if (events.size() == bufferSize) {
+                    events.pollFirst();
+                    this.dropped++;
+                }
+                events.addLast(event);
+            }
+            // Metric deltas are coalesced: a slow subscriber gets one summed delta, not a backlog
+            this.total += total;
+            this.fraudulent += fraudulent;
+            this.errors += errors;
+            this.dropped += dropped;
+            this.heartbeat |= heartbeat;
+        }
+
+        synchronized boolean hasPending() {
+            return !events.isEmpty() || total != 0 || dropped != 0 || heartbeat;
+        }
+
+        synchronized Pending take() {
+            if (!hasPending()) {
+                return null;
+            }
+            Pending pending = new Pending(new ArrayList<>(events), total, fraudulent, errors, dropped, heartbeat);
+            events.clear();
+            total = 0;
+            fraudulent = 0;
+            errors = 0;
+            dropped = 0;
+            heartbeat = false;
+            return pending;
+        }
+
+        record Pending(List<String> events, long total, long fraudulent, long errors, long dropped, boolean heartbeat) {
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionIngestQueue;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Constant-rate, open-loop transaction load generator.
+ *
+ * Each worker owns an equal share of the target rate and a fixed schedule of intended send times.
+ * Events that are due are written together (up to {@code batchSize}), and latency is measured from
+ * each event's intended send time rather than from when the write actually started, so stalls in
+ * the system under test show up in the histogram instead of silently lowering the offered load
+ * (coordinated omission). A worker that falls more than a second behind skips the backlog and
+ * counts it as dropped.
+ */
+@Component
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final long MAX_LAG_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final TransactionService transactionService;
+    private final TransactionIngestQueue ingestQueue;
+    private final NanoClock clock;
+
+    private volatile Run current;
+
+    @Autowired
+    public LoadGenerator(TransactionService transactionService, TransactionIngestQueue ingestQueue) {
+        this(transactionService, ingestQueue, NanoClock.SYSTEM);
+    }
+
+    LoadGenerator(TransactionService transactionService, TransactionIngestQueue ingestQueue, NanoClock clock) {
+        this.transactionService = transactionService;
+        this.ingestQueue = ingestQueue;
+        this.clock = clock;
+    }
+
+    /**
+     * Start a run; fails when one is already running
+     */
+    public synchronized LoadReport start(LoadProfile profile) {
+        profile.validate();
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("A load generator run is already in progress");
+        }
+        current = new Run(profile);
+        current.start();
+        log.info("Load generator started at {} tx/s with {} workers, sink {}",
+                profile.getRatePerSecond(), profile.getWorkers(), profile.getSink());
+        return current.report();
+    }
+
+    /**
+     * Stop the current run and return its final report, or null when nothing has run yet
+     */
+    @PreDestroy
+    public synchronized LoadReport stop() {
+        Run run = current;
+        if (run == null) {
+            return null;
+        }
+        run.stop();
+        return run.report();
+    }
+
+    /**
+     * Report of the current or last run, or null when nothing has run yet
+     */
+    public LoadReport report() {
+        Run run = current;
+        return run == null ? null : run.report();
+    }
+
+    private final class Run {
+
+        private final LoadProfile profile;
+        private final TransactionGenerator generator;
+        private final List<Thread> workers = new ArrayList<>();
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram latencies = new Histogram(3);
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private volatile boolean stopped = false;
+        private long startNanos;
+        private volatile long endNanos = 0;
+
+        Run(LoadProfile profile) {
+            this.profile = profile;
+            this.generator = new TransactionGenerator(profile);
+        }
+
+        void start() {
+            startNanos = clock.nanoTime();
+            long deadline = profile.getDurationSeconds() == 0
+                    ? Long.MAX_VALUE
+                    : startNanos + TimeUnit.SECONDS.toNanos(profile.getDurationSeconds());
+            long intervalNanos = Math.max(1, Math.round(1e9 * profile.getWorkers() / profile.getRatePerSecond()));
+            SplittableRandom seed = new SplittableRandom();
+            for (int i = 0; i < profile.getWorkers(); i++) {
+                // Stagger the workers' schedules so the combined send times stay evenly spaced
+                long firstSend = startNanos + i * intervalNanos / profile.getWorkers();
+                SplittableRandom random = seed.split();
+                workers.add(Thread.ofPlatform().name("load-generator-" + i).daemon()
+                        .start(() -> runWorker(firstSend, intervalNanos, deadline, random)));
+            }
+            Thread.ofPlatform().name("load-generator-monitor").daemon().start(() -> {
+                for (Thread worker : workers) {
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                finish();
+            });
+        }
+
+        void stop() {
+            stopped = true;
+            for (Thread worker : workers) {
+                try {
+                    worker.join(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            finish();
+        }
+
+        synchronized void finish() {
+            if (endNanos == 0) {
+                endNanos = clock.nanoTime();
+                log.info("Load generator finished: {}", report());
+            }
+        }
+
+        boolean isRunning() {
+            return endNanos == 0;
+        }
+
+        private void runWorker(long firstSend, long intervalNanos, long deadline, SplittableRandom random) {
+            int batchSize = profile.getBatchSize();
+            List<Transaction> batch = new ArrayList<>(batchSize);
+            long[] intended = new long[batchSize];
+            TransactionEvent event = new TransactionEvent();
+            long next = firstSend;
+
+            while (!stopped && next < deadline) {
+                long now = clock.nanoTime();
+                if (next > now) {
+                    // Bounded park so a stop request is noticed even at very low rates
+                    clock.parkNanos(Math.min(next - now, MAX_PARK_NANOS));
+                    continue;
+                }
+                if (now - next > MAX_LAG_NANOS) {
+                    long skipped = (now - next) / intervalNanos;
+                    dropped.add(skipped);
+                    next += skipped * intervalNanos;
+                }
+
+                int count = 0;
+                while (count < batchSize && next <= now && next < deadline) {
+                    generator.next(random, event);
+                    batch.add(event.toTransaction());
+                    intended[count++] = next;
+                    next += intervalNanos;
+                }
+
+                boolean written = write(batch);
+                long done = clock.nanoTime();
+                if (written) {
+                    for (int i = 0; i < count; i++) {
+                        recorder.recordValue(Math.max(0, (done - intended[i]) / 1000));
+                    }
+                    sent.add(count);
+                }
+                batch.clear();
+            }
+        }
+
+        private boolean write(List<Transaction> batch) {
+            try {
+                if (profile.getSink() == LoadProfile.Sink.QUEUE) {
+                    if (ingestQueue.offer(batch) < 0) {
+                        dropped.add(batch.size());
+                        return false;
+                    }
+                    return true;
+                }
+                transactionService.saveAll(batch);
+                return true;
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                log.debug("Load generator write of {} transactions failed", batch.size(), e);
+                return false;
+            }
+        }
+
+        LoadReport report() {
+            Histogram snapshot;
+            synchronized (latencies) {
+                latencies.add(recorder.getIntervalHistogram());
+                snapshot = latencies.copy();
+            }
+            long end = endNanos == 0 ? clock.nanoTime() : endNanos;
+            double elapsedSeconds = (end - startNanos) / 1e9;
+            long sentCount = sent.sum();
+            return new LoadReport(
+                    isRunning(),
+                    profile.getRatePerSecond(),
+                    elapsedSeconds > 0 ? sentCount / elapsedSeconds : 0,
+                    sentCount,
+                    dropped.sum(),
+                    failed.sum(),
+                    elapsedSeconds,
+                    LoadReport.Latency.of(snapshot));
+        }
+    }
+
+    /**
+     * Time source of the workers: {@link System#nanoTime()} and {@link LockSupport#parkNanos(long)}
+     * outside of tests
+     */
+    interface NanoClock {
+
+        NanoClock SYSTEM = new NanoClock() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+
+            @Override
+            public void parkNanos(long nanos) {
+                LockSupport.parkNanos(nanos);
+            }
+        };
+
+        long nanoTime();
+
+        void parkNanos(long nanos);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+/**
+ * Settings of a load generator run. Every field has a default, so a request body only needs to
+ * contain the values it changes; the distribution defaults match the original simulator.
+ */
+public class LoadProfile {
+
+    public enum Sink {
+        // Write through TransactionService.saveAll on the worker thread
+        DIRECT,
+        // Offer to the asynchronous ingest queue; rejected batches count as dropped
+        QUEUE
+    }
+
+    public enum AmountDistribution {
+        UNIFORM,
+        LOG_NORMAL
+    }
+
+    private double ratePerSecond = 1000;
+    private int durationSeconds = 0;
+    private int workers = 4;
+    private int batchSize = 500;
+    private Sink sink = Sink.DIRECT;
+
+    private AmountDistribution amountDistribution = AmountDistribution.UNIFORM;
+    private double minAmount = 1.0;
+    private double maxAmount = 10000.0;
+    private double medianAmount = 50.0;
+    private double amountSigma = 1.2;
+
+    private double geoSkew = 0.0;
+    private double fraudRate = 0.05;
+    private double errorRate = 0.03;
+
+    // Default constructor
+    public LoadProfile() {
+    }
+
+    /**
+     * Default profile at the given rate, as used by the continuous simulation endpoints
+     */
+    public static LoadProfile atRate(double ratePerSecond) {
+        LoadProfile profile = new LoadProfile();
+        profile.setRatePerSecond(ratePerSecond);
+        profile.setWorkers((int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), ratePerSecond / 5000)));
+        return profile;
+    }
+
+    /**
+     * Reject settings the generator cannot run with
+     */
+    public void validate() {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        if (durationSeconds < 0) {
+            throw new IllegalArgumentException("durationSeconds must not be negative (0 runs until stopped)");
+        }
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("workers and batchSize must be at least 1");
+        }
+        if (minAmount <= 0 || maxAmount < minAmount) {
+            throw new IllegalArgumentException("amounts must satisfy 0 < minAmount <= maxAmount");
+        }
+        if (medianAmount <= 0 || amountSigma < 0) {
+            throw new IllegalArgumentException("medianAmount must be positive and amountSigma not negative");
+        }
+        if (geoSkew < 0) {
+            throw new IllegalArgumentException("geoSkew must not be negative");
+        }
+        if (fraudRate < 0 || fraudRate > 1 || errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("fraudRate and errorRate must be between 0 and 1");
+        }
+    }
+
+    // Getters and Setters
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Sink getSink() {
+        return sink;
+    }
+
+    public void setSink(Sink sink) {
+        this.sink = sink;
+    }
+
+    public AmountDistribution getAmountDistribution() {
+        return amountDistribution;
+    }
+
+    public void setAmountDistribution(AmountDistribution amountDistribution) {
+        this.amountDistribution = amountDistribution;
+    }
+
+    public double getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(double minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public double getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(double maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public double getMedianAmount() {
+        return medianAmount;
+    }
+
+    public void setMedianAmount(double medianAmount) {
+        this.medianAmount = medianAmount;
+    }
+
+    public double getAmountSigma() {
+        return amountSigma;
+    }
+
+    public void setAmountSigma(double amountSigma) {
+        this.amountSigma = amountSigma;
+    }
+
+    public double getGeoSkew() {
+        return geoSkew;
+    }
+
+    public void setGeoSkew(double geoSkew) {
+        this.geoSkew = geoSkew;
+    }
+
+    public double getFraudRate() {
+        return fraudRate;
+    }
+
+    public void setFraudRate(double fraudRate) {
+        this.fraudRate = fraudRate;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+}
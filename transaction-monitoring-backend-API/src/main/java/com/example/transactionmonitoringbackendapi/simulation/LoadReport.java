@@ -0,0 +1,35 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Progress of a load generator run. Latencies are in milliseconds, measured from each event's
+ * intended send time to the completion of the write that contained it.
+ */
+public record LoadReport(
+        boolean running,
+        double targetRate,
+        double achievedRate,
+        long sent,
+        long dropped,
+        long failed,
+        double elapsedSeconds,
+        Latency latencyMillis) {
+
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        // The histogram records microseconds
+        static Latency of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(
+                    histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
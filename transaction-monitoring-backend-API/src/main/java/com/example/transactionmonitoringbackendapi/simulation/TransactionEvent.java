@@ -0,0 +1,99 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Reusable, mutable generated transaction. {@link TransactionGenerator#next} overwrites every field
+ * in place, so producing an event allocates nothing; strings are references into the generator's
+ * interned tables and only {@link #toTransaction()} creates objects.
+ */
+public final class TransactionEvent {
+
+    public static final int CARD_NUMBER_LENGTH = 16;
+
+    final char[] cardNumber = new char[CARD_NUMBER_LENGTH];
+    long amountCents;
+    long epochMillis;
+    String currency;
+    String merchantName;
+    String country;
+    String region;
+    String city;
+    String transactionType;
+    boolean fraudulent;
+    boolean error;
+    String errorMessage;
+
+    public char[] getCardNumber() {
+        return cardNumber;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public boolean isFraudulent() {
+        return fraudulent;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * New entity with the current values; the only allocating step of the generator pipeline
+     */
+    public Transaction toTransaction() {
+        return new Transaction(
+                new String(cardNumber),
+                BigDecimal.valueOf(amountCents, 2),
+                currency,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()),
+                merchantName,
+                country,
+                region,
+                city,
+                transactionType,
+                fraudulent,
+                error,
+                errorMessage
+        );
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random transactions shaped by a {@link LoadProfile}: amounts follow the configured distribution,
+ * countries a Zipf distribution with exponent {@code geoSkew} (0 is uniform), and fraud and errors
+ * the configured rates. Instances are immutable and can be shared by threads that each pass their
+ * own {@link RandomGenerator}.
+ *
+ * {@link #next(RandomGenerator, TransactionEvent)} is allocation-free: locations are resolved from
+ * per-country tables built once, card numbers are written into the event's char buffer and amounts
+ * are drawn as whole cents, so objects are only created when an event becomes a {@link Transaction}.
+ */
+public class TransactionGenerator {
+
+    // Sample data for simulation
+    private static final String[] COUNTRIES = {"USA", "Canada", "UK", "Germany", "France", "Japan", "Australia", "India", "Brazil", "China"};
+    private static final Map<String, String[]> REGIONS = new HashMap<>();
+    private static final Map<String, String[]> CITIES = new HashMap<>();
+    private static final String[] MERCHANT_NAMES = {"Amazon", "Walmart", "Target", "Best Buy", "Apple Store", "Starbucks", "McDonald's", "Uber", "Netflix", "Spotify"};
+    private static final String[] TRANSACTION_TYPES = {"PURCHASE", "REFUND", "WITHDRAWAL", "DEPOSIT", "TRANSFER"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "CAD", "JPY", "AUD", "INR", "BRL", "CNY"};
+
+    static {
+        // Regions for countries
+        REGIONS.put("USA", new String[]{"East Coast", "West Coast", "Midwest", "South", "Northwest"});
+        REGIONS.put("Canada", new String[]{"Ontario", "Quebec", "British Columbia", "Alberta", "Manitoba"});
+        REGIONS.put("UK", new String[]{"England", "Scotland", "Wales", "Northern Ireland"});
+        REGIONS.put("Germany", new String[]{"Bavaria", "Berlin", "Hamburg", "Saxony", "Hesse"});
+        REGIONS.put("France", new String[]{"Île-de-France", "Provence", "Normandy", "Brittany", "Alsace"});
+        REGIONS.put("Japan", new String[]{"Kanto", "Kansai", "Chubu", "Kyushu", "Tohoku"});
+        REGIONS.put("Australia", new String[]{"New South Wales", "Victoria", "Queensland", "Western Australia", "South Australia"});
+        REGIONS.put("India", new String[]{"Maharashtra", "Delhi", "Karnataka", "Tamil Nadu", "Gujarat"});
+        REGIONS.put("Brazil", new String[]{"São Paulo", "Rio de Janeiro", "Minas Gerais", "Bahia", "Paraná"});
+        REGIONS.put("China", new String[]{"Guangdong", "Beijing", "Shanghai", "Sichuan", "Zhejiang"});
+
+        // Cities for regions (simplified)
+        CITIES.put("East Coast", new String[]{"New York", "Boston", "Philadelphia", "Miami", "Washington DC"});
+        CITIES.put("West Coast", new String[]{"Los Angeles", "San Francisco", "Seattle", "Portland", "San Diego"});
+        CITIES.put("England", new String[]{"London", "Manchester", "Birmingham", "Liverpool", "Leeds"});
+        CITIES.put("Bavaria", new String[]{"Munich", "Nuremberg", "Augsburg", "Regensburg", "Würzburg"});
+        CITIES.put("Île-de-France", new String[]{"Paris", "Versailles", "Saint-Denis", "Boulogne-Billancourt", "Argenteuil"});
+    }
+
+    private static final String[] ERROR_MESSAGES = {
+            "Insufficient funds",
+            "Card expired",
+            "Invalid card number",
+            "Transaction timeout",
+            "Network error",
+            "Card blocked",
+            "Security verification failed",
+            "Processing error"
+    };
+
+    // Location tables indexed by country, then region, with the unknown fallbacks already applied
+    private static final String[][] REGIONS_BY_COUNTRY = new String[COUNTRIES.length][];
+    private static final String[][][] CITIES_BY_REGION = new String[COUNTRIES.length][][];
+
+    static {
+        String[] unknownRegion = {"Unknown Region"};
+        String[] unknownCity = {"Unknown City"};
+        for (int c = 0; c < COUNTRIES.length; c++) {
+            String[] regions = REGIONS.getOrDefault(COUNTRIES[c], unknownRegion);
+            REGIONS_BY_COUNTRY[c] = regions;
+            CITIES_BY_REGION[c] = new String[regions.length][];
+            for (int r = 0; r < regions.length; r++) {
+                CITIES_BY_REGION[c][r] = CITIES.getOrDefault(regions[r], unknownCity);
+            }
+        }
+    }
+
+    // Card numbers are "4" followed by 15 random digits
+    private static final long CARD_DIGITS_BOUND = 1_000_000_000_000_000L;
+
+    private final LoadProfile profile;
+
+    // Cumulative Zipf weights over COUNTRIES, in array order
+    private final double[] countryCumulative;
+
+    // Amount bounds in cents, so amounts never pass through double rounding to BigDecimal
+    private final long minCents;
+    private final long maxCents;
+
+    public TransactionGenerator(LoadProfile profile) {
+        this.profile = profile;
+        this.countryCumulative = new double[COUNTRIES.length];
+        double sum = 0;
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, profile.getGeoSkew());
+            countryCumulative[i] = sum;
+        }
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            countryCumulative[i] /= sum;
+        }
+        this.minCents = Math.round(profile.getMinAmount() * 100);
+        this.maxCents = Math.max(minCents, Math.round(profile.getMaxAmount() * 100));
+    }
+
+    /**
+     * New transaction; convenience for callers that do not reuse an event
+     */
+    public Transaction next(RandomGenerator random) {
+        TransactionEvent event = new TransactionEvent();
+        next(random, event);
+        return event.toTransaction();
+    }
+
+    /**
+     * Overwrite {@code event} with the next random transaction without allocating
+     */
+    public void next(RandomGenerator random, TransactionEvent event) {
+        writeCardNumber(random.nextLong(CARD_DIGITS_BOUND), event.cardNumber);
+        event.amountCents = nextAmountCents(random);
+
+        // Select location
+        int country = nextCountryIndex(random);
+        String[] regions = REGIONS_BY_COUNTRY[country];
+        int region = random.nextInt(regions.length);
+        String[] cities = CITIES_BY_REGION[country][region];
+        event.country = COUNTRIES[country];
+        event.region = regions[region];
+        event.city = cities[random.nextInt(cities.length)];
+
+        // Select random merchant and transaction type
+        event.merchantName = MERCHANT_NAMES[random.nextInt(MERCHANT_NAMES.length)];
+        event.transactionType = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+        event.currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+
+        event.fraudulent = random.nextDouble() < profile.getFraudRate();
+        event.error = random.nextDouble() < profile.getErrorRate();
+        event.errorMessage = event.error ? ERROR_MESSAGES[random.nextInt(ERROR_MESSAGES.length)] : null;
+
+        event.epochMillis = System.currentTimeMillis();
+    }
+
+    // Same digits as String.format("4%015d", digits), written right to left into the buffer
+    static void writeCardNumber(long digits, char[] buffer) {
+        buffer[0] = '4';
+        for (int i = TransactionEvent.CARD_NUMBER_LENGTH - 1; i > 0; i--) {
+            buffer[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+    }
+
+    private long nextAmountCents(RandomGenerator random) {
+        long cents = switch (profile.getAmountDistribution()) {
+            case UNIFORM -> minCents + random.nextLong(maxCents - minCents + 1);
+            case LOG_NORMAL -> Math.round(profile.getMedianAmount() * 100 * Math.exp(profile.getAmountSigma() * random.nextGaussian()));
+        };
+        return Math.min(maxCents, Math.max(minCents, cents));
+    }
+
+    private int nextCountryIndex(RandomGenerator random) {
+        int index = Arrays.binarySearch(countryCumulative, random.nextDouble());
+        // Not found returns -(insertion point) - 1; the insertion point is the sampled country
+        return Math.min(index >= 0 ? index : -index - 1, COUNTRIES.length - 1);
+    }
+}
@@ -0,0 +1,24 @@
+-- Baseline schema for the Transaction entity.
+-- IF NOT EXISTS keeps this safe on databases that were created by Hibernate's ddl-auto=update.
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 100;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id               BIGINT         NOT NULL PRIMARY KEY,
+    card_number      VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(38, 2) NOT NULL,
+    currency         VARCHAR(255)   NOT NULL,
+    timestamp        TIMESTAMP(6)   NOT NULL,
+    merchant_name    VARCHAR(255)   NOT NULL,
+    country          VARCHAR(255)   NOT NULL,
+    region           VARCHAR(255)   NOT NULL,
+    city             VARCHAR(255)   NOT NULL,
+    transaction_type VARCHAR(255)   NOT NULL,
+    is_fraudulent    BOOLEAN        NOT NULL,
+    is_error         BOOLEAN        NOT NULL,
+    error_message    VARCHAR(255)
+);
+
+-- Hibernate's pooled optimizer treats each sequence value as the upper end of a block of 100 IDs,
+-- so start the sequence a full block past any IDs issued under the old IDENTITY mapping.
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) + 100 FROM transactions), false);
@@ -0,0 +1,28 @@
+-- Indexes backing the filters and range counts in TransactionRepository.
+-- Built CONCURRENTLY so existing tables keep accepting writes (see the .conf file next to this script).
+
+-- Time-range counts and the default newest-first listing
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_timestamp
+    ON transactions (timestamp);
+
+-- Geographic filters: country, country+region, country+region+city, each ordered by time
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_country_region_city_timestamp
+    ON transactions (country, region, city, timestamp);
+
+-- Region-only and city-only filters, which cannot use the country-prefixed index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_region_timestamp
+    ON transactions (region, timestamp);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_city_timestamp
+    ON transactions (city, timestamp);
+
+-- Amount range filters
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_amount_timestamp
+    ON transactions (amount, timestamp);
+
+-- Fraud and error listings/counts only ever look at the flagged rows
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_fraudulent_timestamp
+    ON transactions (timestamp) WHERE is_fraudulent;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_error_timestamp
+    ON transactions (timestamp) WHERE is_error;
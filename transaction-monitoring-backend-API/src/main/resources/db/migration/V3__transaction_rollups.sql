@@ -0,0 +1,46 @@
+-- Pre-aggregated counts and amount sums for the dashboard charts, maintained incrementally by
+-- TransactionRollupService. Volume rollups are kept per minute, hour and day; geo rollups per city.
+
+CREATE TABLE IF NOT EXISTS transaction_volume_rollups (
+    granularity  VARCHAR(8)     NOT NULL,
+    bucket_start TIMESTAMP(6)   NOT NULL,
+    total_count  BIGINT         NOT NULL DEFAULT 0,
+    fraud_count  BIGINT         NOT NULL DEFAULT 0,
+    error_count  BIGINT         NOT NULL DEFAULT 0,
+    total_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    fraud_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    error_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (granularity, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS transaction_geo_rollups (
+    country      VARCHAR(255)   NOT NULL,
+    region       VARCHAR(255)   NOT NULL,
+    city         VARCHAR(255)   NOT NULL,
+    total_count  BIGINT         NOT NULL DEFAULT 0,
+    fraud_count  BIGINT         NOT NULL DEFAULT 0,
+    error_count  BIGINT         NOT NULL DEFAULT 0,
+    total_amount NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (country, region, city)
+);
+
+-- Backfill from the transactions that already exist
+INSERT INTO transaction_volume_rollups
+SELECT g.granularity, date_trunc(g.unit, t.timestamp),
+       COUNT(*), COUNT(*) FILTER (WHERE t.is_fraudulent), COUNT(*) FILTER (WHERE t.is_error),
+       COALESCE(SUM(t.amount), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.is_fraudulent), 0),
+       COALESCE(SUM(t.amount) FILTER (WHERE t.is_error), 0)
+FROM transactions t
+CROSS JOIN (VALUES ('MINUTE', 'minute'), ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+WHERE t.timestamp IS NOT NULL
+GROUP BY g.granularity, date_trunc(g.unit, t.timestamp)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO transaction_geo_rollups
+SELECT COALESCE(t.country, 'Unknown'), COALESCE(t.region, 'Unknown'), COALESCE(t.city, 'Unknown'),
+       COUNT(*), COUNT(*) FILTER (WHERE t.is_fraudulent), COUNT(*) FILTER (WHERE t.is_error),
+       COALESCE(SUM(t.amount), 0)
+FROM transactions t
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,87 @@
+-- Range-partition transactions by timestamp so time-bounded queries only touch the partitions
+-- that overlap their range, and old data can be detached or dropped a partition at a time.
+-- New daily (or hourly) partitions are created ahead of time by TransactionPartitionManager.
+--
+-- Existing rows are copied: rows of the last 30 days into daily partitions, older rows into one
+-- transactions_archive partition. Rows that fall outside every partition land in transactions_default.
+-- The copy rewrites the whole table, so run this migration in a maintenance window on large databases.
+
+-- Free the names the partitioned table reuses
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+DROP INDEX IF EXISTS idx_transactions_timestamp;
+DROP INDEX IF EXISTS idx_transactions_country_region_city_timestamp;
+DROP INDEX IF EXISTS idx_transactions_region_timestamp;
+DROP INDEX IF EXISTS idx_transactions_city_timestamp;
+DROP INDEX IF EXISTS idx_transactions_amount_timestamp;
+DROP INDEX IF EXISTS idx_transactions_fraudulent_timestamp;
+DROP INDEX IF EXISTS idx_transactions_error_timestamp;
+
+-- The partition key has to be part of the primary key; ids stay unique through transactions_seq
+CREATE TABLE transactions (
+    id               BIGINT         NOT NULL,
+    card_number      VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(38, 2) NOT NULL,
+    currency         VARCHAR(255)   NOT NULL,
+    timestamp        TIMESTAMP(6)   NOT NULL,
+    merchant_name    VARCHAR(255)   NOT NULL,
+    country          VARCHAR(255)   NOT NULL,
+    region           VARCHAR(255)   NOT NULL,
+    city             VARCHAR(255)   NOT NULL,
+    transaction_type VARCHAR(255)   NOT NULL,
+    is_fraudulent    BOOLEAN        NOT NULL,
+    is_error         BOOLEAN        NOT NULL,
+    error_message    VARCHAR(255),
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+DO $$
+DECLARE
+    first_day DATE := CURRENT_DATE - 30;
+    last_day  DATE := CURRENT_DATE + 7;
+    day       DATE;
+BEGIN
+    EXECUTE format('CREATE TABLE transactions_archive PARTITION OF transactions FOR VALUES FROM (MINVALUE) TO (%L)',
+                   first_day::timestamp);
+    day := first_day;
+    WHILE day < last_day LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(day, 'YYYYMMDD'), day::timestamp, (day + 1)::timestamp);
+        day := day + 1;
+    END LOOP;
+END $$;
+
+-- Indexes are declared once on the parent and created on every partition, current and future
+CREATE INDEX idx_transactions_timestamp
+    ON transactions (timestamp);
+
+CREATE INDEX idx_transactions_country_region_city_timestamp
+    ON transactions (country, region, city, timestamp);
+
+CREATE INDEX idx_transactions_region_timestamp
+    ON transactions (region, timestamp);
+
+CREATE INDEX idx_transactions_city_timestamp
+    ON transactions (city, timestamp);
+
+CREATE INDEX idx_transactions_amount_timestamp
+    ON transactions (amount, timestamp);
+
+CREATE INDEX idx_transactions_fraudulent_timestamp
+    ON transactions (timestamp) WHERE is_fraudulent;
+
+CREATE INDEX idx_transactions_error_timestamp
+    ON transactions (timestamp) WHERE is_error;
+
+INSERT INTO transactions (id, card_number, amount, currency, timestamp, merchant_name, country, region, city,
+                          transaction_type, is_fraudulent, is_error, error_message)
+SELECT id, card_number, amount, currency, timestamp, merchant_name, country, region, city,
+       transaction_type, is_fraudulent, is_error, error_message
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Planner statistics for the new partitions, which estimateRowCount also reads
+ANALYZE transactions;
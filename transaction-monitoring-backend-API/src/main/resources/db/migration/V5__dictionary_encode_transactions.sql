@@ -0,0 +1,133 @@
+-- Dictionary-encode the low-cardinality columns of transactions. Each repeated string (country, region,
+-- city, merchant, transaction type, currency, error message) moves to a dimension table and transactions
+-- keeps a 4-byte key instead, which shrinks every row and the country/region/city indexes. New names
+-- are added by TransactionDimensions when they are first used.
+--
+-- The partitioned table is rebuilt with the same partitions and the rows copied, so the old strings
+-- do not linger in dead column space. Run this migration in a maintenance window on large databases.
+
+CREATE TABLE countries (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE regions (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE cities (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE merchants (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE transaction_types (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE currencies (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE error_messages (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO countries (name) SELECT DISTINCT country FROM transactions ORDER BY 1;
+INSERT INTO regions (name) SELECT DISTINCT region FROM transactions ORDER BY 1;
+INSERT INTO cities (name) SELECT DISTINCT city FROM transactions ORDER BY 1;
+INSERT INTO merchants (name) SELECT DISTINCT merchant_name FROM transactions ORDER BY 1;
+INSERT INTO transaction_types (name) SELECT DISTINCT transaction_type FROM transactions ORDER BY 1;
+INSERT INTO currencies (name) SELECT DISTINCT currency FROM transactions ORDER BY 1;
+INSERT INTO error_messages (name) SELECT DISTINCT error_message FROM transactions WHERE error_message IS NOT NULL ORDER BY 1;
+
+-- Free the names the new table reuses
+ALTER TABLE transactions RENAME TO transactions_strings;
+ALTER TABLE transactions_strings RENAME CONSTRAINT transactions_pkey TO transactions_strings_pkey;
+DROP INDEX IF EXISTS idx_transactions_timestamp;
+DROP INDEX IF EXISTS idx_transactions_country_region_city_timestamp;
+DROP INDEX IF EXISTS idx_transactions_region_timestamp;
+DROP INDEX IF EXISTS idx_transactions_city_timestamp;
+DROP INDEX IF EXISTS idx_transactions_amount_timestamp;
+DROP INDEX IF EXISTS idx_transactions_fraudulent_timestamp;
+DROP INDEX IF EXISTS idx_transactions_error_timestamp;
+
+-- Fixed-width columns first, widest to narrowest, so rows carry no alignment padding
+CREATE TABLE transactions (
+    id                  BIGINT         NOT NULL,
+    timestamp           TIMESTAMP(6)   NOT NULL,
+    country_id          INTEGER        NOT NULL REFERENCES countries (id),
+    region_id           INTEGER        NOT NULL REFERENCES regions (id),
+    city_id             INTEGER        NOT NULL REFERENCES cities (id),
+    merchant_id         INTEGER        NOT NULL REFERENCES merchants (id),
+    transaction_type_id INTEGER        NOT NULL REFERENCES transaction_types (id),
+    currency_id         INTEGER        NOT NULL REFERENCES currencies (id),
+    error_message_id    INTEGER        REFERENCES error_messages (id),
+    is_fraudulent       BOOLEAN        NOT NULL,
+    is_error            BOOLEAN        NOT NULL,
+    amount              NUMERIC(38, 2) NOT NULL,
+    card_number         VARCHAR(255)   NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Recreate every current partition with its bounds; detached partitions are left alone
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    FOR part IN
+        SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'transactions_strings'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', part.name, part.name || '_strings');
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions %s', part.name, part.bound);
+    END LOOP;
+END $$;
+
+-- Indexes are declared once on the parent and created on every partition, current and future
+CREATE INDEX idx_transactions_timestamp
+    ON transactions (timestamp);
+
+CREATE INDEX idx_transactions_country_region_city_timestamp
+    ON transactions (country_id, region_id, city_id, timestamp);
+
+CREATE INDEX idx_transactions_region_timestamp
+    ON transactions (region_id, timestamp);
+
+CREATE INDEX idx_transactions_city_timestamp
+    ON transactions (city_id, timestamp);
+
+CREATE INDEX idx_transactions_amount_timestamp
+    ON transactions (amount, timestamp);
+
+CREATE INDEX idx_transactions_fraudulent_timestamp
+    ON transactions (timestamp) WHERE is_fraudulent;
+
+CREATE INDEX idx_transactions_error_timestamp
+    ON transactions (timestamp) WHERE is_error;
+
+INSERT INTO transactions (id, timestamp, country_id, region_id, city_id, merchant_id, transaction_type_id,
+                          currency_id, error_message_id, is_fraudulent, is_error, amount, card_number)
+SELECT t.id, t.timestamp, co.id, r.id, ci.id, m.id, ty.id, cu.id, e.id, t.is_fraudulent, t.is_error,
+       t.amount, t.card_number
+FROM transactions_strings t
+JOIN countries co ON co.name = t.country
+JOIN regions r ON r.name = t.region
+JOIN cities ci ON ci.name = t.city
+JOIN merchants m ON m.name = t.merchant_name
+JOIN transaction_types ty ON ty.name = t.transaction_type
+JOIN currencies cu ON cu.name = t.currency
+LEFT JOIN error_messages e ON e.name = t.error_message;
+
+DROP TABLE transactions_strings;
+
+ANALYZE transactions;
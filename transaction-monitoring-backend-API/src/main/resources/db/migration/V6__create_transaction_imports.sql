@@ -0,0 +1,29 @@
+-- Progress of bulk file imports (TransactionImporter). An import is identified by the file's path, size and
+-- modification time; the file is split into line-aligned chunks, and each chunk's committed_offset is
+-- advanced in the same database transaction as the COPY that loaded its rows, so a failed or interrupted
+-- import resumes exactly after the last committed batch.
+
+CREATE TABLE transaction_imports (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    file_path     VARCHAR(1024) NOT NULL,
+    file_size     BIGINT        NOT NULL,
+    file_modified BIGINT        NOT NULL,
+    format        VARCHAR(16)   NOT NULL,
+    status        VARCHAR(16)   NOT NULL,
+    started_at    TIMESTAMP(6)  NOT NULL,
+    finished_at   TIMESTAMP(6),
+    error         VARCHAR(1024),
+    UNIQUE (file_path, file_size, file_modified)
+);
+
+-- A chunk is done when committed_offset has reached end_offset
+CREATE TABLE transaction_import_chunks (
+    import_id        BIGINT  NOT NULL REFERENCES transaction_imports (id) ON DELETE CASCADE,
+    chunk_index      INTEGER NOT NULL,
+    start_offset     BIGINT  NOT NULL,
+    end_offset       BIGINT  NOT NULL,
+    committed_offset BIGINT  NOT NULL,
+    rows_imported    BIGINT  NOT NULL DEFAULT 0,
+    rows_rejected    BIGINT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (import_id, chunk_index)
+);
@@ -0,0 +1,56 @@
+package com.example.transactionmonitoringbackendapi;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Applies every Flyway migration to an empty embedded PostgreSQL with the application's own Flyway settings
+ * (application.properties), and fails instead of hanging if a migration blocks, as CREATE INDEX CONCURRENTLY
+ * does behind Flyway's transactional lock.
+ */
+class DatabaseMigrationTests {
+
+	@Test
+	void migrationsApplyToAnEmptyDatabase() {
+		String jdbcUrl = EmbeddedDatabase.create("migration_tests");
+
+		try (ConfigurableApplicationContext context = assertTimeoutPreemptively(Duration.ofMinutes(2),
+				() -> new SpringApplicationBuilder(MigrationConfig.class)
+						.web(WebApplicationType.NONE)
+						.run("--spring.datasource.url=" + jdbcUrl,
+								"--spring.datasource.username=postgres",
+								"--spring.datasource.password=postgres"))) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			Flyway flyway = context.getBean(Flyway.class);
+
+			assertThat(flyway.info().pending()).isEmpty();
+			assertThat(flyway.info().applied()).extracting(MigrationInfo::getState)
+					.allMatch(state -> state.isApplied() && !state.isFailed());
+			assertThat(jdbcTemplate.queryForList(
+					"SELECT indexname FROM pg_indexes WHERE tablename = 'transactions'", String.class))
+					.contains("idx_transactions_timestamp", "idx_transactions_country_region_city_timestamp",
+							"idx_transactions_fraudulent_timestamp", "idx_transactions_error_timestamp");
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+			FlywayAutoConfiguration.class})
+	static class MigrationConfig {
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.transactionmonitoringbackendapi;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One embedded PostgreSQL per test JVM, with a fresh database per test class, so tests that need the real
+ * schema run without Docker or a local server (as the benchmarks do).
+ */
+public final class EmbeddedDatabase {
+
+	private static EmbeddedPostgres postgres;
+
+	private EmbeddedDatabase() {
+	}
+
+	/**
+	 * Create an empty database and point spring.datasource at it
+	 */
+	public static void register(DynamicPropertyRegistry registry, String database) {
+		String jdbcUrl = create(database);
+		registry.add("spring.datasource.url", () -> jdbcUrl);
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+	}
+
+	/**
+	 * Create an empty database and return its JDBC URL
+	 */
+	public static synchronized String create(String database) {
+		if (postgres == null) {
+			try {
+				postgres = EmbeddedPostgres.start();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedDatabase::stop));
+		}
+		try (Connection connection = postgres.getPostgresDatabase().getConnection();
+			 Statement statement = connection.createStatement()) {
+			statement.execute("DROP DATABASE IF EXISTS " + database);
+			statement.execute("CREATE DATABASE " + database);
+		} catch (SQLException e) {
+			throw new IllegalStateException("Could not create database " + database, e);
+		}
+		return postgres.getJdbcUrl("postgres", database);
+	}
+
+	private static synchronized void stop() {
+		if (postgres != null) {
+			try {
+				postgres.close();
+			} catch (IOException e) {
+				// Shutting down anyway
+			}
+			postgres = null;
+		}
+	}
+}
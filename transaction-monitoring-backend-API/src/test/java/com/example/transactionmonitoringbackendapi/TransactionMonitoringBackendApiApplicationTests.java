@@ -2,10 +2,17 @@ package com.example.transactionmonitoringbackendapi;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class TransactionMonitoringBackendApiApplicationTests {
 
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "context_loads_tests");
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,97 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read pool is a second pool on the same embedded database, told apart by its application name and
+ * by its own {@code hikaricp_connections_usage} count of connections handed out.
+ */
+@SpringBootTest(properties = {"transaction.hot-window.enabled=false",
+		"transaction.datasource.read.lag-check-interval-ms=3600000"})
+class DataSourceRoutingConfigTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		String jdbcUrl = EmbeddedDatabase.create("routing_tests");
+		registry.add("spring.datasource.url", () -> jdbcUrl);
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "postgres");
+		registry.add("transaction.datasource.read.urls",
+				() -> jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "ApplicationName=read-1");
+	}
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ReadWriteRoutingDataSource routingDataSource;
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void checkLag() {
+		routingDataSource.checkReplicaLag();
+	}
+
+	@Test
+	void readOnlyServiceCallIsServedByTheReadPool() {
+		long before = readPoolUsage();
+
+		transactionService.getAllTransactions(PageRequest.of(0, 5));
+
+		assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+		assertThat(readPoolUsage()).isEqualTo(before + 1);
+		assertThat(applicationName(true)).isEqualTo("read-1");
+	}
+
+	@Test
+	void writesStayOnThePrimary() {
+		long before = readPoolUsage();
+
+		transactionService.saveTransaction(new Transaction("4000000000000001", new BigDecimal("10.00"), "USD",
+				LocalDateTime.now(), "Amazon", "USA", "East Coast", "New York", "PURCHASE", false, false, null));
+
+		assertThat(readPoolUsage()).isEqualTo(before);
+		assertThat(applicationName(false)).isNotEqualTo("read-1");
+	}
+
+	private long readPoolUsage() {
+		return meterRegistry.get("hikaricp.connections.usage").tag("pool", "read-1").timer().count();
+	}
+
+	// Of the connection a transaction with that flag is given
+	private String applicationName(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SHOW application_name", String.class));
+	}
+}
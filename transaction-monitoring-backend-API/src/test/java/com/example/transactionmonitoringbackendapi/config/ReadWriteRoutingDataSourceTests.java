@@ -0,0 +1,86 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	void readOnlyTransactionsTakeTurnsOnCaughtUpReplicas() throws SQLException {
+		DataSource primary = dataSource(0);
+		DataSource first = dataSource(0);
+		DataSource second = dataSource(1.5);
+		ReadWriteRoutingDataSource routing = routing(primary, first, second);
+
+		// Until the first lag check every read stays on the primary
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(routing.getConnection()).isSameAs(primary.getConnection());
+
+		routing.checkReplicaLag();
+		assertThat(routing.getConnection()).isSameAs(first.getConnection());
+		assertThat(routing.getConnection()).isSameAs(second.getConnection());
+		assertThat(routing.getConnection()).isSameAs(first.getConnection());
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		assertThat(routing.getConnection()).isSameAs(primary.getConnection());
+	}
+
+	@Test
+	void laggingAndUnreachableReplicasAreSkipped() throws SQLException {
+		DataSource primary = dataSource(0);
+		DataSource lagging = dataSource(30);
+		DataSource unreachable = mock(DataSource.class);
+		when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+		ReadWriteRoutingDataSource routing = routing(primary, lagging, unreachable);
+
+		routing.checkReplicaLag();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertThat(routing.getConnection()).isSameAs(primary.getConnection());
+		assertThat(meterRegistry.get("transactions.datasource.replica.lag").tag("route", "read-1").gauge().value())
+				.isEqualTo(30);
+		assertThat(meterRegistry.get("transactions.datasource.replica.lag").tag("route", "read-2").gauge().value())
+				.isNaN();
+		assertThat(meterRegistry.get("transactions.datasource.replicas.eligible").gauge().value()).isZero();
+	}
+
+	private ReadWriteRoutingDataSource routing(DataSource primary, DataSource... replicas) {
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(replicas), 5, meterRegistry);
+		routing.afterPropertiesSet();
+		return routing;
+	}
+
+	// A data source whose single connection answers the lag query with the given number of seconds
+	private static DataSource dataSource(double lagSeconds) throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenReturn(true);
+		when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+		Statement statement = mock(Statement.class);
+		when(statement.executeQuery(anyString())).thenReturn(resultSet);
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+}
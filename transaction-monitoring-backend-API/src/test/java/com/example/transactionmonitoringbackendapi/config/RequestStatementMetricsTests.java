@@ -0,0 +1,54 @@
+package com.example.transactionmonitoringbackendapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestStatementMetricsTests {
+
+	private SimpleMeterRegistry meterRegistry;
+	private RequestStatementMetrics statementMetrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		statementMetrics = new RequestStatementMetrics(meterRegistry);
+	}
+
+	@Test
+	void recordsStatementsPerEndpoint() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/filter/region");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions/filter/region");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		statementMetrics.preHandle(request, response, new Object());
+		statementMetrics.inspect("select ...");
+		statementMetrics.inspect("select count(...)");
+		statementMetrics.afterCompletion(request, response, new Object(), null);
+
+		DistributionSummary summary = meterRegistry.get("http.server.requests.statements")
+				.tags("uri", "/api/transactions/filter/region", "method", "GET")
+				.summary();
+		assertThat(summary.count()).isEqualTo(1);
+		assertThat(summary.totalAmount()).isEqualTo(2);
+	}
+
+	@Test
+	void ignoresStatementsOutsideRequests() {
+		assertThat(statementMetrics.inspect("insert ...")).isEqualTo("insert ...");
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/batch");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		statementMetrics.preHandle(request, response, new Object());
+		statementMetrics.afterCompletion(request, response, new Object(), null);
+
+		assertThat(meterRegistry.get("http.server.requests.statements").tags("uri", "UNKNOWN").summary().totalAmount())
+				.isZero();
+	}
+}
@@ -0,0 +1,112 @@
+package com.example.transactionmonitoringbackendapi.controller;
+
+import com.example.transactionmonitoringbackendapi.importer.TransactionImporter;
+import com.example.transactionmonitoringbackendapi.service.TransactionExporter;
+import com.example.transactionmonitoringbackendapi.service.TransactionHeavyHitters;
+import com.example.transactionmonitoringbackendapi.service.TransactionIngestQueue;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import com.example.transactionmonitoringbackendapi.service.TransactionStreamBroadcaster;
+import com.example.transactionmonitoringbackendapi.simulation.LoadGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionControllerTests {
+
+	private TransactionService transactionService;
+	private TransactionIngestQueue ingestQueue;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		transactionService = mock(TransactionService.class);
+		ingestQueue = mock(TransactionIngestQueue.class);
+		mockMvc = MockMvcBuilders.standaloneSetup(new TransactionController(transactionService,
+				mock(TransactionStreamBroadcaster.class), ingestQueue,
+				mock(TransactionExporter.class), mock(TransactionImporter.class), mock(TransactionHeavyHitters.class),
+				mock(LoadGenerator.class), false)).build();
+	}
+
+	@Test
+	void malformedCursorIsRejected() throws Exception {
+		mockMvc.perform(get("/api/transactions").param("after", "not a token!"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", startsWith("Invalid cursor")));
+		mockMvc.perform(get("/api/transactions/search").param("after", "bm8gc2VwYXJhdG9y"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", startsWith("Invalid cursor")));
+
+		verifyNoInteractions(transactionService);
+	}
+
+	@Test
+	void sizeBelowOneIsRejectedInCursorMode() throws Exception {
+		mockMvc.perform(get("/api/transactions").param("after", "").param("size", "0"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Page size must not be less than one"));
+
+		verifyNoInteractions(transactionService);
+	}
+
+	@Test
+	void sizeBelowOneIsRejectedInPageMode() throws Exception {
+		mockMvc.perform(get("/api/transactions").param("size", "0"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Page size must not be less than one"));
+		mockMvc.perform(get("/api/transactions/fraudulent").param("size", "-1"))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(transactionService);
+	}
+
+	@Test
+	void asyncBatchLargerThanTheQueueIsRejectedAsTooLarge() throws Exception {
+		when(ingestQueue.isRunning()).thenReturn(true);
+		when(ingestQueue.getCapacity()).thenReturn(2);
+
+		mockMvc.perform(post("/api/transactions/batch").param("async", "true")
+						.contentType(MediaType.APPLICATION_JSON).content(batch(3)))
+				.andExpect(status().isPayloadTooLarge())
+				.andExpect(header().doesNotExist("Retry-After"))
+				.andExpect(jsonPath("$.queueCapacity").value(2));
+
+		verify(ingestQueue, never()).offer(anyList());
+	}
+
+	@Test
+	void asyncBatchThatDoesNotFitYetIsRetried() throws Exception {
+		when(ingestQueue.isRunning()).thenReturn(true);
+		when(ingestQueue.getCapacity()).thenReturn(2);
+		when(ingestQueue.offer(anyList())).thenReturn(-1L);
+
+		mockMvc.perform(post("/api/transactions/batch").param("async", "true")
+						.contentType(MediaType.APPLICATION_JSON).content(batch(2)))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "1"));
+	}
+
+	private static String batch(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> "{\"cardNumber\":\"4000000000000000\",\"amount\":10.00,\"currency\":\"USD\"}")
+				.collect(Collectors.joining(",", "[", "]"));
+	}
+}
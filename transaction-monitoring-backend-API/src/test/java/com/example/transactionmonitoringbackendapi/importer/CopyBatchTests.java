@@ -0,0 +1,107 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import com.example.transactionmonitoringbackendapi.service.ImportedBatch;
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyBatchTests {
+
+	private static final String HEADER = "id,cardNumber,amount,currency,timestamp,merchantName,country,region,city," +
+			"transactionType,isFraudulent,isError,errorMessage";
+
+	private final Map<String, Integer> keys = new HashMap<>();
+	private final CopyBatch batch = new CopyBatch((dimension, name) -> keys.computeIfAbsent(name, k -> keys.size() + 1));
+	private final AtomicLong ids = new AtomicLong(100);
+
+	@Test
+	void csvLinesAreWrittenInCopyFormatWithTotals() {
+		RecordParser parser = new RecordParser.Csv(RecordParser.Csv.columns(HEADER));
+
+		assertThat(add(parser, "7,4000000000000007,12.5,USD,2025-07-01T10:00:30,Amazon,USA,East Coast,New York," +
+				"PURCHASE,true,false,")).isNull();
+		assertThat(add(parser, "8,4000000000000008,1000,USD,2025-07-01T10:00:59.5,\"Ben \"\"&\"\" Jerry's, Inc.\"," +
+				"USA,East Coast,New York,PURCHASE,false,TRUE,Declined")).isNull();
+
+		assertThat(new String(batch.bytes(), 0, batch.length(), StandardCharsets.UTF_8)).isEqualTo(
+				"2025-07-01T10:00:30\t1\t2\t3\t4\t5\t6\t\\N\tt\tf\t12.5\t4000000000000007\t101\n" +
+				"2025-07-01T10:00:59.5\t1\t2\t3\t7\t5\t6\t8\tf\tt\t1000\t4000000000000008\t102\n");
+		assertThat(keys).containsEntry("Ben \"&\" Jerry's, Inc.", 7);
+
+		Map<Dimension, Map<Integer, String>> names = new HashMap<>();
+		keys.forEach((name, key) -> {
+			for (Dimension dimension : Dimension.values()) {
+				names.computeIfAbsent(dimension, d -> new HashMap<>()).put(key, name);
+			}
+		});
+		ImportedBatch summary = batch.summary((dimension, key) -> names.get(dimension).get(key));
+		assertThat(summary.rows()).isEqualTo(2);
+		assertThat(summary.latest()).isEqualTo(LocalDateTime.of(2025, 7, 1, 10, 0, 59, 500_000_000));
+		assertThat(summary.minutes()).containsExactly(new ImportedBatch.MinuteTotals(
+				LocalDateTime.of(2025, 7, 1, 10, 0), 2, 1, 1, 101250, 1250, 100000));
+		assertThat(summary.cities()).containsExactly(new ImportedBatch.CityTotals(
+				"USA", "East Coast", "New York", 2, 1, 1, 101250));
+	}
+
+	@Test
+	void invalidLinesAreRejectedWithoutChangingTheBatch() {
+		RecordParser parser = new RecordParser.Csv(RecordParser.Csv.columns(HEADER));
+
+		assertThat(add(parser, "1,4000,1.999,USD,2025-07-01T10:00,A,B,C,D,PURCHASE,true,false,"))
+				.isEqualTo("Invalid amount");
+		assertThat(add(parser, "1,4000,1.99,USD,2025-02-29T10:00,A,B,C,D,PURCHASE,true,false,"))
+				.isEqualTo("Invalid timestamp");
+		assertThat(add(parser, "1,4000,1.99,USD,2025-07-01T10:00,A,B,C,D,PURCHASE,yes,false,"))
+				.isEqualTo("Invalid isFraudulent");
+		assertThat(add(parser, "1,,1.99,USD,2025-07-01T10:00,A,B,C,D,PURCHASE,true,false,"))
+				.isEqualTo("Missing cardNumber");
+		assertThat(add(parser, "1,4000,1.99,USD,2025-07-01T10:00,A,B,C")).startsWith("Expected 13 columns");
+		assertThat(add(parser, "1,4000,1.99,\"USD,2025-07-01T10:00,A,B,C,D,PURCHASE,true,false,"))
+				.startsWith("Unterminated quoted field");
+
+		assertThat(batch.rows()).isZero();
+		assertThat(batch.length()).isZero();
+	}
+
+	@Test
+	void ndjsonObjectsAreParsedInPlace() {
+		RecordParser parser = new RecordParser.Ndjson();
+
+		assertThat(add(parser, "{\"id\":7,\"cardNumber\":\"4000\\\\7\",\"amount\":-3.10,\"currency\":\"EUR\"," +
+				"\"timestamp\":\"2024-02-29 23:59\",\"merchantName\":\"Zalando\",\"country\":\"Germany\"," +
+				"\"region\":\"Bavaria\",\"city\":\"Munich\",\"transactionType\":\"REFUND\",\"isFraudulent\":false," +
+				"\"isError\":false,\"errorMessage\":null,\"extra\":[]}")).isEqualTo("Nested objects and arrays are not supported");
+		assertThat(add(parser, "{\"id\":7,\"cardNumber\":\"4000\\\\7\",\"amount\":-3.10,\"currency\":\"EUR\"," +
+				"\"timestamp\":\"2024-02-29 23:59\",\"merchantName\":\"Zalando\",\"country\":\"Germany\"," +
+				"\"region\":\"Bavaria\",\"city\":\"Munich\",\"transactionType\":\"REFUND\",\"isFraudulent\":false," +
+				"\"isError\":false,\"errorMessage\":null}")).isNull();
+
+		assertThat(new String(batch.bytes(), 0, batch.length(), StandardCharsets.UTF_8)).isEqualTo(
+				"2024-02-29 23:59\t1\t2\t3\t4\t5\t6\t\\N\tf\tf\t-3.10\t4000\\\\7\t101\n");
+	}
+
+	@Test
+	void timestampsMatchJavaTime() {
+		LocalDateTime timestamp = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_000);
+		ByteBuffer bytes = ByteBuffer.wrap(timestamp.toString().getBytes(StandardCharsets.US_ASCII));
+
+		long micros = CopyBatch.parseTimestamp(bytes, 0, bytes.limit());
+
+		assertThat(micros).isEqualTo(timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + 123_456);
+	}
+
+	private String add(RecordParser parser, String line) {
+		ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+		String reason = parser.parse(buffer, 0, buffer.limit());
+		return reason != null ? reason : batch.add(parser, ids::incrementAndGet);
+	}
+}
@@ -0,0 +1,233 @@
+package com.example.transactionmonitoringbackendapi.importer;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.ImportedBatch;
+import com.example.transactionmonitoringbackendapi.service.TransactionExporter;
+import com.example.transactionmonitoringbackendapi.service.TransactionListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"transaction.hot-window.enabled=false", "transaction.import.batch-size=1000",
+		"transaction.import.workers=1"})
+class TransactionImporterTests {
+
+	private static final String HEADER = "id,cardNumber,amount,currency,timestamp,merchantName,country,region,city," +
+			"transactionType,isFraudulent,isError,errorMessage";
+
+	@TempDir
+	static Path directory;
+
+	@TempDir
+	static Path outside;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "importer_tests");
+		registry.add("transaction.import.directory", () -> directory.toString());
+	}
+
+	@Autowired
+	private TransactionImporter importer;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PausingListener listener;
+
+	@BeforeEach
+	void reset() {
+		jdbcTemplate.update("TRUNCATE transactions");
+		jdbcTemplate.update("TRUNCATE transaction_imports CASCADE");
+		listener.pause = null;
+	}
+
+	@Test
+	void csvFileIsCopiedAndBadLinesAreCounted() throws Exception {
+		List<String> lines = new ArrayList<>();
+		lines.add(HEADER);
+		lines.add(csv(1) + "Insufficient funds");
+		lines.add("2,4000000000000002,not a number,USD,2025-07-01T10:00:00,Amazon,USA,East Coast,New York," +
+				"PURCHASE,false,false,");
+		lines.add(csv(3).replace("Amazon", "\"Ben \"\"&\"\" Jerry's, Inc.\""));
+		Files.write(directory.resolve("small.csv"), lines);
+
+		ImportReport report = awaitEnd(importer.start("small.csv", TransactionExporter.Format.CSV));
+
+		assertThat(report.state()).isEqualTo(ImportReport.State.COMPLETED);
+		assertThat(report.rowsImported()).isEqualTo(2);
+		assertThat(report.rowsRejected()).isEqualTo(1);
+		assertThat(report.rejections()).singleElement().satisfies(rejection ->
+				assertThat(rejection.reason()).containsIgnoringCase("amount"));
+		assertThat(jdbcTemplate.queryForList("""
+				SELECT t.card_number || '|' || m.name || '|' || c.name || '|' || COALESCE(e.name, '')
+				FROM transactions t
+				JOIN merchants m ON m.id = t.merchant_id
+				JOIN cities c ON c.id = t.city_id
+				LEFT JOIN error_messages e ON e.id = t.error_message_id
+				ORDER BY t.card_number
+				""", String.class)).containsExactly(
+				"4000000000000001|Amazon|New York|Insufficient funds",
+				"4000000000000003|Ben \"&\" Jerry's, Inc.|New York|");
+		assertThatThrownBy(() -> importer.start("small.csv", TransactionExporter.Format.CSV))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already imported");
+	}
+
+	// The first batch's listener call holds the only worker until stop() has been asked for, so exactly
+	// one batch is committed before the import stops
+	@Test
+	void stoppedImportResumesAfterTheLastCommittedBatch() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 1; i <= 3500; i++) {
+			lines.add(ndjson(i));
+		}
+		Files.write(directory.resolve("large.ndjson"), lines);
+		CountDownLatch pause = new CountDownLatch(1);
+		listener.pause = pause;
+
+		importer.start("large.ndjson", TransactionExporter.Format.NDJSON);
+		assertThat(listener.paused.await(30, TimeUnit.SECONDS)).isTrue();
+		Thread stopping = Thread.ofPlatform().start(importer::stop);
+		while (stopping.getState() != Thread.State.TIMED_WAITING) {
+			assertThat(stopping.isAlive()).isTrue();
+			Thread.sleep(1);
+		}
+		pause.countDown();
+		stopping.join();
+		ImportReport stopped = awaitEnd(importer.report());
+
+		assertThat(stopped.state()).isEqualTo(ImportReport.State.STOPPED);
+		assertThat(stopped.rowsImported()).isEqualTo(1000);
+		assertThat(count("SELECT COUNT(*) FROM transactions")).isEqualTo(1000);
+
+		listener.pause = null;
+		ImportReport resumed = importer.start("large.ndjson", TransactionExporter.Format.NDJSON);
+		assertThat(resumed.resumed()).isTrue();
+		resumed = awaitEnd(resumed);
+
+		assertThat(resumed.state()).isEqualTo(ImportReport.State.COMPLETED);
+		assertThat(resumed.rowsImported()).isEqualTo(3500);
+		assertThat(count("SELECT COUNT(*) FROM transactions")).isEqualTo(3500);
+		assertThat(count("SELECT COUNT(DISTINCT card_number) FROM transactions")).isEqualTo(3500);
+	}
+
+	@Test
+	void filesOutsideTheImportDirectoryAreRejected() throws IOException {
+		Path secret = Files.writeString(outside.resolve("secret.csv"), HEADER + "\n");
+		Files.createSymbolicLink(directory.resolve("link.csv"), secret);
+
+		for (String path : List.of("../" + outside.getFileName() + "/secret.csv", secret.toString(), "link.csv",
+				"missing.csv")) {
+			assertThatThrownBy(() -> importer.start(path, TransactionExporter.Format.CSV))
+					.as(path)
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("No file " + path + " in the import directory");
+		}
+		assertThat(count("SELECT COUNT(*) FROM transaction_imports")).isZero();
+	}
+
+	// A file of a few lines is expected to need fewer than 100 ids, so it reserves one block of the sequence
+	@Test
+	void smallFileReservesOneIdBlock() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 1; i <= 3; i++) {
+			lines.add(ndjson(i));
+		}
+		Files.write(directory.resolve("three.ndjson"), lines);
+		long before = count("SELECT nextval('transactions_seq')");
+
+		assertThat(awaitEnd(importer.start("three.ndjson", TransactionExporter.Format.NDJSON)).rowsImported())
+				.isEqualTo(3);
+
+		long after = count("SELECT nextval('transactions_seq')");
+		assertThat(after - before).isEqualTo(2L * TransactionImporter.SEQUENCE_INCREMENT);
+		assertThat(jdbcTemplate.queryForList("SELECT id FROM transactions ORDER BY id", Long.class))
+				.containsExactly(before + 1, before + 2, before + 3);
+	}
+
+	private long count(String sql) {
+		return jdbcTemplate.queryForObject(sql, Long.class);
+	}
+
+	private ImportReport awaitEnd(ImportReport report) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (report.state() == ImportReport.State.RUNNING) {
+			assertThat(System.nanoTime()).as("import finished").isLessThan(deadline);
+			Thread.sleep(10);
+			report = importer.report();
+		}
+		return report;
+	}
+
+	private static String timestamp(int i) {
+		return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().withNano(0).minusSeconds(i));
+	}
+
+	// Every column but the error message, which the caller appends
+	private static String csv(int i) {
+		return i + "," + String.format("4%015d", i) + ",10.00,USD," + timestamp(i) +
+				",Amazon,USA,East Coast,New York,PURCHASE,false," + (i == 1) + ",";
+	}
+
+	private static String ndjson(int i) {
+		return "{\"id\":" + i + ",\"cardNumber\":\"" + String.format("4%015d", i) + "\",\"amount\":10.00," +
+				"\"currency\":\"USD\",\"timestamp\":\"" + timestamp(i) + "\",\"merchantName\":\"Amazon\"," +
+				"\"country\":\"USA\",\"region\":\"East Coast\",\"city\":\"New York\",\"transactionType\":\"PURCHASE\"," +
+				"\"isFraudulent\":false,\"isError\":false,\"errorMessage\":null}";
+	}
+
+	static class PausingListener implements TransactionListener {
+
+		final CountDownLatch paused = new CountDownLatch(1);
+		volatile CountDownLatch pause;
+
+		@Override
+		public void onTransactionSaved(Transaction transaction) {
+		}
+
+		@Override
+		public void onTransactionsImported(ImportedBatch batch) {
+			CountDownLatch current = pause;
+			if (current != null) {
+				paused.countDown();
+				try {
+					current.await(30, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class Listeners {
+
+		@Bean
+		PausingListener pausingListener() {
+			return new PausingListener();
+		}
+	}
+}
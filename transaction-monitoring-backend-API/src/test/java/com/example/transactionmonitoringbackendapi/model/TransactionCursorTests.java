@@ -0,0 +1,50 @@
+package com.example.transactionmonitoringbackendapi.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTests {
+
+	@Test
+	void tokenRoundTrips() {
+		TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_000), 4711L);
+
+		String token = cursor.encode();
+
+		assertThat(token).doesNotContain("=", "+", "/");
+		assertThat(TransactionCursor.decode(token)).isEqualTo(cursor);
+	}
+
+	@Test
+	void blankTokenStartsFromTheNewest() {
+		assertThat(TransactionCursor.decode(null)).isNull();
+		assertThat(TransactionCursor.decode("")).isNull();
+		assertThat(TransactionCursor.decode(" ")).isNull();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"not a token!", "2026-10-17T09:30|1"})
+	void tokenThatIsNotBase64IsRejected(String token) {
+		assertThatThrownBy(() -> TransactionCursor.decode(token))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Invalid cursor");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"no separator", "2026-10-17T09:30|x", "yesterday|1"})
+	void tokenWithAMalformedPositionIsRejected(String value) {
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> TransactionCursor.decode(token))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Invalid cursor");
+	}
+}
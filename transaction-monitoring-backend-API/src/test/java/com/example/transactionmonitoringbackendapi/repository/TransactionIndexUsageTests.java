@@ -0,0 +1,304 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the dashboard filters ({@link TransactionSpecifications}) and the counts in {@link TransactionRepository}
+ * against a migrated embedded PostgreSQL, records the SQL Hibernate sends for them, and asserts which index
+ * the planner reaches the rows through. The statement is explained as a generic plan, so no bind values are
+ * needed.
+ */
+@SpringBootTest
+class TransactionIndexUsageTests {
+
+	private static final Pattern INDEX_SCAN = Pattern.compile("Index (?:Only )?Scan (?:Backward )?using (\\S+)"
+			+ "|Bitmap Index Scan on (\\S+)");
+	private static final Pattern SCANNED_TABLE = Pattern.compile("Scan (?:.*? )?on (\\S+)");
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+	private static boolean seeded = false;
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "index_usage_tests");
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	// 100,000 rows over the last 30 days; 20 countries, 60 regions and 200 cities, amounts from 0 to 10,000
+	@BeforeEach
+	void seedAndAnalyze() {
+		if (seeded) {
+			return;
+		}
+		for (String table : List.of("countries", "regions", "cities")) {
+			String name = table.equals("cities") ? "City " : table.equals("regions") ? "Region " : "Country ";
+			jdbcTemplate.update("INSERT INTO " + table + " (id, name) SELECT g, '" + name
+					+ "' || g FROM generate_series(1, 200) AS g ON CONFLICT DO NOTHING");
+		}
+		jdbcTemplate.update("INSERT INTO merchants (id, name) VALUES (1, 'Amazon') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO transaction_types (id, name) VALUES (1, 'PURCHASE') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO currencies (id, name) VALUES (1, 'USD') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("""
+				INSERT INTO transactions (id, card_number, amount, currency_id, timestamp, merchant_id, country_id,
+				                          region_id, city_id, transaction_type_id, is_fraudulent, is_error)
+				SELECT g, '4000000000000000', (g * 7919 % 1000000) / 100.0, 1,
+				       localtimestamp - (g * 26 || ' seconds')::interval, 1,
+				       g % 20 + 1, g % 60 + 1, g % 200 + 1, 1, g % 20 = 0, g % 33 = 0
+				FROM generate_series(1, 100000) AS g
+				""");
+		jdbcTemplate.execute("ANALYZE transactions");
+		seeded = true;
+	}
+
+	static Stream<Arguments> queries() {
+		return Stream.of(
+				// Country / region / city filters
+				listing("region", filter -> filter.setRegion("Region 2"), "idx_transactions_region_timestamp"),
+				listing("city", filter -> filter.setCity("City 3"), "idx_transactions_city_timestamp"),
+				listing("country, region and city", filter -> {
+					filter.setCountry("Country 1");
+					filter.setRegion("Region 1");
+					filter.setCity("City 1");
+				}, "idx_transactions_country_region_city_timestamp"),
+				// Amount range: the generic plan cannot tell how narrow the range is, so the newest-first listing
+				// walks the timestamp index and filters on amount until the page is full
+				listing("amount range", filter -> {
+					filter.setMinAmount(new BigDecimal("100"));
+					filter.setMaxAmount(new BigDecimal("110"));
+				}, "idx_transactions_timestamp"),
+				// Fraud and error listings
+				listing("fraudulent", filter -> filter.setFraudulent(true), "idx_transactions_fraudulent_timestamp"),
+				listing("error", filter -> filter.setError(true), "idx_transactions_error_timestamp"),
+				// Dashboard counts
+				count("all in range", repository -> repository.countTransactionsInTimeRange(
+						LocalDateTime.now().minusDays(1), LocalDateTime.now()), "idx_transactions_timestamp"),
+				count("fraudulent in range", repository -> repository.countFraudulentTransactionsInTimeRange(
+						LocalDateTime.now().minusDays(1), LocalDateTime.now()), "idx_transactions_fraudulent_timestamp"),
+				count("errors in range", repository -> repository.countErrorTransactionsInTimeRange(
+						LocalDateTime.now().minusDays(1), LocalDateTime.now()), "idx_transactions_error_timestamp"));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("queries")
+	void repositoryQueryUsesIndex(String name, Function<TransactionRepository, ?> query, String expectedIndex) {
+		String plan = planOf(query);
+
+		assertThat(indexesIn(plan)).as(plan).containsExactly(expectedIndex);
+	}
+
+	// The primary key is (id, timestamp): with the timestamp, lookups are pruned to the partition holding the row
+	@Test
+	void lookupByIdAndTimestampReadsOnePartition() {
+		Set<String> partitions = new TreeSet<>(jdbcTemplate.queryForList(
+				"SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = 'transactions'::regclass",
+				String.class));
+		LocalDateTime timestamp = LocalDateTime.now();
+
+		String find = planOf(repository -> repository.findByIdAndTimestamp(1L, timestamp));
+		assertThat(partitionsIn(find, partitions)).as(find).hasSize(1);
+		String delete = planOf(repository -> repository.deleteByIdAndTimestamp(1L, timestamp));
+		assertThat(partitionsIn(delete, partitions)).as(delete).hasSize(1);
+		// By id alone every partition is probed
+		String findById = planOf(repository -> repository.findById(1L));
+		assertThat(partitionsIn(findById, partitions)).as(findById).isEqualTo(partitions);
+	}
+
+	// Generic plan of the statement the query sends to the transactions table; a page may be followed by its count
+	private String planOf(Function<TransactionRepository, ?> query) {
+		statements.clear();
+		query.apply(transactionRepository);
+
+		String sql = statements.stream()
+				.filter(statement -> statement.toLowerCase(Locale.ROOT).contains(" from transactions "))
+				.findFirst()
+				.orElseThrow();
+		return sql + "\n" + explainGeneric(sql);
+	}
+
+	// Newest-first page of the dashboard listing, as the cursor endpoint reads it
+	private static Arguments listing(String name, Consumer<TransactionFilter> criteria, String expectedIndex) {
+		TransactionFilter filter = new TransactionFilter();
+		criteria.accept(filter);
+		Function<TransactionRepository, ?> query = repository -> repository.findViewSlice(
+				TransactionSpecifications.matching(filter), TransactionSpecifications.KEYSET_SORT, 10);
+		return Arguments.of(name, query, expectedIndex);
+	}
+
+	private static Arguments count(String name, Function<TransactionRepository, ?> query, String expectedIndex) {
+		return Arguments.of(name, query, expectedIndex);
+	}
+
+	// PREPAREs the statement with its ? markers numbered, and EXPLAINs it with placeholder values of the
+	// parameter types PostgreSQL inferred; the generic plan does not depend on them
+	private String explainGeneric(String sql) {
+		StringBuilder numbered = new StringBuilder();
+		int parameters = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				numbered.append('$').append(++parameters);
+			} else {
+				numbered.append(c);
+			}
+		}
+		String prepared = numbered.toString();
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET plan_cache_mode = force_generic_plan");
+				statement.execute("PREPARE index_usage AS " + prepared);
+				try {
+					List<String> values = new ArrayList<>();
+					try (ResultSet types = statement.executeQuery("SELECT unnest(parameter_types)::text "
+							+ "FROM pg_prepared_statements WHERE name = 'index_usage'")) {
+						while (types.next()) {
+							values.add(placeholder(types.getString(1)));
+						}
+					}
+					String arguments = values.isEmpty() ? "" : "(" + String.join(", ", values) + ")";
+					StringBuilder plan = new StringBuilder();
+					try (ResultSet lines = statement.executeQuery("EXPLAIN EXECUTE index_usage" + arguments)) {
+						while (lines.next()) {
+							plan.append(lines.getString(1)).append('\n');
+						}
+					}
+					return plan.toString();
+				}
+				finally {
+					statement.execute("DEALLOCATE index_usage");
+					statement.execute("RESET plan_cache_mode");
+				}
+			}
+		});
+	}
+
+	private static String placeholder(String type) {
+		return switch (type) {
+			case "timestamp without time zone" -> "localtimestamp";
+			case "numeric" -> "100";
+			case "boolean" -> "true";
+			case "integer", "bigint", "smallint" -> "1";
+			default -> "''";
+		};
+	}
+
+	private static Set<String> partitionsIn(String plan, Set<String> partitions) {
+		Set<String> scanned = new TreeSet<>();
+		Matcher matcher = SCANNED_TABLE.matcher(plan);
+		while (matcher.find()) {
+			if (partitions.contains(matcher.group(1))) {
+				scanned.add(matcher.group(1));
+			}
+		}
+		return scanned;
+	}
+
+	// Indexes named by the scans in the plan, reported as the partitioned index when they belong to a
+	// partition. Scans of empty tables are left out: without rows the planner picks any index for them.
+	private Set<String> indexesIn(String plan) {
+		Set<String> indexes = new TreeSet<>();
+		Matcher matcher = INDEX_SCAN.matcher(plan);
+		while (matcher.find()) {
+			String index = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+			List<String> parents = jdbcTemplate.queryForList("""
+					SELECT COALESCE(p.relname, c.relname) FROM pg_class c
+					JOIN pg_index x ON x.indexrelid = c.oid
+					JOIN pg_class t ON t.oid = x.indrelid
+					LEFT JOIN pg_inherits i ON i.inhrelid = c.oid
+					LEFT JOIN pg_class p ON p.oid = i.inhparent
+					WHERE c.relname = ? AND t.reltuples > 0
+					""", String.class, index);
+			indexes.addAll(parents);
+		}
+		return indexes;
+	}
+
+	// Records the SQL of every statement prepared through the application's DataSource
+	@TestConfiguration(proxyBeanMethods = false)
+	static class StatementRecording {
+
+		@Bean
+		static BeanPostProcessor recordStatements() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+				}
+			};
+		}
+	}
+
+	private static final class RecordingDataSource extends DelegatingDataSource {
+
+		RecordingDataSource(DataSource dataSource) {
+			super(dataSource);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return record(super.getConnection());
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return record(super.getConnection(username, password));
+		}
+
+		private static Connection record(Connection connection) {
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+					(proxy, method, args) -> {
+						if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+							statements.add(sql);
+						}
+						try {
+							return method.invoke(connection, args);
+						}
+						catch (InvocationTargetException e) {
+							throw e.getCause();
+						}
+					});
+		}
+	}
+}
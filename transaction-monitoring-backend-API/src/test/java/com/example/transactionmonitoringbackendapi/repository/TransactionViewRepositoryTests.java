@@ -0,0 +1,96 @@
+package com.example.transactionmonitoringbackendapi.repository;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "transaction.hot-window.enabled=false")
+class TransactionViewRepositoryTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "view_repository_tests");
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	// Keys in the opposite order of the names, so ordering by key and by name differ
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("TRUNCATE transactions");
+		jdbcTemplate.update("INSERT INTO countries (id, name) VALUES (1, 'Zambia'), (2, 'Mexico'), (3, 'Austria') "
+				+ "ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO regions (id, name) VALUES (1, 'Central') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO cities (id, name) VALUES (1, 'Capital') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO merchants (id, name) VALUES (1, 'Amazon') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO transaction_types (id, name) VALUES (1, 'PURCHASE') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO currencies (id, name) VALUES (1, 'USD') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("""
+				INSERT INTO transactions (id, card_number, amount, currency_id, timestamp, merchant_id, country_id,
+				                          region_id, city_id, transaction_type_id, is_fraudulent, is_error)
+				SELECT g, '4000000000000000', 10.00, 1, localtimestamp - (g || ' seconds')::interval, 1, g, 1, 1, 1,
+				       false, false
+				FROM generate_series(1, 3) AS g
+				""");
+	}
+
+	@Test
+	void pageIsSortedByDimensionName() {
+		TransactionFilter all = new TransactionFilter();
+
+		assertThat(transactionRepository.findViews(TransactionSpecifications.matching(all),
+				PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "country"))))
+				.extracting(TransactionView::country)
+				.containsExactly("Austria", "Mexico", "Zambia");
+		assertThat(transactionRepository.findViews(TransactionSpecifications.matching(all),
+				PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "country"))))
+				.extracting(TransactionView::country)
+				.containsExactly("Zambia", "Mexico", "Austria");
+	}
+
+	// Rows 1 and 2 share a timestamp, so only the id orders them
+	@Test
+	void sliceAfterCursorBreaksTimestampTiesById() {
+		LocalDateTime tied = jdbcTemplate.queryForObject("SELECT date_trunc('second', localtimestamp)",
+				LocalDateTime.class);
+		jdbcTemplate.update("UPDATE transactions SET timestamp = ? WHERE id IN (1, 2)", tied);
+		jdbcTemplate.update("UPDATE transactions SET timestamp = ? WHERE id = 3", tied.minusSeconds(1));
+		TransactionFilter all = new TransactionFilter();
+
+		assertThat(slice(all, null)).containsExactly(2L, 1L, 3L);
+		assertThat(slice(all, new TransactionCursor(tied, 2))).containsExactly(1L, 3L);
+		assertThat(slice(all, new TransactionCursor(tied, 1))).containsExactly(3L);
+		assertThat(slice(all, new TransactionCursor(tied.minusSeconds(1), 3))).isEmpty();
+	}
+
+	private List<Long> slice(TransactionFilter filter, TransactionCursor cursor) {
+		Specification<Transaction> specification = TransactionSpecifications.matching(filter);
+		if (cursor != null) {
+			specification = specification.and(TransactionSpecifications.after(cursor));
+		}
+		return transactionRepository.findViewSlice(specification, TransactionSpecifications.KEYSET_SORT, 10).stream()
+				.map(TransactionView::id)
+				.toList();
+	}
+}
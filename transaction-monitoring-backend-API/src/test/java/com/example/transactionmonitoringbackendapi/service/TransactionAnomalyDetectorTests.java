@@ -0,0 +1,89 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Scope;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Signal;
+import com.example.transactionmonitoringbackendapi.dto.TransactionAlert.Trigger;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionAnomalyDetectorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// 10 second fast window against a 10 minute baseline, so a test runs in a few hundred simulated seconds
+	private final TransactionAnomalyDetector detector = new TransactionAnomalyDetector(meterRegistry, 1000, 10, 600,
+			50, 0.25, 0.20, 4.0, 2.0, 10_000, 100);
+
+	@Test
+	void errorRateOverTheThresholdRaisesAndThenResolvesAnAlert() {
+		run(60, 100, 2, 0, null);
+		assertThat(detector.getActiveAlerts()).isEmpty();
+
+		run(20, 100, 50, 0, null);
+		TransactionAlert alert = find(detector.getActiveAlerts(), Scope.COUNTRY, "Germany", Signal.ERROR_RATE);
+		assertThat(alert.trigger()).isEqualTo(Trigger.THRESHOLD);
+		assertThat(alert.observed()).isGreaterThan(0.25);
+		assertThat(meterRegistry.find("transactions_alert_observed").tag("key", "Germany").gauge()).isNotNull();
+
+		run(60, 100, 2, 0, null);
+		assertThat(detector.getActiveAlerts()).isEmpty();
+		assertThat(find(detector.getResolvedAlerts(), Scope.COUNTRY, "Germany", Signal.ERROR_RATE).resolvedAt())
+				.isNotNull();
+		assertThat(meterRegistry.find("transactions_alert_observed").tag("key", "Germany").gauge()).isNull();
+	}
+
+	@Test
+	void fraudRateFarAboveItsBaselineRaisesADeviationAlert() {
+		run(120, 100, 0, 1, null);
+		run(20, 100, 0, 8, null);
+
+		TransactionAlert alert = find(detector.getActiveAlerts(), Scope.MERCHANT, "Amazon", Signal.FRAUD_RATE);
+		assertThat(alert.trigger()).isEqualTo(Trigger.DEVIATION);
+		assertThat(alert.observed()).isLessThan(0.20);
+		assertThat(alert.zScore()).isGreaterThanOrEqualTo(4.0);
+	}
+
+	@Test
+	void surgingErrorMessageIsFlaggedWhileSteadyOnesAreNot() {
+		run(60, 100, 1, 0, null);
+		run(10, 100, 1, 0, 20);
+
+		List<TransactionAlert> active = detector.getActiveAlerts();
+		assertThat(find(active, Scope.ERROR_MESSAGE, "Network error", Signal.ERROR_VOLUME).trigger())
+				.isEqualTo(Trigger.DEVIATION);
+		assertThat(active).noneMatch(alert -> alert.key().equals("Timeout"));
+	}
+
+	// Each second: `total` transactions in Germany at Amazon, `errors` of them failing with "Timeout" and
+	// `fraudulent` flagged, plus `networkErrors` extra failures with "Network error"; then one evaluation
+	private void run(int seconds, int total, int errors, int fraudulent, Integer networkErrors) {
+		for (int second = 0; second < seconds; second++) {
+			for (int i = 0; i < total; i++) {
+				detector.onTransactionSaved(transaction(i < fraudulent, i < errors ? "Timeout" : null));
+			}
+			for (int i = 0; networkErrors != null && i < networkErrors; i++) {
+				detector.onTransactionSaved(transaction(false, "Network error"));
+			}
+			detector.evaluate(1.0);
+		}
+	}
+
+	private static TransactionAlert find(List<TransactionAlert> alerts, Scope scope, String key, Signal signal) {
+		return alerts.stream()
+				.filter(alert -> alert.scope() == scope && alert.key().equals(key) && alert.signal() == signal)
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("No " + scope + " " + key + " " + signal + " alert in " + alerts));
+	}
+
+	private static Transaction transaction(boolean fraudulent, String errorMessage) {
+		return new Transaction("4000000000000001", new BigDecimal("50"), "USD", LocalDateTime.now(), "Amazon",
+				"Germany", "Bavaria", "Munich", "PURCHASE", fraudulent, errorMessage != null, errorMessage);
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import com.example.transactionmonitoringbackendapi.service.TransactionDimensions.Dimension;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Saves and filters transactions against a migrated embedded PostgreSQL and checks that the descriptive
+ * columns are stored as dimension keys and come back as names.
+ */
+// A single pooled connection: interning must not need a second one while a transaction holds it
+@SpringBootTest(properties = {
+		"transaction.hot-window.enabled=false",
+		"transaction.dimensions.error-message-cache-size=2",
+		"spring.datasource.hikari.maximum-pool-size=1",
+		"spring.datasource.hikari.connection-timeout=2000"
+})
+class TransactionDimensionsTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "dimensions_tests");
+	}
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private TransactionDimensions dimensions;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void namesAreStoredAsKeysAndFilteredByKey() {
+		Transaction saved = transactionService.saveTransaction(new Transaction("4000000000000001",
+				new BigDecimal("12.50"), "EUR", LocalDateTime.now(), "Zalando", "Germany", "Bavaria", "Munich",
+				"PURCHASE", false, true, "Card declined"));
+
+		Integer cityId = jdbcTemplate.queryForObject("SELECT city_id FROM transactions WHERE id = ?",
+				Integer.class, saved.getId());
+		assertThat(cityId).isEqualTo(dimensions.find(TransactionDimensions.Dimension.CITY, "Munich"));
+		assertThat(dimensions.intern(TransactionDimensions.Dimension.CITY, "Munich")).isEqualTo(cityId);
+
+		TransactionFilter munich = new TransactionFilter();
+		munich.setCity("Munich");
+		assertThat(transactionService.searchTransactions(munich, PageRequest.of(0, 10, Sort.by("timestamp")))
+				.getContent())
+				.extracting(TransactionView::id, TransactionView::city, TransactionView::errorMessage)
+				.containsExactly(tuple(saved.getId(), "Munich", "Card declined"));
+	}
+
+	@Test
+	void unknownFilterValuesMatchNothingAndAreNotInterned() {
+		TransactionFilter atlantis = new TransactionFilter();
+		atlantis.setCity("Atlantis");
+
+		assertThat(transactionService.searchTransactions(atlantis, null, 10).getContent()).isEmpty();
+		assertThat(dimensions.canMatch(atlantis)).isFalse();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cities WHERE name = 'Atlantis'", Long.class))
+				.isZero();
+	}
+
+	// Saved straight through the repository, so the names are first seen by the converters during the flush
+	@Test
+	void newNamesAreInternedOnTheFlushingTransactionsConnection() {
+		Transaction saved = transactionTemplate.execute(status ->
+				transactionRepository.saveAndFlush(transaction("Reykjavik")));
+
+		Integer cityId = jdbcTemplate.queryForObject("SELECT city_id FROM transactions WHERE id = ?",
+				Integer.class, saved.getId());
+		assertThat(dimensions.find(Dimension.CITY, "Reykjavik")).isEqualTo(cityId);
+		assertThat(dimensions.name(Dimension.CITY, cityId)).isEqualTo("Reykjavik");
+	}
+
+	@Test
+	void keysInsertedByARolledBackTransactionAreForgotten() {
+		transactionTemplate.executeWithoutResult(status -> {
+			transactionRepository.saveAndFlush(transaction("Valletta"));
+			status.setRollbackOnly();
+		});
+
+		assertThat(dimensions.find(Dimension.CITY, "Valletta")).isNull();
+		Transaction saved = transactionService.saveTransaction(transaction("Valletta"));
+		Integer cityId = jdbcTemplate.queryForObject("SELECT city_id FROM transactions WHERE id = ?",
+				Integer.class, saved.getId());
+		assertThat(jdbcTemplate.queryForObject("SELECT name FROM cities WHERE id = ?", String.class, cityId))
+				.isEqualTo("Valletta");
+		assertThat(dimensions.find(Dimension.CITY, "Valletta")).isEqualTo(cityId);
+	}
+
+	@Test
+	void errorMessagesAreCachedUpToTheLimit() {
+		Map<String, Integer> keys = new LinkedHashMap<>();
+		for (int i = 0; i < 50; i++) {
+			keys.put("Declined: reference " + i, dimensions.intern(Dimension.ERROR_MESSAGE, "Declined: reference " + i));
+		}
+
+		assertThat(dimensions.cachedNames(Dimension.ERROR_MESSAGE)).isLessThanOrEqualTo(2);
+		keys.forEach((message, id) -> {
+			assertThat(dimensions.name(Dimension.ERROR_MESSAGE, id)).isEqualTo(message);
+			assertThat(dimensions.intern(Dimension.ERROR_MESSAGE, message)).isEqualTo(id);
+		});
+	}
+
+	private static Transaction transaction(String city) {
+		return new Transaction("4000000000000002", new BigDecimal("8.00"), "EUR", LocalDateTime.now(), "Zalando",
+				"Europe", "North", city, "PURCHASE", false, false, null);
+	}
+}
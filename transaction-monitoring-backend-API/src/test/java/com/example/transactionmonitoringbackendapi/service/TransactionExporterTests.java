@@ -0,0 +1,181 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"transaction.hot-window.enabled=false", "transaction.export.fetch-size=100"})
+class TransactionExporterTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "exporter_tests");
+	}
+
+	@Autowired
+	private TransactionExporter exporter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// 2,000 rows one second apart, newest first by id; odd ids are in Mexico, even ids in Zambia
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("TRUNCATE transactions");
+		jdbcTemplate.update("INSERT INTO countries (id, name) VALUES (1, 'Zambia'), (2, 'Mexico') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO regions (id, name) VALUES (1, 'Central') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO cities (id, name) VALUES (1, 'Capital') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO merchants (id, name) VALUES (1, 'Amazon') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO transaction_types (id, name) VALUES (1, 'PURCHASE') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("INSERT INTO currencies (id, name) VALUES (1, 'USD') ON CONFLICT DO NOTHING");
+		jdbcTemplate.update("""
+				INSERT INTO transactions (id, card_number, amount, currency_id, timestamp, merchant_id, country_id,
+				                          region_id, city_id, transaction_type_id, is_fraudulent, is_error)
+				SELECT g, '4000000000000000', 10.00, 1, date_trunc('second', localtimestamp) - (g || ' seconds')::interval,
+				       1, 1 + g % 2, 1, 1, 1, false, false
+				FROM generate_series(1, 2000) AS g
+				""");
+	}
+
+	@Test
+	void csvExportStreamsTheMatchingRowsThroughACursor() throws IOException {
+		CursorProbe output = new CursorProbe();
+
+		long rows = exporter.export(mexico(), TransactionExporter.Format.CSV, output);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(rows).isEqualTo(1000);
+		assertThat(lines).hasSize(1001);
+		assertThat(lines[0]).isEqualTo(TransactionExporter.CSV_HEADER);
+		assertThat(IntStream.range(1, lines.length).mapToObj(i -> lines[i].substring(0, lines[i].indexOf(','))))
+				.containsExactlyElementsOf(oddIds());
+		assertThat(lines[1]).endsWith(",Amazon,Mexico,Central,Capital,PURCHASE,false,false,");
+		output.assertStreamedFromAReadOnlyCursor();
+	}
+
+	@Test
+	void ndjsonExportStreamsTheMatchingRowsThroughACursor() throws IOException {
+		CursorProbe output = new CursorProbe();
+
+		long rows = exporter.export(mexico(), TransactionExporter.Format.NDJSON, output);
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(rows).isEqualTo(1000);
+		List<String> ids = new ArrayList<>();
+		for (String line : lines) {
+			JsonNode json = objectMapper.readTree(line);
+			assertThat(json.get("country").asText()).isEqualTo("Mexico");
+			ids.add(json.get("id").asText());
+		}
+		assertThat(ids).containsExactlyElementsOf(oddIds());
+		output.assertStreamedFromAReadOnlyCursor();
+	}
+
+	@Test
+	void filterValueThatWasNeverStoredExportsOnlyTheHeader() throws IOException {
+		TransactionFilter filter = new TransactionFilter();
+		filter.setCountry("Atlantis");
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		assertThat(exporter.export(filter, TransactionExporter.Format.CSV, output)).isZero();
+		assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(TransactionExporter.CSV_HEADER + "\r\n");
+	}
+
+	@Test
+	void csvRowsFollowTheHeaderOrder() throws IOException {
+		StringWriter writer = new StringWriter();
+		TransactionExporter.writeCsvRow(new TransactionView(7L, "4000000000000007", new BigDecimal("1E+3"), "USD",
+				LocalDateTime.of(2025, 7, 1, 10, 0), "Amazon", "USA", "East Coast", "New York", "PURCHASE",
+				true, false, null), writer);
+
+		assertThat(TransactionExporter.CSV_HEADER.split(",")).hasSize(13);
+		assertThat(writer.toString()).isEqualTo(
+				"7,4000000000000007,1000,USD,2025-07-01T10:00:00,Amazon,USA,East Coast,New York,PURCHASE,true,false,\r\n");
+	}
+
+	@Test
+	void csvFieldsWithSeparatorsAreQuoted() throws IOException {
+		StringWriter writer = new StringWriter();
+		TransactionExporter.writeCsvRow(new TransactionView(8L, "4000000000000008", new BigDecimal("9.99"), "USD",
+				LocalDateTime.of(2025, 7, 1, 10, 0, 5), "Ben \"&\" Jerry's, Inc.", "USA", "East Coast", "New York",
+				"PURCHASE", false, true, "Declined:\nretry"), writer);
+
+		assertThat(writer.toString()).isEqualTo("8,4000000000000008,9.99,USD,2025-07-01T10:00:05,"
+				+ "\"Ben \"\"&\"\" Jerry's, Inc.\",USA,East Coast,New York,PURCHASE,false,true,\"Declined:\nretry\"\r\n");
+	}
+
+	private static TransactionFilter mexico() {
+		TransactionFilter filter = new TransactionFilter();
+		filter.setCountry("Mexico");
+		return filter;
+	}
+
+	private static List<String> oddIds() {
+		return IntStream.rangeClosed(1, 2000).filter(id -> id % 2 == 1).mapToObj(Integer::toString).toList();
+	}
+
+	/**
+	 * Looks at the exporting connection when the first bytes reach the output. Both formats buffer less
+	 * than a thousand rows, so with 100 rows per fetch the query is still open then: pg_cursors lists
+	 * the portal the driver fetches from, which a fully read result would already have closed.
+	 */
+	private final class CursorProbe extends ByteArrayOutputStream {
+
+		private boolean probed;
+		private boolean readOnly;
+		private List<String> openCursors;
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			probe();
+			super.write(b, off, len);
+		}
+
+		@Override
+		public synchronized void write(int b) {
+			probe();
+			super.write(b);
+		}
+
+		private void probe() {
+			if (probed) {
+				return;
+			}
+			probed = true;
+			readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+			// The transaction's own connection, bound to this thread by the exporter's read-only transaction
+			openCursors = jdbcTemplate.queryForList("SELECT statement FROM pg_cursors", String.class);
+		}
+
+		void assertStreamedFromAReadOnlyCursor() {
+			assertThat(probed).isTrue();
+			assertThat(readOnly).isTrue();
+			assertThat(openCursors).anySatisfy(statement -> assertThat(statement).contains("from transactions"));
+		}
+	}
+}
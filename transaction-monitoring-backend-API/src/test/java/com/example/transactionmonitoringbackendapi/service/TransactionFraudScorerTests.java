@@ -0,0 +1,83 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFraudScorerTests {
+
+	private static final String CARD = "4000000000000001";
+	private static final LocalDateTime START = LocalDateTime.of(2025, 7, 1, 10, 0);
+
+	private final TransactionFraudScorer scorer = scorer(200_000);
+
+	@Test
+	void velocityFiresOnceTheCardExceedsTheLimitInsideTheWindow() {
+		for (int i = 0; i < 5; i++) {
+			assertThat(scorer.score(transaction(CARD, "50", "USA", START.plusSeconds(i)))).isZero();
+		}
+		assertThat(scorer.score(transaction(CARD, "50", "USA", START.plusSeconds(5))))
+				.isEqualTo(TransactionFraudScorer.Rule.VELOCITY.weight);
+		// The oldest of the last five is now more than 60 seconds back
+		assertThat(scorer.score(transaction(CARD, "50", "USA", START.plusSeconds(70)))).isZero();
+	}
+
+	@Test
+	void countryChangeInsideTheGeoWindowIsFlagged() {
+		scorer.score(transaction(CARD, "50", "USA", START));
+		Transaction jump = transaction(CARD, "50", "Germany", START.plusMinutes(10));
+
+		assertThat(scorer.apply(jump)).isEqualTo(TransactionFraudScorer.Rule.GEO_JUMP.weight);
+		assertThat(jump.isFraudulent()).isTrue();
+		assertThat(scorer.score(transaction(CARD, "50", "USA", START.plusHours(3)))).isZero();
+	}
+
+	@Test
+	void amountFarAboveTheCardsRunningMeanIsAnOutlier() {
+		String[] amounts = {"40", "50", "60", "45", "55"};
+		for (int i = 0; i < amounts.length; i++) {
+			scorer.score(transaction(CARD, amounts[i], "USA", START.plusHours(i)));
+		}
+
+		assertThat(scorer.score(transaction(CARD, "58", "USA", START.plusHours(6)))).isZero();
+		Transaction outlier = transaction(CARD, "900", "USA", START.plusHours(7));
+		assertThat(scorer.apply(outlier)).isEqualTo(TransactionFraudScorer.Rule.AMOUNT_OUTLIER.weight);
+		// One rule alone stays below the threshold
+		assertThat(outlier.isFraudulent()).isFalse();
+	}
+
+	@Test
+	void merchantAndTypeRulesAddUpToTheThreshold() {
+		Transaction transaction = transaction(CARD, "2500", "USA", START);
+		transaction.setMerchantName("Casino Royale");
+		transaction.setTransactionType("WITHDRAWAL");
+
+		assertThat(scorer.apply(transaction)).isEqualTo(60);
+		assertThat(transaction.isFraudulent()).isTrue();
+	}
+
+	@Test
+	void cardStateStaysWithinMaxCards() {
+		TransactionFraudScorer small = scorer(128);
+		for (int i = 0; i < 10_000; i++) {
+			small.score(transaction(String.valueOf(4_000_000_000_000_000L + i), "50", "USA", START.plusSeconds(i)));
+		}
+
+		assertThat(small.trackedCards()).isLessThanOrEqualTo(128);
+	}
+
+	private static TransactionFraudScorer scorer(int maxCards) {
+		return new TransactionFraudScorer(new SimpleMeterRegistry(), true, 50, maxCards, 86400, 5, 60, 3600,
+				3.0, 5, "Casino Royale", "WITHDRAWAL:2000,TRANSFER:10000");
+	}
+
+	private static Transaction transaction(String card, String amount, String country, LocalDateTime timestamp) {
+		return new Transaction(card, new BigDecimal(amount), "USD", timestamp, "Amazon", country, "East Coast",
+				"New York", "PURCHASE", false, false, null);
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.repository.TransactionGeoRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class TransactionGeoCountersTests {
+
+	private TransactionGeoRollupRepository geoRollupRepository;
+	private TransactionGeoCounters geoCounters;
+
+	@BeforeEach
+	void setUp() {
+		geoRollupRepository = mock(TransactionGeoRollupRepository.class);
+		when(geoRollupRepository.findAll()).thenReturn(List.of());
+		geoCounters = new TransactionGeoCounters(geoRollupRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		geoCounters.load();
+	}
+
+	@Test
+	void aggregatesEveryLevel() {
+		geoCounters.onTransactionSaved(transaction("USA", "East Coast", "New York", "10.00", true));
+		geoCounters.onTransactionSaved(transaction("USA", "East Coast", "Boston", "5.00", false));
+		geoCounters.onTransactionSaved(transaction("UK", "England", "London", "1.00", false));
+
+		assertThat(geoCounters.getDistribution("country")).containsExactly(
+				new GeoDistributionDataPoint("USA", 2, 1, 0, new BigDecimal("15.00")),
+				new GeoDistributionDataPoint("UK", 1, 0, 0, new BigDecimal("1.00")));
+		assertThat(geoCounters.getDistribution("region")).first()
+				.isEqualTo(new GeoDistributionDataPoint("East Coast", 2, 1, 0, new BigDecimal("15.00")));
+		assertThat(geoCounters.getDistribution("city")).hasSize(3);
+	}
+
+	@Test
+	void snapshotsOnlyTheDeltaSinceTheLastSnapshot() {
+		geoCounters.onTransactionSaved(transaction("USA", "East Coast", "New York", "10.00", false));
+		geoCounters.snapshot();
+		geoCounters.onTransactionSaved(transaction("USA", "East Coast", "New York", "2.00", true));
+		geoCounters.snapshot();
+		geoCounters.snapshot();
+
+		verify(geoRollupRepository).findAll();
+		verify(geoRollupRepository).addToLocation("USA", "East Coast", "New York", 1, 0, 0, new BigDecimal("10.00"));
+		verify(geoRollupRepository).addToLocation("USA", "East Coast", "New York", 1, 1, 0, new BigDecimal("2.00"));
+		verifyNoMoreInteractions(geoRollupRepository);
+	}
+
+	private static Transaction transaction(String country, String region, String city, String amount, boolean fraudulent) {
+		return new Transaction("4000000000000000", new BigDecimal(amount), "USD", LocalDateTime.now(), "Amazon",
+				country, region, city, "PURCHASE", fraudulent, false, null);
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.HeavyHittersResponse;
+import com.example.transactionmonitoringbackendapi.dto.HeavyHittersResponse.HeavyHitter;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionHeavyHitters.Dimension;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionHeavyHittersTests {
+
+	private final TransactionHeavyHitters heavyHitters = new TransactionHeavyHitters(60, 60, 100, 2048, 4);
+
+	@Test
+	void countsAreExactWhileFewValuesAreSeen() {
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 30; i++) {
+			heavyHitters.onTransactionSaved(transaction("Amazon", "New York", now));
+		}
+		for (int i = 0; i < 20; i++) {
+			heavyHitters.onTransactionSaved(transaction("Walmart", "London", now.minusMinutes(5)));
+		}
+		heavyHitters.onTransactionSaved(transaction("Target", "London", now.minusMinutes(30)));
+
+		HeavyHittersResponse top = heavyHitters.top(Dimension.MERCHANT, 2, 15, false);
+		assertThat(top.total()).isEqualTo(50);
+		assertThat(top.items()).containsExactly(new HeavyHitter("Amazon", 30), new HeavyHitter("Walmart", 20));
+
+		assertThat(heavyHitters.top(Dimension.CITY, 10, 60, false).items())
+				.containsExactly(new HeavyHitter("New York", 30), new HeavyHitter("London", 21));
+	}
+
+	@Test
+	void heavyHittersSurviveManyDistinctValues() {
+		LocalDateTime now = LocalDateTime.now();
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < 50_000; i++) {
+			String merchant = i % 10 == 0 ? "Amazon" : i % 25 == 1 ? "Uber" : "Shop " + random.nextInt(20_000);
+			heavyHitters.onTransactionSaved(transaction(merchant, "Paris", now));
+		}
+
+		HeavyHittersResponse top = heavyHitters.top(Dimension.MERCHANT, 2, 5, false);
+		assertThat(top.items()).extracting(HeavyHitter::key).containsExactly("Amazon", "Uber");
+		// Upper bounds, within the sketch's error of e / width of the total
+		assertThat(top.items().get(0).count()).isBetween(5_000L, 5_000L + 50_000 * 3 / 2048);
+		assertThat(top.items().get(1).count()).isBetween(2_000L, 2_000L + 50_000 * 3 / 2048);
+	}
+
+	@Test
+	void futureTimestampsCountAsNowAndInvalidQueriesAreRejected() {
+		heavyHitters.onTransactionSaved(transaction("Amazon", "Paris", LocalDateTime.now().plusDays(1)));
+
+		assertThat(heavyHitters.top(Dimension.MERCHANT, 1, 1, false).items()).containsExactly(new HeavyHitter("Amazon", 1));
+		assertThatThrownBy(() -> heavyHitters.top(Dimension.MERCHANT, 101, 15, false))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> heavyHitters.top(Dimension.MERCHANT, 10, 61, false))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Dimension.from("country")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Transaction transaction(String merchant, String city, LocalDateTime timestamp) {
+		return new Transaction("4000000000000001", new BigDecimal("50"), "USD", timestamp, merchant, "USA",
+				"East Coast", city, "PURCHASE", false, false, null);
+	}
+}
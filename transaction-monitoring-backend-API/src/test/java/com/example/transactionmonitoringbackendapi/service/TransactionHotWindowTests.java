@@ -0,0 +1,122 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionCursor;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TransactionHotWindowTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_456_000);
+
+	private TransactionHotWindow hotWindow;
+
+	@BeforeEach
+	void setUp() {
+		hotWindow = new TransactionHotWindow(new JdbcTemplate(), new TransactionTemplate(), true, 24, 1_000_000);
+		// Saved while the window is loading: buffered, then replayed when the load completes
+		for (long id = 1; id <= 10; id++) {
+			hotWindow.onTransactionSaved(transaction(id, NOW.minusMinutes(id), id % 2 == 0 ? "Boston" : "Austin",
+					new BigDecimal(id + ".50"), id == 4));
+		}
+		hotWindow.completeLoad(TransactionHotWindow.toMicros(NOW.minusHours(1)));
+	}
+
+	@Test
+	void slicesFollowTheKeysetOrder() {
+		TransactionFilter boston = new TransactionFilter();
+		boston.setCity("Boston");
+
+		Slice<TransactionView> first = hotWindow.newest(boston, null, 2).orElseThrow();
+		assertThat(first.getContent()).extracting(TransactionView::id).containsExactly(2L, 4L);
+		assertThat(first.hasNext()).isTrue();
+		assertThat(first.getContent().get(0).timestamp()).isEqualTo(NOW.minusMinutes(2));
+		assertThat(first.getContent().get(0).cardNumber()).isEqualTo("0000123400000002");
+
+		Slice<TransactionView> second = hotWindow.newest(boston, TransactionCursor.of(first.getContent().get(1)), 2)
+				.orElseThrow();
+		assertThat(second.getContent()).extracting(TransactionView::id).containsExactly(6L, 8L);
+	}
+
+	@Test
+	void shortResultsNeedTheWholeRangeInTheWindow() {
+		TransactionFilter boston = new TransactionFilter();
+		boston.setCity("Boston");
+
+		// Older Boston transactions may exist in the database
+		assertThat(hotWindow.newest(boston, null, 10)).isEmpty();
+
+		boston.setStartTime(NOW.minusMinutes(30));
+		assertThat(hotWindow.newest(boston, null, 10).orElseThrow().getContent()).hasSize(5);
+		assertThat(hotWindow.count(boston).orElseThrow())
+				.isEqualTo(new TransactionHotWindow.Counts(5, 1, 0, 3250));
+
+		boston.setStartTime(NOW.minusHours(2));
+		assertThat(hotWindow.count(boston)).isEmpty();
+	}
+
+	@Test
+	void filtersCompareCodesAndCents() {
+		TransactionFilter filter = new TransactionFilter();
+		filter.setStartTime(NOW.minusMinutes(30));
+		filter.setMinAmount(new BigDecimal("3.5"));
+		filter.setMaxAmount(new BigDecimal("6.499"));
+		assertThat(hotWindow.count(filter).orElseThrow().total()).isEqualTo(3);
+
+		filter.setCity("Denver");
+		assertThat(hotWindow.count(filter).orElseThrow().total()).isZero();
+	}
+
+	@Test
+	void pagesAndDeletes() {
+		TransactionFilter filter = new TransactionFilter();
+		filter.setStartTime(NOW.minusMinutes(30));
+		hotWindow.onTransactionDeleted(transaction(1, NOW.minusMinutes(1), "Austin", BigDecimal.ONE, false));
+
+		Page<TransactionView> page = hotWindow.page(filter, PageRequest.of(1, 3, Sort.by("timestamp").ascending()))
+				.orElseThrow();
+		assertThat(page.getTotalElements()).isEqualTo(9);
+		assertThat(page.getContent()).extracting(TransactionView::id).containsExactly(7L, 6L, 5L);
+
+		// Sorts the window does not keep fall back to the database
+		assertThat(hotWindow.page(filter, PageRequest.of(0, 3, Sort.by("amount")))).isEmpty();
+	}
+
+	// Error messages are free text: kept per row rather than in a dictionary that would only ever grow
+	@Test
+	void errorMessagesAreKeptPerRow() {
+		Transaction failed = transaction(11, NOW, "Austin", BigDecimal.TEN, false);
+		failed.setError(true);
+		failed.setErrorMessage("Card declined: reference 8841");
+		hotWindow.onTransactionSaved(failed);
+
+		TransactionFilter errors = new TransactionFilter();
+		errors.setError(true);
+		errors.setStartTime(NOW.minusMinutes(30));
+		assertThat(hotWindow.newest(errors, null, 10).orElseThrow().getContent())
+				.extracting(TransactionView::id, TransactionView::errorMessage)
+				.containsExactly(tuple(11L, "Card declined: reference 8841"));
+	}
+
+	private static Transaction transaction(long id, LocalDateTime timestamp, String city, BigDecimal amount,
+										   boolean fraudulent) {
+		Transaction transaction = new Transaction(String.format("00001234%08d", id), amount, "USD", timestamp,
+				"Amazon", "USA", "Northeast", city, "PURCHASE", fraudulent, false, null);
+		transaction.setId(id);
+		return transaction;
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionIngestQueueTests {
+
+	private TransactionService transactionService;
+	private SimpleMeterRegistry meterRegistry;
+	private TransactionIngestQueue queue;
+
+	@BeforeEach
+	void setUp() {
+		transactionService = mock(TransactionService.class);
+		meterRegistry = new SimpleMeterRegistry();
+		queue = new TransactionIngestQueue(transactionService, meterRegistry, 5, 2);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		queue.stop();
+	}
+
+	@Test
+	void acceptedRequestsGetIncreasingAcknowledgementIds() {
+		assertThat(queue.offer(transactions(2))).isEqualTo(1);
+		assertThat(queue.offer(transactions(3))).isEqualTo(2);
+
+		assertThat(queue.getDepth()).isEqualTo(5);
+		assertThat(queue.getCapacity()).isEqualTo(5);
+		assertThat(meterRegistry.get("transactions_ingest_queue_depth").gauge().value()).isEqualTo(5);
+		verify(transactionService, never()).saveAll(anyList());
+	}
+
+	@Test
+	void requestWithoutRoomIsRejectedWhole() {
+		queue.offer(transactions(4));
+
+		assertThat(queue.offer(transactions(2))).isEqualTo(-1);
+		assertThat(queue.getDepth()).isEqualTo(4);
+		assertThat(meterRegistry.get("transactions_ingest_rejected").counter().count()).isEqualTo(2);
+		// The single free slot is still usable
+		assertThat(queue.offer(transactions(1))).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void stopWritesWhatIsQueuedInBatches() throws InterruptedException {
+		List<Transaction> offered = transactions(5);
+		queue.offer(offered);
+
+		queue.stop();
+
+		ArgumentCaptor<List<Transaction>> batches = ArgumentCaptor.forClass(List.class);
+		verify(transactionService, times(3)).saveAll(batches.capture());
+		assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(batches.getAllValues().stream().flatMap(List::stream)).containsExactlyElementsOf(offered);
+		assertThat(queue.getDepth()).isZero();
+	}
+
+	@Test
+	void writerDrainsTheQueueAndFailedBatchesDoNotStopIt() {
+		when(transactionService.saveAll(anyList())).thenThrow(new IllegalStateException("Database down"))
+				.thenReturn(null);
+		queue.start();
+
+		queue.offer(transactions(1));
+		verify(transactionService, timeout(5_000).times(1)).saveAll(anyList());
+		queue.offer(transactions(1));
+		verify(transactionService, timeout(5_000).times(2)).saveAll(anyList());
+
+		assertThat(queue.isRunning()).isTrue();
+		assertThat(queue.getDepth()).isZero();
+	}
+
+	private static List<Transaction> transactions(int count) {
+		List<Transaction> transactions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			transactions.add(new Transaction("400000000000000" + i, new BigDecimal("10.00"), "USD",
+					LocalDateTime.now(), "Amazon", "USA", "East Coast", "New York", "PURCHASE", false, false, null));
+		}
+		return transactions;
+	}
+}
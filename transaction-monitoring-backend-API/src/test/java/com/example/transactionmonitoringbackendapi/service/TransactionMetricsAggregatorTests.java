@@ -0,0 +1,75 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionMetricsAggregatorTests {
+
+	private TransactionRepository transactionRepository;
+	private TransactionMetricsAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		transactionRepository = mock(TransactionRepository.class);
+		aggregator = new TransactionMetricsAggregator(transactionRepository, 60);
+	}
+
+	@Test
+	void countsLiveTransactionsAfterRebuild() {
+		when(transactionRepository.countPerMinuteInTimeRange(any(), any())).thenReturn(List.of());
+		aggregator.rebuild();
+
+		LocalDateTime now = LocalDateTime.now();
+		aggregator.onTransactionSaved(transaction(now, false, false));
+		aggregator.onTransactionSaved(transaction(now, true, false));
+		aggregator.onTransactionSaved(transaction(now, false, true));
+
+		TransactionMetricsAggregator.Counts counts = aggregator.getCounts(now.minusMinutes(5), now).orElseThrow();
+		assertThat(counts).isEqualTo(new TransactionMetricsAggregator.Counts(3, 1, 1));
+	}
+
+	@Test
+	void seedsBucketsFromDatabaseRows() {
+		long minute = Math.floorDiv(LocalDateTime.now().minusMinutes(2).toEpochSecond(ZoneOffset.UTC), 60);
+		List<Object[]> rows = List.<Object[]>of(new Object[]{minute, 10L, 2L, 1L});
+		when(transactionRepository.countPerMinuteInTimeRange(any(), any())).thenReturn(rows);
+		aggregator.rebuild();
+
+		LocalDateTime now = LocalDateTime.now();
+		TransactionMetricsAggregator.Counts counts = aggregator.getCounts(now.minusMinutes(10), now).orElseThrow();
+		assertThat(counts).isEqualTo(new TransactionMetricsAggregator.Counts(10, 2, 1));
+	}
+
+	@Test
+	void fallsBackForRangesOlderThanRetention() {
+		when(transactionRepository.countPerMinuteInTimeRange(any(), any())).thenReturn(List.of());
+		aggregator.rebuild();
+
+		LocalDateTime now = LocalDateTime.now();
+		assertThat(aggregator.getCounts(now.minusHours(2), now)).isEmpty();
+	}
+
+	@Test
+	void fallsBackUntilRebuilt() {
+		LocalDateTime now = LocalDateTime.now();
+		assertThat(aggregator.getCounts(now.minusMinutes(5), now)).isEmpty();
+	}
+
+	private static Transaction transaction(LocalDateTime timestamp, boolean fraudulent, boolean error) {
+		return new Transaction("4000000000000000", BigDecimal.TEN, "USD", timestamp, "Amazon",
+				"USA", "East Coast", "New York", "PURCHASE", fraudulent, error, error ? "Network error" : null);
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TransactionPartitionManagerTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 14, 30);
+	private static final LocalDateTime TODAY = NOW.toLocalDate().atStartOfDay();
+
+	@Test
+	void parsesPartitionBounds() {
+		assertThat(TransactionPartitionManager.parse("transactions_p20250310",
+				"FOR VALUES FROM ('2025-03-10 00:00:00') TO ('2025-03-11 00:00:00')"))
+				.isEqualTo(new TransactionPartitionManager.Partition("transactions_p20250310",
+						LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 11, 0, 0)));
+		assertThat(TransactionPartitionManager.parse("transactions_archive",
+				"FOR VALUES FROM (MINVALUE) TO ('2025-02-08 00:00:00')").from()).isNull();
+		assertThat(TransactionPartitionManager.parse("transactions_default", "DEFAULT")).isNull();
+	}
+
+	@Test
+	void createsOnlyTheUncoveredUpcomingPartitions() {
+		TransactionPartitionManager manager = manager(RollupGranularity.DAY, 2, 90);
+		List<TransactionPartitionManager.Partition> existing = List.of(
+				partition("transactions_p20250310", TODAY, TODAY.plusDays(1)));
+
+		assertThat(manager.missingPartitions(existing, NOW))
+				.extracting(TransactionPartitionManager.Partition::name)
+				.containsExactly("transactions_p20250311", "transactions_p20250312");
+	}
+
+	@Test
+	void hourlyPartitionsStartAfterExistingDailyOnes() {
+		TransactionPartitionManager manager = manager(RollupGranularity.HOUR, 12, 90);
+		List<TransactionPartitionManager.Partition> existing = List.of(
+				partition("transactions_p20250310", TODAY, TODAY.plusDays(1)));
+
+		assertThat(manager.missingPartitions(existing, NOW.withHour(20)))
+				.extracting(TransactionPartitionManager.Partition::name)
+				.containsExactly("transactions_p20250311_00", "transactions_p20250311_01",
+						"transactions_p20250311_02", "transactions_p20250311_03", "transactions_p20250311_04",
+						"transactions_p20250311_05", "transactions_p20250311_06", "transactions_p20250311_07",
+						"transactions_p20250311_08");
+	}
+
+	@Test
+	void expiresPartitionsEntirelyOlderThanTheRetention() {
+		TransactionPartitionManager manager = manager(RollupGranularity.DAY, 7, 30);
+		LocalDateTime cutoff = NOW.minusDays(30);
+		TransactionPartitionManager.Partition archive = partition("transactions_archive", null, cutoff.minusDays(1));
+		TransactionPartitionManager.Partition straddling = partition("transactions_p20250208",
+				cutoff.toLocalDate().atStartOfDay(), cutoff.toLocalDate().atStartOfDay().plusDays(1));
+		TransactionPartitionManager.Partition current = partition("transactions_p20250310", TODAY, null);
+
+		assertThat(manager.expiredPartitions(List.of(archive, straddling, current), NOW)).containsExactly(archive);
+		assertThat(manager(RollupGranularity.DAY, 7, 0).expiredPartitions(List.of(archive), NOW)).isEmpty();
+	}
+
+	private static TransactionPartitionManager manager(RollupGranularity granularity, int precreate, int retentionDays) {
+		return new TransactionPartitionManager(mock(JdbcTemplate.class), granularity, precreate, retentionDays,
+				TransactionPartitionManager.RetentionAction.DETACH);
+	}
+
+	private static TransactionPartitionManager.Partition partition(String name, LocalDateTime from, LocalDateTime to) {
+		return new TransactionPartitionManager.Partition(name, from, to);
+	}
+
+}
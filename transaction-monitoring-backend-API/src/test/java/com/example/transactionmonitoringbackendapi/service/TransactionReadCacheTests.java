@@ -0,0 +1,120 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionReadCacheTests {
+
+	private TransactionReadCache readCache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		readCache = new TransactionReadCache(new SimpleMeterRegistry(), 100, 300, 100, 300, 2);
+		loads = new AtomicInteger();
+	}
+
+	@Test
+	void pageIsReloadedOnlyAfterAMatchingSave() {
+		TransactionFilter fraudulent = new TransactionFilter();
+		fraudulent.setFraudulent(true);
+
+		load(fraudulent, 0);
+		load(fraudulent, 0);
+		assertThat(loads).hasValue(1);
+
+		// A legitimate transaction cannot change the fraudulent listing
+		readCache.onTransactionSaved(transaction(1L, "Boston", false));
+		load(fraudulent, 0);
+		assertThat(loads).hasValue(1);
+
+		readCache.onTransactionSaved(transaction(2L, "Boston", true));
+		load(fraudulent, 0);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void filtersWithoutEqualityCriteriaFollowEverySave() {
+		TransactionFilter amount = new TransactionFilter();
+		amount.setMinAmount(new BigDecimal("100.00"));
+
+		load(amount, 0);
+		readCache.onTransactionSaved(transaction(1L, "Boston", false));
+		load(amount, 0);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void onlyTheFirstPagesAreCached() {
+		TransactionFilter all = new TransactionFilter();
+
+		load(all, 1);
+		load(all, 1);
+		load(all, 2);
+		load(all, 2);
+
+		assertThat(loads).hasValue(3);
+		assertThat(readCache.cachesPage(PageRequest.of(1, 10))).isTrue();
+		assertThat(readCache.cachesPage(PageRequest.of(2, 10))).isFalse();
+	}
+
+	@Test
+	void noPagesOrSlicesAreCachedWhenDisabled() {
+		readCache = new TransactionReadCache(new SimpleMeterRegistry(), 100, 300, 100, 300, 0);
+		TransactionFilter all = new TransactionFilter();
+
+		load(all, 0);
+		load(all, 0);
+		readCache.getFirstSlice(all, 10, () -> count(new SliceImpl<>(List.of())));
+		readCache.getFirstSlice(all, 10, () -> count(new SliceImpl<>(List.of())));
+
+		assertThat(loads).hasValue(4);
+		assertThat(readCache.cachesPage(PageRequest.of(0, 10))).isFalse();
+		assertThat(readCache.cachesFirstSlices()).isFalse();
+	}
+
+	@Test
+	void transactionIsEvictedWhenDeleted() {
+		Transaction transaction = transaction(7L, "Boston", false);
+
+		readCache.getTransaction(7L, id -> count(transaction));
+		readCache.getTransaction(7L, id -> count(transaction));
+		readCache.onTransactionDeleted(transaction);
+		assertThat(readCache.getTransaction(7L, id -> count(null))).isNull();
+
+		assertThat(loads).hasValue(2);
+	}
+
+	private Page<TransactionView> load(TransactionFilter filter, int page) {
+		return readCache.getPage(filter, PageRequest.of(page, 10), () -> count(new PageImpl<>(List.of())));
+	}
+
+	private <T> T count(T value) {
+		loads.incrementAndGet();
+		return value;
+	}
+
+	private static Transaction transaction(Long id, String city, boolean fraudulent) {
+		Transaction transaction = new Transaction("4000000000000000", new BigDecimal("10.00"), "USD", LocalDateTime.now(),
+				"Amazon", "USA", "East Coast", city, "PURCHASE", fraudulent, false, null);
+		transaction.setId(id);
+		return transaction;
+	}
+
+}
@@ -0,0 +1,108 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.model.RollupGranularity;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.repository.TransactionVolumeRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TransactionRollupServiceTests {
+
+	private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 7, 30, 10, 15);
+
+	private TransactionVolumeRollupRepository volumeRollupRepository;
+	private TransactionRollupService rollupService;
+
+	@BeforeEach
+	void setUp() {
+		volumeRollupRepository = mock(TransactionVolumeRollupRepository.class);
+		rollupService = new TransactionRollupService(volumeRollupRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), 7);
+	}
+
+	@Test
+	void flushesMinuteDeltasIntoEveryGranularity() {
+		rollupService.onTransactionSaved(transaction(MINUTE.plusSeconds(5), "10.00", true, false));
+		rollupService.onTransactionSaved(transaction(MINUTE.plusSeconds(50), "2.50", false, true));
+		rollupService.flush();
+
+		verify(volumeRollupRepository).addToBucket("MINUTE", MINUTE, 2, 1, 1,
+				new BigDecimal("12.50"), new BigDecimal("10.00"), new BigDecimal("2.50"));
+		verify(volumeRollupRepository).addToBucket("HOUR", MINUTE.withMinute(0), 2, 1, 1,
+				new BigDecimal("12.50"), new BigDecimal("10.00"), new BigDecimal("2.50"));
+		verify(volumeRollupRepository).addToBucket("DAY", MINUTE.toLocalDate().atStartOfDay(), 2, 1, 1,
+				new BigDecimal("12.50"), new BigDecimal("10.00"), new BigDecimal("2.50"));
+	}
+
+	@Test
+	void deletionsFlushNegativeDeltas() {
+		rollupService.onTransactionDeleted(transaction(MINUTE, "10.00", false, false));
+		rollupService.flush();
+
+		verify(volumeRollupRepository).addToBucket("MINUTE", MINUTE, -1, 0, 0,
+				new BigDecimal("-10.00"), new BigDecimal("0.00"), new BigDecimal("0.00"));
+	}
+
+	@Test
+	void retriesDeltasAfterFailedFlush() {
+		doThrow(new IllegalStateException("database down")).when(volumeRollupRepository)
+				.addToBucket(anyString(), any(), anyLong(), anyLong(), anyLong(), any(), any(), any());
+		rollupService.onTransactionSaved(transaction(MINUTE, "1.00", false, false));
+		rollupService.flush();
+		rollupService.flush();
+
+		verify(volumeRollupRepository, times(2)).addToBucket("MINUTE", MINUTE, 1, 0, 0,
+				new BigDecimal("1.00"), new BigDecimal("0.00"), new BigDecimal("0.00"));
+	}
+
+	@Test
+	void flushWithoutDeltasDoesNothing() {
+		rollupService.flush();
+
+		verifyNoInteractions(volumeRollupRepository);
+	}
+
+	@Test
+	void fillsEmptyVolumeBuckets() {
+		when(volumeRollupRepository.findByGranularityAndBucketStartBetweenOrderByBucketStartAsc(any(), any(), any()))
+				.thenReturn(List.of());
+
+		List<VolumeDataPoint> points = rollupService.getVolume(MINUTE, MINUTE.plusHours(3), RollupGranularity.HOUR);
+
+		assertThat(points).extracting(VolumeDataPoint::time).containsExactly(
+				MINUTE.withMinute(0), MINUTE.withMinute(0).plusHours(1),
+				MINUTE.withMinute(0).plusHours(2), MINUTE.withMinute(0).plusHours(3));
+		assertThat(points).allSatisfy(point -> assertThat(point.total()).isZero());
+	}
+
+	@Test
+	void rejectsRangesWithTooManyBuckets() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				rollupService.getVolume(MINUTE.minusDays(30), MINUTE, RollupGranularity.MINUTE));
+	}
+
+	private static Transaction transaction(LocalDateTime timestamp, String amount, boolean fraudulent, boolean error) {
+		return new Transaction("4000000000000000", new BigDecimal(amount), "USD", timestamp, "Amazon",
+				"USA", "East Coast", "New York", "PURCHASE", fraudulent, error, error ? "Network error" : null);
+	}
+
+}
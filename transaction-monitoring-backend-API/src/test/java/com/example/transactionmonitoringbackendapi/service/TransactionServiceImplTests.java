@@ -0,0 +1,137 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.EmbeddedDatabase;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "transaction.ingest.batch-size=3")
+class TransactionServiceImplTests {
+
+	@DynamicPropertySource
+	static void database(DynamicPropertyRegistry registry) {
+		EmbeddedDatabase.register(registry, "service_tests");
+	}
+
+	@Autowired
+	private TransactionService transactionService;
+
+	@Autowired
+	private RecordingListener listener;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void reset() {
+		jdbcTemplate.update("TRUNCATE transactions");
+		listener.saved.clear();
+		listener.deleted.clear();
+		listener.failing = false;
+	}
+
+	@Test
+	void saveAllCommitsEveryChunkAndNotifiesListeners() {
+		List<Transaction> transactions = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			transactions.add(transaction("400000000000000" + i));
+		}
+
+		Map<String, Object> result = transactionService.saveAll(transactions);
+
+		assertThat(result).containsEntry("saved", 7).containsEntry("batches", 3);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isEqualTo(7);
+		assertThat(listener.saved).extracting(Transaction::getCardNumber)
+				.containsExactlyElementsOf(transactions.stream().map(Transaction::getCardNumber).toList());
+		assertThat(listener.saved).allSatisfy(saved -> assertThat(saved.getId()).isNotNull());
+	}
+
+	@Test
+	void failingListenerDoesNotFailACommittedDelete() {
+		Transaction saved = transactionService.saveTransaction(transaction("4000000000000001"));
+		listener.failing = true;
+
+		transactionService.deleteTransaction(saved.getId());
+
+		assertThat(listener.deleted).extracting(Transaction::getId).containsExactly(saved.getId());
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isZero();
+	}
+
+	@Test
+	void lookupAndDeleteByIdAndTimestamp() {
+		Transaction saved = transactionService.saveTransaction(transaction("4000000000000001"));
+		LocalDateTime timestamp = jdbcTemplate.queryForObject("SELECT timestamp FROM transactions WHERE id = ?",
+				LocalDateTime.class, saved.getId());
+
+		assertThat(transactionService.getTransactionById(saved.getId(), timestamp).getCardNumber())
+				.isEqualTo("4000000000000001");
+		assertThatThrownBy(() -> transactionService.getTransactionById(saved.getId(), timestamp.minusDays(1)))
+				.isInstanceOf(NoSuchElementException.class);
+
+		transactionService.deleteTransaction(saved.getId(), timestamp.minusDays(1));
+		assertThat(listener.deleted).isEmpty();
+		transactionService.deleteTransaction(saved.getId(), timestamp);
+		assertThat(listener.deleted).extracting(Transaction::getId).containsExactly(saved.getId());
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isZero();
+	}
+
+	@Test
+	void nonPositiveBatchSizeIsRejected() {
+		assertThatThrownBy(() -> new TransactionServiceImpl(null, null, null, null, null, null, null, null, null,
+				null, null, List.of(), 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("transaction.ingest.batch-size");
+	}
+
+	private static Transaction transaction(String cardNumber) {
+		return new Transaction(cardNumber, new BigDecimal("10.00"), "USD", LocalDateTime.now(), "Amazon", "USA",
+				"East Coast", "New York", "PURCHASE", false, false, null);
+	}
+
+	static class RecordingListener implements TransactionListener {
+
+		final List<Transaction> saved = new CopyOnWriteArrayList<>();
+		final List<Transaction> deleted = new CopyOnWriteArrayList<>();
+		volatile boolean failing;
+
+		@Override
+		public void onTransactionSaved(Transaction transaction) {
+			saved.add(transaction);
+		}
+
+		@Override
+		public void onTransactionDeleted(Transaction transaction) {
+			deleted.add(transaction);
+			if (failing) {
+				throw new IllegalStateException("Listener failure");
+			}
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class Listeners {
+
+		@Bean
+		RecordingListener recordingListener() {
+			return new RecordingListener();
+		}
+	}
+}
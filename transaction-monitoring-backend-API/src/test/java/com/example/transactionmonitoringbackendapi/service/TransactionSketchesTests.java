@@ -0,0 +1,94 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionSketches.Distribution;
+import com.example.transactionmonitoringbackendapi.service.TransactionSketches.Summary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+class TransactionSketchesTests {
+
+	private TransactionSketches sketches;
+
+	@BeforeEach
+	void setUp() {
+		sketches = new TransactionSketches(mock(JdbcTemplate.class),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), 120, 24, 12, 50);
+	}
+
+	@Test
+	void estimatesDistinctCardsAndAmountPercentiles() {
+		ready();
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 20_000; i++) {
+			String country = i % 4 == 0 ? "India" : "USA";
+			// 5000 cards, amounts spread evenly from 0.01 to 100.00
+			sketches.onTransactionSaved(transaction("4000" + (i % 5_000), BigDecimal.valueOf(i % 10_000 + 1, 2),
+					country, now.minusSeconds(i % 600)));
+		}
+
+		Distribution distribution = sketches.getDistribution(now.minusHours(1), now).orElseThrow();
+		Summary all = distribution.all();
+		assertThat(all.transactions()).isEqualTo(20_000);
+		assertThat(all.uniqueCards()).isCloseTo(5_000L, within(250L));
+		assertThat(all.amountP50().doubleValue()).isCloseTo(50.0, within(1.0));
+		assertThat(all.amountP95().doubleValue()).isCloseTo(95.0, within(1.5));
+		assertThat(all.amountP99().doubleValue()).isCloseTo(99.0, within(1.5));
+
+		assertThat(distribution.byCountry()).containsOnlyKeys("India", "USA");
+		assertThat(distribution.byCountry().get("India").transactions()).isEqualTo(5_000);
+		assertThat(distribution.byCountry().get("India").uniqueCards()).isCloseTo(1_250L, within(60L));
+	}
+
+	@Test
+	void rangesAreMergedFromMinuteSlots() {
+		ready();
+		LocalDateTime now = LocalDateTime.now();
+		sketches.onTransactionSaved(transaction("4000000000000001", new BigDecimal("1.00"), "USA", now.minusMinutes(30)));
+		sketches.onTransactionSaved(transaction("4000000000000002", new BigDecimal("2.00"), "USA", now.minusMinutes(3)));
+		sketches.onTransactionSaved(transaction("4000000000000002", null, "UK", now.minusMinutes(2)));
+
+		Summary recent = sketches.getDistribution(now.minusMinutes(10), now).orElseThrow().all();
+		assertThat(recent).isEqualTo(new Summary(2, 1, new BigDecimal("2.00"), new BigDecimal("2.00"),
+				new BigDecimal("2.00")));
+		assertThat(sketches.getDistribution(now.minusHours(2), now).orElseThrow().all().uniqueCards()).isEqualTo(2);
+		assertThat(sketches.getDistribution(now.minusMinutes(1), now).orElseThrow().all())
+				.isEqualTo(new Summary(0, 0, null, null, null));
+	}
+
+	@Test
+	void rangesOutsideTheCoverageHaveNoResults() {
+		LocalDateTime now = LocalDateTime.now();
+		assertThat(sketches.getDistribution(now.minusHours(1), now)).isEmpty();
+
+		ready();
+		assertThat(sketches.getDistribution(now.minusHours(24), now)).isPresent();
+		assertThat(sketches.getDistribution(now.minusHours(25), now)).isEmpty();
+
+		sketches.onTransactionsImported(new ImportedBatch(10, now.minusHours(3), now.minusMinutes(5), List.of(), List.of()));
+		assertThat(sketches.getDistribution(now.minusHours(1), now)).isEmpty();
+		assertThat(sketches.getDistribution(now.minusMinutes(4), now)).isPresent();
+	}
+
+	// The rebuild reads nothing from the mocked JdbcTemplate
+	private void ready() {
+		sketches.loadFromDatabase(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC));
+	}
+
+	private static Transaction transaction(String cardNumber, BigDecimal amount, String country, LocalDateTime timestamp) {
+		return new Transaction(cardNumber, amount, "USD", timestamp, "Amazon", country, "Region", "City",
+				"PURCHASE", false, false, null);
+	}
+}
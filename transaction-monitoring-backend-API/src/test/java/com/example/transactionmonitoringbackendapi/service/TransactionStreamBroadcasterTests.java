@@ -0,0 +1,231 @@
+package com.example.transactionmonitoringbackendapi.service;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionStreamBroadcasterTests {
+
+	private static final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+	private TransactionStreamBroadcaster broadcaster;
+
+	@AfterEach
+	void shutdown() {
+		broadcaster.shutdown();
+	}
+
+	@Test
+	void slowSubscriberKeepsTheNewestTransactionsAndCountsTheDropped() throws Exception {
+		broadcaster = broadcaster(2, 10);
+		RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe();
+
+		// The publish queue holds 8: 1 and 2 are dropped there, 3 to 8 from the subscriber's buffer of 2
+		for (long id = 1; id <= 10; id++) {
+			broadcaster.onTransactionSaved(transaction(id, false));
+		}
+		broadcaster.dispatch();
+
+		assertThat(emitter.next().transactionId()).isEqualTo(9);
+		assertThat(emitter.next().transactionId()).isEqualTo(10);
+		Event metrics = emitter.next();
+		assertThat(metrics.name()).isEqualTo("metrics");
+		assertThat(metrics.json().get("total").asLong()).isEqualTo(10);
+		assertThat(metrics.json().get("dropped").asLong()).isEqualTo(8);
+	}
+
+	@Test
+	void metricDeltasQueuedWhileSendingAreSummedIntoOneEvent() throws Exception {
+		broadcaster = broadcaster(16, 10);
+		RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe();
+		CountDownLatch release = emitter.blockSends();
+
+		broadcaster.onTransactionSaved(transaction(1, false));
+		broadcaster.dispatch();
+		assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+		// Two more ticks while the first send is stuck on the client's socket
+		broadcaster.onTransactionSaved(transaction(2, true));
+		broadcaster.dispatch();
+		broadcaster.onTransactionSaved(transaction(3, false));
+		broadcaster.dispatch();
+		release.countDown();
+
+		assertThat(emitter.next().transactionId()).isEqualTo(1);
+		assertThat(emitter.next().json().get("total").asLong()).isEqualTo(1);
+		assertThat(emitter.next().transactionId()).isEqualTo(2);
+		assertThat(emitter.next().transactionId()).isEqualTo(3);
+		Event coalesced = emitter.next();
+		assertThat(coalesced.name()).isEqualTo("metrics");
+		assertThat(coalesced.json().get("total").asLong()).isEqualTo(2);
+		assertThat(coalesced.json().get("fraudulent").asLong()).isEqualTo(1);
+		assertThat(emitter.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	// Ticks land while the previous drain is finishing; the handoff in drain() must pick them up without
+	// waiting for another tick, so every delta arrives after the last one
+	@Test
+	void everyTickIsDeliveredWithoutAFollowingTick() throws Exception {
+		broadcaster = broadcaster(4096, 10);
+		RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe();
+
+		int ticks = 5_000;
+		for (long id = 1; id <= ticks; id++) {
+			broadcaster.onTransactionSaved(transaction(id, false));
+			broadcaster.dispatch();
+		}
+
+		long total = 0;
+		while (total < ticks) {
+			Event event = emitter.next();
+			if (event.name().equals("metrics")) {
+				total += event.json().get("total").asLong();
+			}
+		}
+		assertThat(total).isEqualTo(ticks);
+	}
+
+	@Test
+	void concurrentSubscribersCannotExceedTheLimit() throws Exception {
+		broadcaster = broadcaster(16, 10);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<SseEmitter>> attempts = new CopyOnWriteArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+			for (int i = 0; i < 200; i++) {
+				attempts.add(executor.submit(() -> {
+					start.await();
+					return broadcaster.subscribe();
+				}));
+			}
+			start.countDown();
+		}
+
+		long accepted = 0;
+		for (Future<SseEmitter> attempt : attempts) {
+			if (attempt.get() != null) {
+				accepted++;
+			}
+		}
+		assertThat(accepted).isEqualTo(10);
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(10);
+	}
+
+	@Test
+	void brokenSubscriberFreesItsSlot() throws Exception {
+		broadcaster = broadcaster(16, 1);
+		RecordingEmitter broken = (RecordingEmitter) broadcaster.subscribe();
+		broken.failing = true;
+		assertThat(broadcaster.subscribe()).isNull();
+
+		broadcaster.onTransactionSaved(transaction(1, false));
+		broadcaster.dispatch();
+		assertThat(broken.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (broadcaster.getSubscriberCount() != 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(broadcaster.getSubscriberCount()).isZero();
+		assertThat(broadcaster.subscribe()).isNotNull();
+	}
+
+	private TransactionStreamBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+		return new TransactionStreamBroadcaster(objectMapper, bufferSize, maxSubscribers, 60_000) {
+			@Override
+			SseEmitter createEmitter(long timeoutMillis) {
+				return new RecordingEmitter(timeoutMillis);
+			}
+		};
+	}
+
+	private static Transaction transaction(long id, boolean fraudulent) {
+		Transaction transaction = new Transaction("4000000000000000", new BigDecimal("10.00"), "USD",
+				LocalDateTime.of(2025, 6, 1, 12, 0).plusSeconds(id), "Amazon", "USA", "East Coast", "New York",
+				"PURCHASE", fraudulent, false, null);
+		transaction.setId(id);
+		return transaction;
+	}
+
+	record Event(String name, JsonNode json) {
+
+		long transactionId() {
+			assertThat(name).isEqualTo("transaction");
+			return json.get("id").asLong();
+		}
+	}
+
+	// Records what would be written to the client instead of writing it
+	static final class RecordingEmitter extends SseEmitter {
+
+		final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		volatile CountDownLatch gate;
+		volatile boolean failing;
+
+		RecordingEmitter(long timeout) {
+			super(timeout);
+		}
+
+		CountDownLatch blockSends() {
+			gate = new CountDownLatch(1);
+			return gate;
+		}
+
+		Event next() throws InterruptedException {
+			Event event = events.poll(5, TimeUnit.SECONDS);
+			assertThat(event).as("event").isNotNull();
+			return event;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			CountDownLatch current = gate;
+			if (current != null) {
+				try {
+					current.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+			StringBuilder text = new StringBuilder();
+			for (DataWithMediaType data : builder.build()) {
+				text.append(data.getData());
+			}
+			String name = null;
+			JsonNode json = null;
+			for (String line : text.toString().split("\n")) {
+				if (line.startsWith("event:")) {
+					name = line.substring("event:".length());
+				} else if (line.startsWith("data:")) {
+					json = objectMapper.readTree(line.substring("data:".length()));
+				}
+			}
+			if (name != null) {
+				events.add(new Event(name, json));
+			}
+		}
+	}
+}
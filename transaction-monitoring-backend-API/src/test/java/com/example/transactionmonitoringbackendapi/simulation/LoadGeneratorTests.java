@@ -0,0 +1,163 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionIngestQueue;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a single worker against a simulated clock: parking advances it to the wake-up time and a
+ * write takes no time unless the test stalls it, so schedules and latencies are exact.
+ */
+class LoadGeneratorTests {
+
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final SimulatedClock clock = new SimulatedClock();
+
+	// Offsets from the start of the run at which each write was made, and their sizes
+	private final List<Long> writeTimes = new CopyOnWriteArrayList<>();
+	private final List<Integer> writeSizes = new CopyOnWriteArrayList<>();
+	private final AtomicInteger writes = new AtomicInteger();
+
+	private volatile int stallOnWrite = -1;
+	private volatile long stallNanos;
+
+	private LoadGenerator loadGenerator;
+
+	@BeforeEach
+	void setUp() {
+		TransactionService transactionService = mock(TransactionService.class);
+		when(transactionService.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Transaction> batch = invocation.getArgument(0);
+			writeTimes.add(clock.nanoTime() - SimulatedClock.START);
+			writeSizes.add(batch.size());
+			if (writes.incrementAndGet() == stallOnWrite) {
+				clock.advance(stallNanos);
+			}
+			return null;
+		});
+		loadGenerator = new LoadGenerator(transactionService, mock(TransactionIngestQueue.class), clock);
+	}
+
+	@Test
+	void writesFollowTheScheduleWhenTheSinkKeepsUp() throws InterruptedException {
+		LoadReport report = run(1000, 1, 1);
+
+		assertThat(report.sent()).isEqualTo(1000);
+		assertThat(report.dropped()).isZero();
+		assertThat(writeTimes).hasSize(1000);
+		for (int i = 0; i < writeTimes.size(); i++) {
+			assertThat(writeTimes.get(i)).isEqualTo(i * MILLI);
+		}
+		assertThat(report.latencyMillis().max()).isZero();
+		assertThat(report.elapsedSeconds()).isCloseTo(1.0, within(0.002));
+	}
+
+	// The 10th write, intended at 9 ms, takes 200 ms. Measured from when each write started, only that
+	// write would be slow; measured from the intended start, the 199 events that fell due during the
+	// stall carry the time they waited.
+	@Test
+	void latencyIsMeasuredFromTheIntendedStart() throws InterruptedException {
+		stall(10, 200 * MILLI);
+
+		LoadReport report = run(1000, 1, 1);
+
+		assertThat(report.sent()).isEqualTo(1000);
+		assertThat(report.dropped()).isZero();
+		assertThat(report.latencyMillis().max()).isCloseTo(200, within(0.5));
+		assertThat(report.latencyMillis().p90()).isCloseTo(100, within(1.5));
+		assertThat(writeTimes.get(10)).isEqualTo(209 * MILLI);
+	}
+
+	@Test
+	void eventsThatFellDueDuringAStallAreWrittenTogether() throws InterruptedException {
+		stall(10, 200 * MILLI);
+
+		LoadReport report = run(1000, 1, 50);
+
+		assertThat(report.sent()).isEqualTo(1000);
+		// Events 10 to 209 were due when the stalled write returned at 209 ms
+		assertThat(writeSizes.subList(10, 14)).containsExactly(50, 50, 50, 50);
+		assertThat(writeSizes.get(14)).isEqualTo(1);
+	}
+
+	@Test
+	void lagOfUpToOneSecondIsCaughtUp() throws InterruptedException {
+		stall(10, 900 * MILLI);
+
+		LoadReport report = run(1000, 3, 1);
+
+		assertThat(report.sent()).isEqualTo(3000);
+		assertThat(report.dropped()).isZero();
+	}
+
+	// After the stall the worker is 1499 ms behind: it skips those sends, counts them as dropped and
+	// resumes on the schedule at 1509 ms
+	@Test
+	void lagOfMoreThanOneSecondIsSkippedAndCountedAsDropped() throws InterruptedException {
+		stall(10, 1500 * MILLI);
+
+		LoadReport report = run(1000, 3, 1);
+
+		assertThat(report.dropped()).isEqualTo(1499);
+		assertThat(report.sent()).isEqualTo(1501);
+		assertThat(writeTimes.get(10)).isEqualTo(1509 * MILLI);
+		assertThat(report.latencyMillis().max()).isCloseTo(1500, within(2.0));
+	}
+
+	private void stall(int write, long nanos) {
+		stallOnWrite = write;
+		stallNanos = nanos;
+	}
+
+	private LoadReport run(double ratePerSecond, int durationSeconds, int batchSize) throws InterruptedException {
+		LoadProfile profile = new LoadProfile();
+		profile.setRatePerSecond(ratePerSecond);
+		profile.setDurationSeconds(durationSeconds);
+		profile.setWorkers(1);
+		profile.setBatchSize(batchSize);
+		loadGenerator.start(profile);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (loadGenerator.report().running()) {
+			assertThat(System.nanoTime()).as("run finished").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+		return loadGenerator.report();
+	}
+
+	static final class SimulatedClock implements LoadGenerator.NanoClock {
+
+		static final long START = TimeUnit.HOURS.toNanos(1);
+
+		private final AtomicLong now = new AtomicLong(START);
+
+		@Override
+		public long nanoTime() {
+			return now.get();
+		}
+
+		@Override
+		public void parkNanos(long nanos) {
+			now.addAndGet(nanos);
+		}
+
+		void advance(long nanos) {
+			now.addAndGet(nanos);
+		}
+	}
+}
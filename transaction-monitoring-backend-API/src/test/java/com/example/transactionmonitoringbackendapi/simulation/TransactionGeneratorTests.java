@@ -0,0 +1,65 @@
+package com.example.transactionmonitoringbackendapi.simulation;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class TransactionGeneratorTests {
+
+	@Test
+	void cardNumberMatchesFormattedDigits() {
+		char[] buffer = new char[TransactionEvent.CARD_NUMBER_LENGTH];
+		for (long digits : new long[]{0, 7, 123_456_789L, 999_999_999_999_999L}) {
+			TransactionGenerator.writeCardNumber(digits, buffer);
+			assertThat(new String(buffer)).isEqualTo("4" + String.format("%015d", digits));
+		}
+	}
+
+	@Test
+	void amountsStayWithinBoundsWithTwoDecimals() {
+		LoadProfile profile = new LoadProfile();
+		profile.setAmountDistribution(LoadProfile.AmountDistribution.LOG_NORMAL);
+		profile.setMinAmount(5.0);
+		profile.setMaxAmount(500.0);
+		TransactionGenerator generator = new TransactionGenerator(profile);
+		SplittableRandom random = new SplittableRandom(42);
+
+		for (int i = 0; i < 10_000; i++) {
+			Transaction transaction = generator.next(random);
+			assertThat(transaction.getAmount().scale()).isEqualTo(2);
+			assertThat(transaction.getAmount()).isBetween(new BigDecimal("5.00"), new BigDecimal("500.00"));
+			assertThat(transaction.getCardNumber()).hasSize(16).startsWith("4");
+			assertThat(transaction.getRegion()).isNotNull();
+			assertThat(transaction.getCity()).isNotNull();
+		}
+	}
+
+	@Test
+	void reusedEventIsFilledWithoutAllocating() {
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+		TransactionGenerator generator = new TransactionGenerator(new LoadProfile());
+		SplittableRandom random = new SplittableRandom(42);
+		TransactionEvent event = new TransactionEvent();
+		for (int i = 0; i < 100_000; i++) {
+			generator.next(random, event);
+		}
+
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < 100_000; i++) {
+			generator.next(random, event);
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+		// Allow for incidental JVM allocations, far below one object per event
+		assertThat(allocated).isLessThan(100_000);
+	}
+}
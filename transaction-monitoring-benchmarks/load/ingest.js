@@ -0,0 +1,64 @@
+// k6 load test for POST /api/transactions/batch, sync vs async ingestion.
+//
+//   k6 run -e CLIENTS=1000 -e MODE=async load/ingest.js
+//
+// CLIENTS: concurrent virtual users (1000, 5000, 20000), MODE: sync | async,
+// BASE_URL: backend address (default http://localhost:8080), DURATION: steady-state length (default 2m)
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const CLIENTS = parseInt(__ENV.CLIENTS || '1000', 10);
+const MODE = __ENV.MODE || 'sync';
+const DURATION = __ENV.DURATION || '2m';
+const BATCH = parseInt(__ENV.BATCH || '10', 10);
+
+const rejected = new Counter('ingest_rejected');
+
+export const options = {
+  scenarios: {
+    ingest: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: CLIENTS },
+        { duration: DURATION, target: CLIENTS },
+        { duration: '10s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+const countries = ['USA', 'UK', 'Germany', 'France', 'Canada'];
+
+function transaction() {
+  const country = countries[Math.floor(Math.random() * countries.length)];
+  return {
+    cardNumber: '4' + String(Math.floor(Math.random() * 1e15)).padStart(15, '0'),
+    amount: Math.round(Math.random() * 1000000) / 100,
+    currency: 'USD',
+    timestamp: new Date().toISOString().slice(0, 23),
+    merchantName: 'Amazon',
+    country,
+    region: 'Load Test',
+    city: 'Load Test',
+    transactionType: 'PURCHASE',
+    isFraudulent: Math.random() < 0.05,
+    isError: false,
+  };
+}
+
+export default function () {
+  const body = JSON.stringify(Array.from({ length: BATCH }, transaction));
+  const res = http.post(`${BASE_URL}/api/transactions/batch?async=${MODE === 'async'}`, body, {
+    headers: { 'Content-Type': 'application/json' },
+    timeout: '30s',
+  });
+  if (res.status === 429 || res.status === 503) {
+    rejected.add(1);
+  }
+  check(res, { accepted: (r) => r.status === 201 || r.status === 202 });
+}
@@ -0,0 +1,95 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.TransactionMonitoringBackendApiApplication;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Boots the backend (without the web server) once per benchmark fork against an embedded PostgreSQL,
+ * or against the database given by {@code -Dbenchmark.jdbc-url=...}. The schema is created by the
+ * application's own Flyway migrations, so benchmarks always run on the real indexes. The listing page
+ * cache and the in-memory hot window are turned off, so the listing and filter benchmarks time the
+ * queries rather than cache hits.
+ */
+public final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+    private static EmbeddedPostgres embeddedPostgres;
+
+    private BenchmarkContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext start() {
+        if (context != null) {
+            return context;
+        }
+
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.username", "postgres");
+        String password = System.getProperty("benchmark.password", "postgres");
+        if (jdbcUrl == null) {
+            try {
+                embeddedPostgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            jdbcUrl = embeddedPostgres.getJdbcUrl(username, "postgres");
+        }
+        String separator = jdbcUrl.contains("?") ? "&" : "?";
+
+        // Command-line arguments, so they take precedence over the application.properties in the backend jar
+        context = new SpringApplicationBuilder(TransactionMonitoringBackendApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + jdbcUrl + separator + "reWriteBatchedInserts=true",
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--transaction.cache.pages=0",
+                        "--transaction.hot-window.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.transactionmonitoringbackendapi=WARN");
+
+        Runtime.getRuntime().addShutdownHook(new Thread(BenchmarkContext::stop));
+        return context;
+    }
+
+    /**
+     * Top the transactions table up to at least {@code rows} simulated rows
+     */
+    public static void seed(int rows) {
+        TransactionRepository transactionRepository = start().getBean(TransactionRepository.class);
+        TransactionService transactionService = start().getBean(TransactionService.class);
+
+        long missing = rows - transactionRepository.count();
+        while (missing > 0) {
+            int chunk = (int) Math.min(missing, 10_000);
+            transactionService.simulateTransactions(chunk);
+            missing -= chunk;
+        }
+    }
+
+    public static int seedRows() {
+        return Integer.getInteger("benchmark.rows", 100_000);
+    }
+
+    private static synchronized void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+        if (embeddedPostgres != null) {
+            try {
+                embeddedPostgres.close();
+            } catch (IOException e) {
+                // Shutting down anyway
+            }
+            embeddedPostgres = null;
+        }
+    }
+}
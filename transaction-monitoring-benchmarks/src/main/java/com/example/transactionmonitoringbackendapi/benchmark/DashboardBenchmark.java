@@ -0,0 +1,57 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.dto.GeoDistributionDataPoint;
+import com.example.transactionmonitoringbackendapi.dto.VolumeDataPoint;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard reads. {@code metrics} is getTransactionMetrics over the default last 24 hours, served
+ * from the in-memory buckets; {@code metricsBeyondRetention} asks for a day outside their window,
+ * which falls back to the three count queries. {@code volume} and {@code geoDistribution} are the
+ * chart endpoints' service calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkContext.start().getBean(TransactionService.class);
+        BenchmarkContext.seed(BenchmarkContext.seedRows());
+    }
+
+    @Benchmark
+    public Map<String, Object> metrics() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionService.getTransactionMetrics(now.minusHours(24), now);
+    }
+
+    @Benchmark
+    public Map<String, Object> metricsBeyondRetention() {
+        LocalDateTime end = LocalDateTime.now().minusDays(30);
+        return transactionService.getTransactionMetrics(end.minusHours(24), end);
+    }
+
+    @Benchmark
+    public List<VolumeDataPoint> volume() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionService.getTransactionVolume(now.minusHours(24), now, null);
+    }
+
+    @Benchmark
+    public List<GeoDistributionDataPoint> geoDistribution() {
+        return transactionService.getGeoDistribution("country");
+    }
+}
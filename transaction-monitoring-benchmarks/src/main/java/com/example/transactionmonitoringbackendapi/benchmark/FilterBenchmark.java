@@ -0,0 +1,75 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionCursorResponse;
+import com.example.transactionmonitoringbackendapi.dto.TransactionPageResponse;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filter endpoints' service calls, one per {@code path} parameter with the same criteria the
+ * matching controller method builds: {@code region} is /filter/region, {@code amount} /filter/amount,
+ * {@code combined} /filter/combined, {@code fraudulent} and {@code errors} the flag listings, and
+ * {@code all} the unfiltered listing. {@code page} is the first page with its count query,
+ * {@code cursor} the first keyset slice with its planner estimate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"all", "region", "amount", "combined", "fraudulent", "errors"})
+    public String path;
+
+    private TransactionService transactionService;
+    private TransactionFilter filter;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkContext.start().getBean(TransactionService.class);
+        BenchmarkContext.seed(BenchmarkContext.seedRows());
+
+        filter = new TransactionFilter();
+        switch (path) {
+            case "all" -> {
+            }
+            case "region" -> filter.setCountry("USA");
+            case "amount" -> {
+                filter.setMinAmount(new BigDecimal("100.00"));
+                filter.setMaxAmount(new BigDecimal("500.00"));
+            }
+            case "combined" -> {
+                filter.setCountry("USA");
+                filter.setMinAmount(new BigDecimal("100.00"));
+                filter.setMaxAmount(new BigDecimal("500.00"));
+            }
+            case "fraudulent" -> filter.setFraudulent(true);
+            case "errors" -> filter.setError(true);
+            default -> throw new IllegalArgumentException("Unknown filter path: " + path);
+        }
+        pageable = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "timestamp"));
+    }
+
+    @Benchmark
+    public TransactionPageResponse page() {
+        return TransactionPageResponse.of(transactionService.searchTransactions(filter, pageable));
+    }
+
+    @Benchmark
+    public TransactionCursorResponse cursor() {
+        return TransactionCursorResponse.of(transactionService.searchTransactions(filter, null, PAGE_SIZE),
+                transactionService.estimateTransactionCount(filter));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionFraudScorer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of fraud scoring per transaction, without a database: one scorer shared by all benchmark
+ * threads, fed transactions on {@code cards} distinct cards (more cards than {@code max-cards} means
+ * constant LRU eviction).
+ *
+ * {@code score} runs in sample-time mode, so read {@code p0.99} for the tail latency scoring adds to
+ * each save. Eight threads score at once, as many as ingest threads, so the percentiles include
+ * contention on the shard locks; override with {@code -t}. {@code scoreThroughput} gives transactions
+ * per second at the same thread count. Both run flat out, far above the 20,000 per second budgeted
+ * for, so their percentiles are an upper bound for that rate.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class FraudScoringBenchmark {
+
+    private static final String[] COUNTRIES = {"USA", "USA", "USA", "Canada", "UK", "Germany"};
+    private static final String[] TYPES = {"PURCHASE", "PURCHASE", "REFUND", "WITHDRAWAL", "DEPOSIT", "TRANSFER"};
+
+    @Param({"10000", "1000000"})
+    public int cards;
+
+    private TransactionFraudScorer scorer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scorer = new TransactionFraudScorer(new SimpleMeterRegistry(), true, 50, 200_000, 86_400, 5, 60, 3600,
+                3.0, 5, "Casino Royale", "WITHDRAWAL:2000,TRANSFER:10000");
+    }
+
+    /**
+     * Pre-built transactions for one thread, 50 µs apart (20,000 per second). Replaying the array
+     * restarts its timestamps, which costs the scorer the same as moving forward.
+     */
+    @State(Scope.Thread)
+    public static class Feed {
+
+        private Transaction[] transactions;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(FraudScoringBenchmark benchmark) {
+            SplittableRandom random = new SplittableRandom(Thread.currentThread().threadId());
+            LocalDateTime start = LocalDateTime.of(2025, 7, 1, 0, 0);
+            transactions = new Transaction[1 << 16];
+            for (int i = 0; i < transactions.length; i++) {
+                String card = String.valueOf(4_000_000_000_000_000L + random.nextInt(benchmark.cards));
+                BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 250_000), 2);
+                transactions[i] = new Transaction(card, amount, "USD", start.plusNanos(i * 50_000L), "Amazon",
+                        COUNTRIES[random.nextInt(COUNTRIES.length)], "East Coast", "New York",
+                        TYPES[random.nextInt(TYPES.length)], false, false, null);
+            }
+        }
+
+        Transaction next() {
+            Transaction transaction = transactions[next];
+            next = (next + 1) & (transactions.length - 1);
+            return transaction;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int score(Feed feed) {
+        return scorer.score(feed.next());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int scoreThroughput(Feed feed) {
+        return scorer.score(feed.next());
+    }
+}
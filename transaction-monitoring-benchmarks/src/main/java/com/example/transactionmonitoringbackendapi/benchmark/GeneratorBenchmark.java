@@ -0,0 +1,67 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.simulation.LoadProfile;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionEvent;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction generator throughput on one core, without a database.
+ *
+ * {@code fillEvent} is the allocation-free engine the load generator runs per event, {@code toTransaction}
+ * adds the entity the writer needs, and {@code formattedFields} reproduces the former card number and
+ * amount formatting ({@code String.format} and {@code BigDecimal.valueOf(double)}) for comparison.
+ * Run with {@code -prof gc}: ops/s is events per second per core and {@code gc.alloc.rate.norm} is
+ * bytes allocated per event, which should be 0 for {@code fillEvent}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"UNIFORM", "LOG_NORMAL"})
+    public LoadProfile.AmountDistribution amountDistribution;
+
+    private TransactionGenerator generator;
+    private SplittableRandom random;
+    private TransactionEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoadProfile profile = new LoadProfile();
+        profile.setAmountDistribution(amountDistribution);
+        profile.setGeoSkew(1.0);
+        generator = new TransactionGenerator(profile);
+        random = new SplittableRandom(42);
+        event = new TransactionEvent();
+    }
+
+    @Benchmark
+    public TransactionEvent fillEvent() {
+        generator.next(random, event);
+        return event;
+    }
+
+    @Benchmark
+    public Transaction toTransaction() {
+        generator.next(random, event);
+        return event.toTransaction();
+    }
+
+    @Benchmark
+    public void formattedFields(Blackhole blackhole) {
+        generator.next(random, event);
+        blackhole.consume("4" + String.format("%015d", random.nextLong(1_000_000_000_000_000L)));
+        blackhole.consume(BigDecimal.valueOf(event.getAmountCents() / 100.0).setScale(2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import com.example.transactionmonitoringbackendapi.simulation.LoadProfile;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionEvent;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput in transactions per second: {@code saveTransaction} once per transaction vs
+ * {@code saveAll} for the whole batch. Both insert {@value #BATCH} generated transactions per
+ * invocation, so their scores compare directly; generating them costs well under a microsecond
+ * each (see {@link GeneratorBenchmark}). Every invocation grows the table, so run this suite on
+ * its own database or after the read suites.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IngestBenchmark {
+
+    static final int BATCH = 100;
+
+    private TransactionService transactionService;
+    private TransactionGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionService = BenchmarkContext.start().getBean(TransactionService.class);
+        generator = new TransactionGenerator(new LoadProfile());
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+
+        final SplittableRandom random = new SplittableRandom(42);
+        final TransactionEvent event = new TransactionEvent();
+        final List<Transaction> transactions = new ArrayList<>(BATCH);
+
+        List<Transaction> next(TransactionGenerator generator) {
+            transactions.clear();
+            for (int i = 0; i < BATCH; i++) {
+                generator.next(random, event);
+                transactions.add(event.toTransaction());
+            }
+            return transactions;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void saveTransaction(Batch batch) {
+        for (Transaction transaction : batch.next(generator)) {
+            transactionService.saveTransaction(transaction);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object saveAll(Batch batch) {
+        return transactionService.saveAll(batch.next(generator));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionPageResponse;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.model.TransactionFilter;
+import com.example.transactionmonitoringbackendapi.repository.TransactionRepository;
+import com.example.transactionmonitoringbackendapi.repository.TransactionSpecifications;
+import com.example.transactionmonitoringbackendapi.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing endpoint cost per request: query, row mapping and JSON serialization.
+ *
+ * {@code entityMap} reproduces the former path (managed entities in a HashMap response),
+ * {@code projectionRecord} the current one (constructor-expression TransactionView rows in a record).
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes per request) and the p0.99 of
+ * the sample-time distribution.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private TransactionRepository transactionRepository;
+    private TransactionService transactionService;
+    private ObjectMapper objectMapper;
+    private TransactionFilter filter;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigurableApplicationContext context = BenchmarkContext.start();
+        BenchmarkContext.seed(BenchmarkContext.seedRows());
+
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionService = context.getBean(TransactionService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        filter = new TransactionFilter();
+        pageable = PageRequest.of(1, pageSize, Sort.by(Sort.Direction.DESC, "timestamp"));
+    }
+
+    @Benchmark
+    public byte[] entityMap() throws JsonProcessingException {
+        Page<Transaction> page = transactionRepository.findAll(TransactionSpecifications.matching(filter), pageable);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("transactions", page.getContent());
+        response.put("currentPage", page.getNumber());
+        response.put("totalItems", page.getTotalElements());
+        response.put("totalPages", page.getTotalPages());
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] projectionRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(TransactionPageResponse.of(transactionService.searchTransactions(filter, pageable)));
+    }
+}
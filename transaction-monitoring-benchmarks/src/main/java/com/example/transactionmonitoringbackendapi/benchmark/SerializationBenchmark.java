@@ -0,0 +1,75 @@
+package com.example.transactionmonitoringbackendapi.benchmark;
+
+import com.example.transactionmonitoringbackendapi.dto.TransactionPageResponse;
+import com.example.transactionmonitoringbackendapi.dto.TransactionView;
+import com.example.transactionmonitoringbackendapi.model.Transaction;
+import com.example.transactionmonitoringbackendapi.simulation.LoadProfile;
+import com.example.transactionmonitoringbackendapi.simulation.TransactionGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of one listing page alone, without the query: the page record the listing
+ * endpoints return ({@code pageRecord}) vs the former {@code HashMap} of entities
+ * ({@code entityMap}). Uses an ObjectMapper configured like Spring Boot's, so no database or
+ * application context is needed. Run with {@code -prof gc} for bytes per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private TransactionPageResponse pageResponse;
+    private Map<String, Object> entityResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        TransactionGenerator generator = new TransactionGenerator(new LoadProfile());
+        SplittableRandom random = new SplittableRandom(42);
+        List<Transaction> transactions = new ArrayList<>(pageSize);
+        List<TransactionView> views = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = generator.next(random);
+            transaction.setId((long) i + 1);
+            transactions.add(transaction);
+            views.add(TransactionView.of(transaction));
+        }
+        long totalItems = BenchmarkContext.seedRows();
+        int totalPages = (int) ((totalItems + pageSize - 1) / pageSize);
+
+        pageResponse = new TransactionPageResponse(views, 0, totalItems, totalPages);
+        entityResponse = new HashMap<>();
+        entityResponse.put("transactions", transactions);
+        entityResponse.put("currentPage", 0);
+        entityResponse.put("totalItems", totalItems);
+        entityResponse.put("totalPages", totalPages);
+    }
+
+    @Benchmark
+    public byte[] pageRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] entityMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entityResponse);
+    }
+}